@@ -0,0 +1,180 @@
+package com.ingcase.digitalwallet.admission;
+
+import com.ingcase.digitalwallet.exception.ServiceOverloadedException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps the number of requests in flight with a limit that follows observed latency, AIMD style. A request
+ * that completes within {@code latencyThreshold} while the limit was at least half used raises the limit by
+ * one; a slow or failed request multiplies it by {@code backoffRatio}.
+ * <p>
+ * Requests over the limit wait in a short queue for at most {@code maxQueueWait} and are rejected when it is
+ * full. Priority requests are served first and, when the queue is full, take the place of the newest
+ * ordinary waiter.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final class Waiter {
+
+        private final Condition granted;
+        private boolean admitted;
+        private boolean evicted;
+
+        private Waiter(Condition granted) {
+            this.granted = granted;
+        }
+    }
+
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private boolean released;
+
+        private Permit(long startNanos, int inFlightAtStart) {
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release(boolean succeeded) {
+            if (released) {
+                return;
+            }
+            released = true;
+            AdaptiveConcurrencyLimiter.this.release(nanoClock.getAsLong() - startNanos, inFlightAtStart, succeeded);
+        }
+    }
+
+    private final String name;
+    private final AdmissionProperties.Pool pool;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Waiter> priorityWaiters = new ArrayDeque<>();
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private long rejected;
+
+    public AdaptiveConcurrencyLimiter(String name, AdmissionProperties.Pool pool) {
+        this(name, pool, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, AdmissionProperties.Pool pool, LongSupplier nanoClock) {
+        this.name = name;
+        this.pool = pool;
+        this.nanoClock = nanoClock;
+        this.limit = pool.getInitialLimit();
+    }
+
+    public Permit acquire(boolean priority) {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit && priorityWaiters.isEmpty() && waiters.isEmpty()) {
+                return admit();
+            }
+            if (priorityWaiters.size() + waiters.size() >= pool.getQueueCapacity()) {
+                if (!priority || waiters.isEmpty()) {
+                    throw reject("queue full");
+                }
+                Waiter displaced = waiters.pollLast();
+                displaced.evicted = true;
+                displaced.granted.signal();
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            (priority ? priorityWaiters : waiters).addLast(waiter);
+            long remaining = pool.getMaxQueueWait().toNanos();
+            while (!waiter.admitted && !waiter.evicted && remaining > 0) {
+                try {
+                    remaining = waiter.granted.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            if (waiter.admitted) {
+                return new Permit(nanoClock.getAsLong(), inFlight);
+            }
+            priorityWaiters.remove(waiter);
+            waiters.remove(waiter);
+            throw reject(waiter.evicted ? "displaced by a priority request" : "queue wait timed out");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return priorityWaiters.size() + waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRejected() {
+        lock.lock();
+        try {
+            return rejected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Permit admit() {
+        inFlight++;
+        return new Permit(nanoClock.getAsLong(), inFlight);
+    }
+
+    private ServiceOverloadedException reject(String reason) {
+        rejected++;
+        return new ServiceOverloadedException("Service overloaded (" + name + " " + reason + "), please retry later");
+    }
+
+    private void release(long latencyNanos, int inFlightAtStart, boolean succeeded) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (!succeeded || latencyNanos > pool.getLatencyThreshold().toNanos()) {
+                limit = Math.max(pool.getMinLimit(), limit * pool.getBackoffRatio());
+            } else if (inFlightAtStart * 2 >= limit) {
+                limit = Math.min(pool.getMaxLimit(), limit + 1);
+            }
+            while (inFlight < (int) limit && (!priorityWaiters.isEmpty() || !waiters.isEmpty())) {
+                Waiter next = !priorityWaiters.isEmpty() ? priorityWaiters.pollFirst() : waiters.pollFirst();
+                next.admitted = true;
+                inFlight++;
+                next.granted.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ingcase.digitalwallet.admission;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+    private Pool read = new Pool(40, 4, 400, Duration.ofMillis(200), 0.9, 32, Duration.ofMillis(50));
+    private Pool write = new Pool(20, 2, 200, Duration.ofMillis(500), 0.9, 16, Duration.ofMillis(100));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool {
+
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        private Duration latencyThreshold;
+        private double backoffRatio;
+        private int queueCapacity;
+        private Duration maxQueueWait;
+    }
+}
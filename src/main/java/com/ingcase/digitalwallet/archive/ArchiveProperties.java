@@ -0,0 +1,17 @@
+package com.ingcase.digitalwallet.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.archive")
+public class ArchiveProperties {
+
+    private boolean enabled = true;
+    private Path directory = Path.of("archive");
+    private Duration minAge = Duration.ofDays(90);
+    private int batchSize = 10_000;
+}
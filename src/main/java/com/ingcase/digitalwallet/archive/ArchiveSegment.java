@@ -0,0 +1,215 @@
+package com.ingcase.digitalwallet.archive;
+
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+import com.ingcase.digitalwallet.utils.Timestamps;
+import com.ingcase.digitalwallet.utils.VarInts;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Immutable archive file holding settled transactions.
+ * <pre>
+ * header   magic "DWAS", format version
+ * blocks   one deflate-compressed block per wallet, rows sorted by id
+ * footer   per block: wallet id, offset, length, row count, min id, max id (all varints)
+ * trailer  footer offset (8 bytes), magic
+ * </pre>
+ * Inside a block, ids and create times are stored as deltas to the previous row and amounts as zig-zag minor
+ * units, so a typical row takes a few bytes before compression. Type and status are stored as enum ordinals,
+ * so new constants must only be appended.
+ * <p>
+ * Segments are written to a temporary file, forced to disk, and then atomically renamed, so a segment on disk
+ * is always complete. Only the footer is kept in memory; blocks are read by opening the file for the call, so
+ * an archive holds no file descriptors between reads however many segments it has.
+ */
+public final class ArchiveSegment {
+
+    private static final int MAGIC = 0x44574153;
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + 1;
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+
+    public record Block(ArchiveSegment segment, long walletId, long offset, int length, int rowCount, long minId, long maxId) {
+    }
+
+    private final Path file;
+    private final List<Block> blocks = new ArrayList<>();
+
+    private ArchiveSegment(Path file) {
+        this.file = file;
+    }
+
+    public static ArchiveSegment write(Path file, Collection<ArchivedTransactionView> rows) throws IOException {
+        Map<Long, List<ArchivedTransactionView>> rowsByWallet = rows.stream()
+                .collect(Collectors.groupingBy(ArchivedTransactionView::walletId, TreeMap::new, Collectors.toList()));
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            writeFully(out, ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).put(FORMAT_VERSION).flip());
+
+            ByteArrayOutputStream footer = new ByteArrayOutputStream();
+            DataOutputStream index = new DataOutputStream(footer);
+            VarInts.writeUnsigned(index, rowsByWallet.size());
+            for (Map.Entry<Long, List<ArchivedTransactionView>> wallet : rowsByWallet.entrySet()) {
+                List<ArchivedTransactionView> walletRows = wallet.getValue().stream()
+                        .sorted(Comparator.comparing(ArchivedTransactionView::id))
+                        .toList();
+                byte[] block = encode(walletRows);
+                long offset = out.position();
+                writeFully(out, ByteBuffer.wrap(block));
+
+                VarInts.writeUnsigned(index, wallet.getKey());
+                VarInts.writeUnsigned(index, offset);
+                VarInts.writeUnsigned(index, block.length);
+                VarInts.writeUnsigned(index, walletRows.size());
+                VarInts.writeUnsigned(index, walletRows.get(0).id());
+                VarInts.writeUnsigned(index, walletRows.get(walletRows.size() - 1).id());
+            }
+
+            long footerOffset = out.position();
+            writeFully(out, ByteBuffer.wrap(footer.toByteArray()));
+            writeFully(out, ByteBuffer.allocate(TRAILER_BYTES).putLong(footerOffset).putInt(MAGIC).flip());
+            out.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+        return open(file);
+    }
+
+    public static ArchiveSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES) {
+                throw new IOException("Truncated archive segment " + file);
+            }
+            ByteBuffer header = read(channel, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.get() != FORMAT_VERSION) {
+                throw new IOException("Not an archive segment: " + file);
+            }
+            ByteBuffer trailer = read(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC || footerOffset < HEADER_BYTES || footerOffset > size - TRAILER_BYTES) {
+                throw new IOException("Corrupt archive segment trailer: " + file);
+            }
+
+            ArchiveSegment segment = new ArchiveSegment(file);
+            ByteBuffer footer = read(channel, footerOffset, (int) (size - TRAILER_BYTES - footerOffset));
+            DataInputStream index = new DataInputStream(new ByteArrayInputStream(footer.array()));
+            long blockCount = VarInts.readUnsigned(index);
+            for (long i = 0; i < blockCount; i++) {
+                segment.blocks.add(new Block(segment,
+                        VarInts.readUnsigned(index),
+                        VarInts.readUnsigned(index),
+                        (int) VarInts.readUnsigned(index),
+                        (int) VarInts.readUnsigned(index),
+                        VarInts.readUnsigned(index),
+                        VarInts.readUnsigned(index)));
+            }
+            return segment;
+        }
+    }
+
+    public List<Block> getBlocks() {
+        return Collections.unmodifiableList(blocks);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public List<ArchivedTransactionView> read(Block block) throws IOException {
+        ByteBuffer compressed;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            compressed = read(channel, block.offset(), block.length());
+        }
+        List<ArchivedTransactionView> rows = new ArrayList<>(block.rowCount());
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed.array())))) {
+            long id = 0;
+            long createMicros = 0;
+            for (int i = 0; i < block.rowCount(); i++) {
+                id += VarInts.readUnsigned(in);
+                Money amount = Money.ofMinor(VarInts.readSigned(in));
+                Type type = Type.values()[in.readUnsignedByte()];
+                Status status = Status.values()[in.readUnsignedByte()];
+                String oppositePartyType = readString(in);
+                String oppositeParty = readString(in);
+                createMicros += VarInts.readSigned(in);
+                rows.add(new ArchivedTransactionView(id, block.walletId(), amount, type, oppositePartyType, oppositeParty,
+                        status, Timestamps.fromMicros(createMicros)));
+            }
+        }
+        return rows;
+    }
+
+    private static byte[] encode(List<ArchivedTransactionView> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            long previousId = 0;
+            long previousMicros = 0;
+            for (ArchivedTransactionView row : rows) {
+                long createMicros = Timestamps.toMicros(row.createDate());
+                VarInts.writeUnsigned(out, row.id() - previousId);
+                VarInts.writeSigned(out, row.amount().getMinorUnits());
+                out.writeByte(row.type().ordinal());
+                out.writeByte(row.status().ordinal());
+                writeString(out, row.oppositePartyType());
+                writeString(out, row.oppositeParty());
+                VarInts.writeSigned(out, createMicros - previousMicros);
+                previousId = row.id();
+                previousMicros = createMicros;
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    // length + 1, so that 0 can stand for null
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            VarInts.writeUnsigned(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        VarInts.writeUnsigned(out, bytes.length + 1L);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = (int) VarInts.readUnsigned(in);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of archive segment");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ingcase.digitalwallet.archive;
+
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Consumer;
+
+/**
+ * Merges hot rows, arriving in wallet and id order, with the archived rows of the same wallets. Archived
+ * rows are loaded one wallet at a time. A row present in both tiers is emitted once, from the database.
+ */
+public final class TieredRows {
+
+    private final TransactionArchive transactionArchive;
+    private final Deque<Long> archivedWallets;
+    private final Consumer<ArchivedTransactionView> sink;
+    private final Deque<ArchivedTransactionView> archived = new ArrayDeque<>();
+
+    /**
+     * @param archivedWallets ids of the wallets in the scanned range that have archived rows, ascending
+     */
+    public TieredRows(TransactionArchive transactionArchive, Deque<Long> archivedWallets, Consumer<ArchivedTransactionView> sink) {
+        this.transactionArchive = transactionArchive;
+        this.archivedWallets = archivedWallets;
+        this.sink = sink;
+    }
+
+    public void hot(ArchivedTransactionView row) {
+        if (!archived.isEmpty() && !archived.peekFirst().walletId().equals(row.walletId())) {
+            drainArchived();
+        }
+        while (!archivedWallets.isEmpty() && archivedWallets.peekFirst() <= row.walletId()) {
+            drainArchived();
+            archived.addAll(transactionArchive.read(archivedWallets.pollFirst(), Integer.MAX_VALUE));
+        }
+        if (!archived.isEmpty() && !archived.peekFirst().walletId().equals(row.walletId())) {
+            drainArchived();
+        }
+        while (!archived.isEmpty() && archived.peekFirst().id() <= row.id()) {
+            ArchivedTransactionView cold = archived.pollFirst();
+            if (!cold.id().equals(row.id())) {
+                sink.accept(cold);
+            }
+        }
+        sink.accept(row);
+    }
+
+    public void finish() {
+        drainArchived();
+        while (!archivedWallets.isEmpty()) {
+            transactionArchive.read(archivedWallets.pollFirst(), Integer.MAX_VALUE).forEach(sink);
+        }
+    }
+
+    private void drainArchived() {
+        while (!archived.isEmpty()) {
+            sink.accept(archived.pollFirst());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ingcase.digitalwallet.archive;
+
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+import com.ingcase.digitalwallet.model.projection.TransactionView;
+import com.ingcase.digitalwallet.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads hot rows from the database and archived rows from the segments, and merges both by id. Wallets
+ * without archived rows go straight to the database page. Otherwise both tiers are read up to the end of the
+ * requested page, merged, and the page is cut out of the result.
+ */
+@Component
+@RequiredArgsConstructor
+public class TieredTransactionHistory implements TransactionHistory {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchive transactionArchive;
+
+    @Override
+    public List<TransactionView> findByWalletId(Long walletId, Pageable pageable) {
+        if (!transactionArchive.contains(walletId)) {
+            return transactionRepository.findAllByWalletId(walletId, pageable);
+        }
+
+        int end = Math.toIntExact(pageable.getOffset() + pageable.getPageSize());
+        List<TransactionView> hot = transactionRepository.findAllByWalletId(walletId, PageRequest.of(0, end, Sort.by("id")));
+        List<ArchivedTransactionView> cold = transactionArchive.read(walletId, end);
+
+        List<TransactionView> merged = new ArrayList<>(Math.min(end, hot.size() + cold.size()));
+        int h = 0;
+        int c = 0;
+        while (merged.size() < end && (h < hot.size() || c < cold.size())) {
+            if (c == cold.size() || (h < hot.size() && hot.get(h).id() <= cold.get(c).id())) {
+                TransactionView row = hot.get(h++);
+                // a row is in both tiers only if the archiver failed after writing its segment
+                if (c < cold.size() && cold.get(c).id().equals(row.id())) {
+                    c++;
+                }
+                merged.add(row);
+            } else {
+                merged.add(toView(cold.get(c++)));
+            }
+        }
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        return List.copyOf(merged.subList(from, merged.size()));
+    }
+
+    private static TransactionView toView(ArchivedTransactionView row) {
+        return new TransactionView(row.id(), row.amount(), row.type(), row.oppositePartyType(), row.oppositeParty(), row.status());
+    }
+}
@@ -0,0 +1,114 @@
+package com.ingcase.digitalwallet.archive;
+
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Directory of append-only {@link ArchiveSegment} files. The footers of all segments are loaded at startup
+ * into a per-wallet block index, so reading a wallet's archived history only touches that wallet's blocks.
+ */
+@Slf4j
+@Component
+public class TransactionArchive implements InitializingBean {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final Map<Long, List<ArchiveSegment.Block>> blocksByWallet = new ConcurrentHashMap<>();
+    private long nextSequence = 1;
+
+    public TransactionArchive(ArchiveProperties properties) {
+        this.directory = properties.getDirectory();
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).sorted().toList();
+        }
+        for (Path file : files) {
+            register(ArchiveSegment.open(file));
+            nextSequence = Math.max(nextSequence, sequenceOf(file) + 1);
+        }
+        log.info("Loaded {} archive segments from {}", files.size(), directory.toAbsolutePath());
+    }
+
+    public synchronized void append(Collection<ArchivedTransactionView> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, nextSequence, SEGMENT_SUFFIX));
+            register(ArchiveSegment.write(file, rows));
+            nextSequence++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write archive segment", e);
+        }
+    }
+
+    public boolean contains(long walletId) {
+        return blocksByWallet.containsKey(walletId);
+    }
+
+    /**
+     * Returns the {@code limit} lowest-id archived rows of the wallet, in id order. Blocks are visited by their
+     * lowest id, and the scan stops once no remaining block can contain a row among the lowest {@code limit}.
+     * A row archived twice, because the commit after its first segment failed, is returned once.
+     */
+    public List<ArchivedTransactionView> read(long walletId, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        List<ArchiveSegment.Block> blocks = new ArrayList<>(blocksByWallet.getOrDefault(walletId, List.of()));
+        blocks.sort(Comparator.comparingLong(ArchiveSegment.Block::minId));
+
+        TreeMap<Long, ArchivedTransactionView> rows = new TreeMap<>();
+        try {
+            for (ArchiveSegment.Block block : blocks) {
+                if (rows.size() >= limit && block.minId() > rows.lastKey()) {
+                    break;
+                }
+                for (ArchivedTransactionView row : block.segment().read(block)) {
+                    rows.putIfAbsent(row.id(), row);
+                }
+                while (rows.size() > limit) {
+                    rows.pollLastEntry();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read archive of wallet " + walletId, e);
+        }
+        return List.copyOf(rows.values());
+    }
+
+    private void register(ArchiveSegment segment) {
+        for (ArchiveSegment.Block block : segment.getBlocks()) {
+            blocksByWallet.computeIfAbsent(block.walletId(), walletId -> new CopyOnWriteArrayList<>()).add(block);
+        }
+    }
+
+    private static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,66 @@
+package com.ingcase.digitalwallet.archive;
+
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+import com.ingcase.digitalwallet.repository.TransactionRepository;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moves settled transactions older than {@code app.archive.min-age} out of the {@code transactions} table
+ * into archive segments, one segment per batch. Batches are taken in wallet order, so a wallet's rows end up
+ * in one compressed block instead of being spread thinly over every segment. Each batch is written and forced to disk before its rows are
+ * deleted, in the same database transaction. A failed commit can therefore leave a row in both tiers, which
+ * {@link TieredTransactionHistory} tolerates, but never in neither.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionArchiver {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchive transactionArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardFanOut shardFanOut;
+    private final ArchiveProperties properties;
+
+    @Scheduled(cron = "${app.archive.cron:0 30 3 * * *}")
+    public void archiveSettledTransactions() {
+        int archived = archive();
+        log.info("Archived {} settled transactions", archived);
+    }
+
+    public int archive() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(properties.getMinAge()));
+        AtomicInteger archived = new AtomicInteger();
+        shardFanOut.forEachShard(() -> {
+            Integer batch;
+            do {
+                batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+                archived.addAndGet(batch);
+            } while (batch == properties.getBatchSize());
+        });
+        return archived.get();
+    }
+
+    private int archiveBatch(Timestamp cutoff) {
+        List<ArchivedTransactionView> rows = transactionRepository.findSettledBefore(cutoff, PageRequest.ofSize(properties.getBatchSize()));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        transactionArchive.append(rows);
+        transactionRepository.deleteAllByIdIn(rows.stream().map(ArchivedTransactionView::id).toList());
+        return rows.size();
+    }
+}
@@ -0,0 +1,15 @@
+package com.ingcase.digitalwallet.archive;
+
+import com.ingcase.digitalwallet.model.projection.TransactionView;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Complete transaction history of a wallet, ordered by id, no matter whether the rows are still in the
+ * {@code transactions} table or already archived.
+ */
+public interface TransactionHistory {
+
+    List<TransactionView> findByWalletId(Long walletId, Pageable pageable);
+}
@@ -0,0 +1,54 @@
+package com.ingcase.digitalwallet.config;
+
+import com.ingcase.digitalwallet.admission.AdaptiveConcurrencyLimiter;
+import com.ingcase.digitalwallet.admission.AdmissionControlInterceptor;
+import com.ingcase.digitalwallet.admission.AdmissionProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(name = "app.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter readLimiter(AdmissionProperties properties) {
+        return new AdaptiveConcurrencyLimiter("read", properties.getRead());
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter writeLimiter(AdmissionProperties properties) {
+        return new AdaptiveConcurrencyLimiter("write", properties.getWrite());
+    }
+
+    @Bean
+    public AdmissionControlInterceptor admissionControlInterceptor(AdaptiveConcurrencyLimiter readLimiter,
+                                                                   AdaptiveConcurrencyLimiter writeLimiter) {
+        return new AdmissionControlInterceptor(readLimiter, writeLimiter);
+    }
+
+    @Bean
+    public MeterBinder admissionMetrics(List<AdaptiveConcurrencyLimiter> limiters) {
+        return registry -> limiters.forEach(limiter -> {
+            Gauge.builder("admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("pool", limiter.getName())
+                    .register(registry);
+            Gauge.builder("admission.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("pool", limiter.getName())
+                    .register(registry);
+            Gauge.builder("admission.queued", limiter, AdaptiveConcurrencyLimiter::getQueued)
+                    .tag("pool", limiter.getName())
+                    .register(registry);
+            FunctionCounter.builder("admission.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .tag("pool", limiter.getName())
+                    .register(registry);
+        });
+    }
+}
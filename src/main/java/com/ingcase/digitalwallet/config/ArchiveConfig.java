@@ -0,0 +1,10 @@
+package com.ingcase.digitalwallet.config;
+
+import com.ingcase.digitalwallet.archive.ArchiveProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ArchiveProperties.class)
+public class ArchiveConfig {
+}
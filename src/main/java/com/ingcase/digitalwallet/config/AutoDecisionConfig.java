@@ -0,0 +1,10 @@
+package com.ingcase.digitalwallet.config;
+
+import com.ingcase.digitalwallet.decision.AutoDecisionProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(AutoDecisionProperties.class)
+public class AutoDecisionConfig {
+}
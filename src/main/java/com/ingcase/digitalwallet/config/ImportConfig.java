@@ -0,0 +1,10 @@
+package com.ingcase.digitalwallet.config;
+
+import com.ingcase.digitalwallet.onboarding.ImportProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ImportProperties.class)
+public class ImportConfig {
+}
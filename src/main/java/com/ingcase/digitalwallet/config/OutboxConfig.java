@@ -0,0 +1,37 @@
+package com.ingcase.digitalwallet.config;
+
+import com.ingcase.digitalwallet.outbox.InProcessOutboxSink;
+import com.ingcase.digitalwallet.outbox.OutboxListener;
+import com.ingcase.digitalwallet.outbox.OutboxProperties;
+import com.ingcase.digitalwallet.outbox.OutboxRelay;
+import com.ingcase.digitalwallet.outbox.OutboxSink;
+import com.ingcase.digitalwallet.repository.OutboxEventRepository;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink(List<OutboxListener> listeners) {
+        return new InProcessOutboxSink(listeners);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(OutboxEventRepository outboxEventRepository, OutboxSink outboxSink,
+                                   TransactionTemplate transactionTemplate, ShardFanOut shardFanOut,
+                                   OutboxProperties properties, MeterRegistry meterRegistry) {
+        return new OutboxRelay(outboxEventRepository, outboxSink, transactionTemplate, shardFanOut, properties, meterRegistry);
+    }
+}
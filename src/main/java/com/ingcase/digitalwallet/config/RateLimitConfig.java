@@ -0,0 +1,25 @@
+package com.ingcase.digitalwallet.config;
+
+import com.ingcase.digitalwallet.ratelimit.RateLimitInterceptor;
+import com.ingcase.digitalwallet.ratelimit.RateLimitProperties;
+import com.ingcase.digitalwallet.ratelimit.RateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties) {
+        return new RateLimiter(properties.getMaxBuckets());
+    }
+
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor(RateLimiter rateLimiter, RateLimitProperties properties) {
+        return new RateLimitInterceptor(rateLimiter, properties);
+    }
+}
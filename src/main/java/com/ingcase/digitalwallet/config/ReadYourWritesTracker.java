@@ -0,0 +1,62 @@
+package com.ingcase.digitalwallet.config;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each principal last committed a write. A request that opted in through
+ * {@link ReadYourWritesInterceptor} keeps reading from the primary until the window has passed,
+ * giving the replica time to catch up.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWriteByPrincipal = new ConcurrentHashMap<>();
+    private final ThreadLocal<String> optedInPrincipal = new ThreadLocal<>();
+
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure != null || transaction.isReadOnly() || !transaction.isNewTransaction()) {
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null) {
+            lastWriteByPrincipal.put(authentication.getName(), System.nanoTime());
+        }
+    }
+
+    public void optIn(String principal) {
+        optedInPrincipal.set(principal);
+    }
+
+    public void clear() {
+        optedInPrincipal.remove();
+    }
+
+    public boolean readsFromPrimary() {
+        String principal = optedInPrincipal.get();
+        return principal != null && hasRecentWrite(principal);
+    }
+
+    boolean hasRecentWrite(String principal) {
+        Long lastWrite = lastWriteByPrincipal.get(principal);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < windowNanos) {
+            return true;
+        }
+        lastWriteByPrincipal.remove(principal, lastWrite);
+        return false;
+    }
+}
@@ -0,0 +1,146 @@
+package com.ingcase.digitalwallet.config;
+
+import com.ingcase.digitalwallet.sharding.ConsistentHashRing;
+import com.ingcase.digitalwallet.sharding.ShardDirectory;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import com.ingcase.digitalwallet.sharding.ShardRebalancer;
+import com.ingcase.digitalwallet.sharding.ShardRoutingAspect;
+import com.ingcase.digitalwallet.sharding.ShardRoutingDataSource;
+import com.ingcase.digitalwallet.sharding.ShardedFanOut;
+import com.ingcase.digitalwallet.sharding.ShardingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * With {@code app.sharding.enabled=true} every customer, with its wallets and transactions, lives on one of the
+ * {@code app.sharding.shards} databases. Shard 0 also keeps the placement directory and receives the seed
+ * scripts, which are redistributed at startup.
+ * Both this and the read replica define the {@code dataSource} bean, so they cannot be enabled together.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    // every shard allocates ids from its own range, so rows keep their ids when customers move
+    public static final long SHARD_ID_RANGE = 1L << 40;
+
+    private static final List<String> ID_TABLES = List.of("customers", "wallets", "transactions", "holds");
+
+    @Bean
+    @ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "false", matchIfMissing = true)
+    public ShardFanOut shardFanOut() {
+        return ShardFanOut.single();
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+    static class Sharded {
+
+        @Bean
+        public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties,
+                                                             ObjectProvider<SqlInitializationProperties> sqlInitialization,
+                                                             ResourceLoader resourceLoader) {
+            if (properties.getShards().isEmpty()) {
+                throw new IllegalStateException("app.sharding.shards must list at least one database");
+            }
+
+            List<DataSource> shards = new ArrayList<>();
+            for (int shard = 0; shard < properties.getShards().size(); shard++) {
+                ShardingProperties.Shard settings = properties.getShards().get(shard);
+                HikariDataSource dataSource = DataSourceBuilder.create()
+                        .type(HikariDataSource.class)
+                        .url(settings.getUrl())
+                        .username(settings.getUsername())
+                        .password(settings.getPassword())
+                        .build();
+                dataSource.setPoolName("shard-" + shard);
+                shards.add(dataSource);
+            }
+
+            // shard 0 is initialized by spring.sql.init like the single database
+            SqlInitializationProperties sqlInit = sqlInitialization.getIfAvailable();
+            if (sqlInit != null && sqlInit.getMode() != DatabaseInitializationMode.NEVER) {
+                for (int shard = 1; shard < shards.size(); shard++) {
+                    initializeSchema(shards.get(shard), shard, sqlInit, resourceLoader);
+                }
+            }
+
+            ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(shards);
+            routingDataSource.afterPropertiesSet();
+            return routingDataSource;
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+        }
+
+        @Bean
+        public ShardDirectory shardDirectory(ShardRoutingDataSource shardRoutingDataSource, ShardingProperties properties) {
+            DataSource catalog = shardRoutingDataSource.getShard(0);
+            return new ShardDirectory(new JdbcTemplate(catalog),
+                    new TransactionTemplate(new DataSourceTransactionManager(catalog)),
+                    new ConsistentHashRing(shardRoutingDataSource.getShardCount(), properties.getVirtualNodes()));
+        }
+
+        @Bean
+        public ShardedFanOut shardFanOut(ShardRoutingDataSource shardRoutingDataSource, ShardDirectory shardDirectory,
+                                         PlatformTransactionManager transactionManager) {
+            TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+            readOnlyTransaction.setReadOnly(true);
+            return new ShardedFanOut(shardRoutingDataSource.getShardCount(), readOnlyTransaction, shardDirectory);
+        }
+
+        @Bean
+        public ShardRoutingAspect shardRoutingAspect(ShardDirectory shardDirectory, ShardedFanOut shardFanOut, DataSource dataSource) {
+            return new ShardRoutingAspect(shardDirectory, shardFanOut, new JdbcTemplate(dataSource));
+        }
+
+        @Bean
+        public ShardRebalancer shardRebalancer(ShardRoutingDataSource shardRoutingDataSource, ShardDirectory shardDirectory) {
+            return new ShardRebalancer(shardRoutingDataSource, shardDirectory);
+        }
+
+        @Bean
+        public SmartInitializingSingleton shardPlacement(ShardDirectory shardDirectory, ShardRebalancer shardRebalancer) {
+            return () -> {
+                shardDirectory.load();
+                shardRebalancer.placeNewCustomers();
+            };
+        }
+
+        private static void initializeSchema(DataSource shard, int index, SqlInitializationProperties sqlInit,
+                                             ResourceLoader resourceLoader) {
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+            List<String> locations = sqlInit.getSchemaLocations() != null ? sqlInit.getSchemaLocations() : List.of("classpath:schema.sql");
+            locations.forEach(location -> populator.addScript(resourceLoader.getResource(location)));
+            populator.execute(shard);
+
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(shard);
+            for (String table : ID_TABLES) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (index * SHARD_ID_RANGE + 1));
+            }
+        }
+    }
+}
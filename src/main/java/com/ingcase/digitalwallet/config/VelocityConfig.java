@@ -0,0 +1,28 @@
+package com.ingcase.digitalwallet.config;
+
+import com.ingcase.digitalwallet.repository.TransactionRepository;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import com.ingcase.digitalwallet.velocity.VelocityLimiter;
+import com.ingcase.digitalwallet.velocity.VelocityProperties;
+import com.ingcase.digitalwallet.velocity.VelocityWarmUp;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(VelocityProperties.class)
+public class VelocityConfig {
+
+    @Bean
+    public VelocityLimiter velocityLimiter(VelocityProperties properties) {
+        return new VelocityLimiter(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.velocity.enabled", havingValue = "true", matchIfMissing = true)
+    public VelocityWarmUp velocityWarmUp(VelocityLimiter velocityLimiter, TransactionRepository transactionRepository,
+                                         ShardFanOut shardFanOut) {
+        return new VelocityWarmUp(velocityLimiter, transactionRepository, shardFanOut);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ingcase.digitalwallet.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.ingcase.digitalwallet.admission.AdmissionControlInterceptor;
+import com.ingcase.digitalwallet.ratelimit.RateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor;
+    private final ObjectProvider<RateLimitInterceptor> rateLimitInterceptor;
+    private final ObjectProvider<AdmissionControlInterceptor> admissionControlInterceptor;
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        readYourWritesInterceptor.ifAvailable(registry::addInterceptor);
+        rateLimitInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor).addPathPatterns("/api/v1/transactions/**"));
+        admissionControlInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor).addPathPatterns("/api/v1/transactions/**"));
+    }
+
+    /**
+     * Serves {@code application/cbor} next to JSON, chosen by {@code Accept} and {@code Content-Type}. The CBOR
+     * mapper is built from the same {@code spring.jackson.*} settings as the JSON one, which the default CBOR
+     * converter would ignore. It goes after the JSON converter, so JSON stays the default for {@code Accept: *}{@code /*}.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        MappingJackson2CborHttpMessageConverter cbor = new MappingJackson2CborHttpMessageConverter(
+                objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::new).factory(new CBORFactory()).build());
+        int json = 0;
+        while (json < converters.size() && !(converters.get(json) instanceof MappingJackson2HttpMessageConverter)) {
+            json++;
+        }
+        converters.add(Math.min(json + 1, converters.size()), cbor);
+    }
+}
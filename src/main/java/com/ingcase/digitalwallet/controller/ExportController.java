@@ -0,0 +1,38 @@
+package com.ingcase.digitalwallet.controller;
+
+import com.ingcase.digitalwallet.export.TransactionExporter;
+import com.ingcase.digitalwallet.model.dto.ExportResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequestMapping("/api/v1/exports")
+@RequiredArgsConstructor
+@Tag(name = "Export-Controller", description = "Admin exports for offline analytics")
+@RestController
+public class ExportController {
+
+    private final TransactionExporter transactionExporter;
+
+    @Operation(summary = "Exports all transactions, including archived ones, into a columnar file")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Export written",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ExportResponse.class))})
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/transactions")
+    public ResponseEntity<ExportResponse> exportTransactions() {
+        return new ResponseEntity<>(transactionExporter.export(), HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,76 @@
+package com.ingcase.digitalwallet.controller;
+
+import com.ingcase.digitalwallet.model.dto.HoldRequest;
+import com.ingcase.digitalwallet.model.dto.HoldResponse;
+import com.ingcase.digitalwallet.service.HoldService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+
+@RequestMapping("/api/v1/holds")
+@RequiredArgsConstructor
+@Tag(name = "Hold-Controller", description = "Handles balance holds placed by merchants.")
+@RestController
+public class HoldController {
+
+    private final HoldService holdService;
+
+    @Operation(summary = "Reserves an amount of the usable balance until it is captured, released or expires")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Hold placed successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = HoldResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Invalid hold request", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Wallet not found", content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN') or authentication.name == #holdRequest.customerId.toString()")
+    @PostMapping
+    public ResponseEntity<HoldResponse> placeHold(@Valid @RequestBody HoldRequest holdRequest) {
+        return new ResponseEntity<>(holdService.placeHold(holdRequest), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Captures a hold, in full or in part, as an approved payment")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold captured successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = HoldResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Hold is not active or the amount is invalid", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Hold not found", content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN') or authentication.name == #customerId.toString()")
+    @PostMapping("/{holdId}/capture")
+    public ResponseEntity<HoldResponse> captureHold(@Parameter(required = true) @PathVariable Long holdId,
+                                                    @RequestHeader("customerId") Long customerId,
+                                                    @RequestParam(required = false)
+                                                    @DecimalMin(value = "0.0", inclusive = false) BigDecimal amount) {
+        return new ResponseEntity<>(holdService.captureHold(holdId, customerId, amount), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Releases a hold and returns its amount to the usable balance")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hold released successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = HoldResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Hold is not active", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Hold not found", content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN') or authentication.name == #customerId.toString()")
+    @PostMapping("/{holdId}/release")
+    public ResponseEntity<HoldResponse> releaseHold(@Parameter(required = true) @PathVariable Long holdId,
+                                                    @RequestHeader("customerId") Long customerId) {
+        return new ResponseEntity<>(holdService.releaseHold(holdId, customerId), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,40 @@
+package com.ingcase.digitalwallet.controller;
+
+import com.ingcase.digitalwallet.model.dto.ImportResponse;
+import com.ingcase.digitalwallet.onboarding.WalletImporter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RequestMapping("/api/v1/imports")
+@RequiredArgsConstructor
+@Tag(name = "Import-Controller", description = "Admin bulk onboarding of customers and wallets")
+@RestController
+public class ImportController {
+
+    private final WalletImporter walletImporter;
+
+    @Operation(summary = "Creates customers and wallets from a CSV body with the header " + WalletImporter.HEADER)
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Import finished, rejected rows are listed in the error file",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ImportResponse.class))})
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/wallets", consumes = "text/csv")
+    public ResponseEntity<ImportResponse> importWallets(InputStream body) {
+        return new ResponseEntity<>(walletImporter.importWallets(body), HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ingcase.digitalwallet.controller;
+
+import com.ingcase.digitalwallet.model.dto.RebalanceResponse;
+import com.ingcase.digitalwallet.model.dto.ShardPlacementResponse;
+import com.ingcase.digitalwallet.sharding.ShardDirectory;
+import com.ingcase.digitalwallet.sharding.ShardRebalancer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RequestMapping("/api/v1/shards")
+@RequiredArgsConstructor
+@Tag(name = "Shard-Controller", description = "Admin operations on customer placement across shards")
+@RestController
+@ConditionalOnProperty(name = "app.sharding.enabled", havingValue = "true")
+public class ShardController {
+
+    private final ShardDirectory shardDirectory;
+    private final ShardRebalancer shardRebalancer;
+
+    @Operation(summary = "Shows the shard a customer lives on")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Placement found",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ShardPlacementResponse.class))})
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/customers/{customerId}")
+    public ResponseEntity<ShardPlacementResponse> getPlacement(@Parameter(required = true) @PathVariable Long customerId) {
+        return new ResponseEntity<>(new ShardPlacementResponse(customerId, shardDirectory.shardFor(customerId)), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Moves a customer with its wallets and transactions to another shard")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Customer moved successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ShardPlacementResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Unknown shard", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Customer not found", content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/customers/{customerId}")
+    public ResponseEntity<ShardPlacementResponse> moveCustomer(@Parameter(required = true) @PathVariable Long customerId,
+                                                               @RequestParam @PositiveOrZero int shard) {
+        shardRebalancer.move(customerId, shard);
+        return new ResponseEntity<>(new ShardPlacementResponse(customerId, shard), HttpStatus.OK);
+    }
+
+    @Operation(summary = "Moves every customer to the shard the hash ring assigns it to")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rebalance completed",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RebalanceResponse.class))})
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/rebalance")
+    public ResponseEntity<RebalanceResponse> rebalance() {
+        return new ResponseEntity<>(new RebalanceResponse(shardRebalancer.rebalance()), HttpStatus.OK);
+    }
+}
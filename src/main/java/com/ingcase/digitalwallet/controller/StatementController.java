@@ -0,0 +1,54 @@
+package com.ingcase.digitalwallet.controller;
+
+import com.ingcase.digitalwallet.model.dto.StatementRunResponse;
+import com.ingcase.digitalwallet.statement.StatementGenerator;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+
+@RequestMapping("/api/v1/statements")
+@RequiredArgsConstructor
+@Tag(name = "Statement-Controller", description = "Admin runs of the monthly wallet statements")
+@RestController
+public class StatementController {
+
+    private final StatementGenerator statementGenerator;
+
+    @Operation(summary = "Starts writing the statements of the given month (yyyy-MM) in the background, resuming a previous run of that month")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Run started, or the progress of the run already in progress",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StatementRunResponse.class))})
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{month}")
+    public ResponseEntity<StatementRunResponse> generateStatements(@PathVariable YearMonth month) {
+        return new ResponseEntity<>(statementGenerator.start(month), HttpStatus.ACCEPTED);
+    }
+
+    @Operation(summary = "Shows the progress of the current or last statement run")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Run progress",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = StatementRunResponse.class))})
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<StatementRunResponse> getStatementRun() {
+        return new ResponseEntity<>(statementGenerator.status(), HttpStatus.OK);
+    }
+}
@@ -1,10 +1,14 @@
 package com.ingcase.digitalwallet.controller;
 
 import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.PendingTransactionResponse;
 import com.ingcase.digitalwallet.model.dto.TransactionResponse;
 import com.ingcase.digitalwallet.model.dto.TransactionUpdateRequest;
+import com.ingcase.digitalwallet.model.dto.TransferRequest;
 import com.ingcase.digitalwallet.model.dto.WithdrawRequest;
 import com.ingcase.digitalwallet.service.TransactionService;
+import com.ingcase.digitalwallet.utils.AppConstants;
+import com.ingcase.digitalwallet.utils.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,11 +17,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -55,19 +66,60 @@ public class TransactionController {
         return new ResponseEntity<>(transactionService.withdraw(withdrawRequest), HttpStatus.OK);
     }
 
-    @Operation(summary = "List transactions for a given wallet")
+    @Operation(summary = "Moves money between two wallets of the same customer in one transaction")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Transfer completed successfully, returns the withdraw and deposit legs",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TransactionResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Invalid transfer request", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Wallet not found", content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN') or authentication.name == #transferRequest.customerId.toString()")
+    @PostMapping("/transfer")
+    public ResponseEntity<List<TransactionResponse>> transfer(@Valid @RequestBody TransferRequest transferRequest) {
+        return new ResponseEntity<>(transactionService.transfer(transferRequest), HttpStatus.OK);
+    }
+
+    @Operation(summary = "List transactions for a given wallet, oldest first, one page at a time")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Transactions listed successfully",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = TransactionResponse.class))}),
+            @ApiResponse(responseCode = "304", description = "Transactions unchanged since the given ETag", content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid transaction request", content = @Content),
             @ApiResponse(responseCode = "404", description = "Transactions not found", content = @Content)
     })
     @PreAuthorize("hasRole('ADMIN') or authentication.name == #customerId.toString()")
     @GetMapping("/list")
     public ResponseEntity<List<TransactionResponse>> getWalletTransactions(@RequestHeader("walletId") Long walletId,
-                                                                           @RequestHeader("customerId") Long customerId) {
-        return new ResponseEntity<>(transactionService.getWalletTransactions(walletId, customerId), HttpStatus.OK);
+                                                                           @RequestHeader("customerId") Long customerId,
+                                                                           @RequestParam(defaultValue = "0") @PositiveOrZero int page,
+                                                                           @RequestParam(defaultValue = "" + AppConstants.DEFAULT_PAGE_SIZE)
+                                                                           @Positive @Max(AppConstants.MAX_PAGE_SIZE) int size,
+                                                                           WebRequest webRequest) {
+        String eTag = ETags.weak("wallet-" + walletId, transactionService.getWalletTransactionsVersion(walletId, customerId));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by("id"));
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT, "walletId", "customerId")
+                .body(transactionService.getWalletTransactions(walletId, customerId, pageRequest));
+    }
+
+    @Operation(summary = "Lists pending transactions across all customers, oldest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pending transactions listed successfully",
+                    content = {@Content(mediaType = "application/json",
+                            schema = @Schema(implementation = PendingTransactionResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Invalid pending transaction request", content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/pending")
+    public ResponseEntity<List<PendingTransactionResponse>> getPendingTransactions(@RequestParam(defaultValue = "" + AppConstants.DEFAULT_PAGE_SIZE)
+                                                                                   @Positive @Max(AppConstants.MAX_PAGE_SIZE) int size) {
+        return new ResponseEntity<>(transactionService.getPendingTransactions(size), HttpStatus.OK);
     }
 
     @Operation(summary = "Approve or deny a pending transaction based on the provided status")
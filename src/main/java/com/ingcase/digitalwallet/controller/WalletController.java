@@ -1,8 +1,11 @@
 package com.ingcase.digitalwallet.controller;
 
+import com.ingcase.digitalwallet.events.WalletBalanceChangedEvent;
+import com.ingcase.digitalwallet.events.WalletEventBroadcaster;
 import com.ingcase.digitalwallet.model.dto.WalletCreateRequest;
 import com.ingcase.digitalwallet.model.dto.WalletResponse;
 import com.ingcase.digitalwallet.service.WalletService;
+import com.ingcase.digitalwallet.utils.ETags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,10 +15,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -26,6 +33,7 @@ import java.util.List;
 public class WalletController {
 
     private final WalletService walletService;
+    private final WalletEventBroadcaster walletEventBroadcaster;
 
     @Operation(summary = "Creates a new wallet")
     @ApiResponses(value = {
@@ -45,13 +53,31 @@ public class WalletController {
             @ApiResponse(responseCode = "200", description = "Wallets listed successfully",
                     content = {@Content(mediaType = "application/json",
                             schema = @Schema(implementation = WalletResponse.class))}),
+            @ApiResponse(responseCode = "304", description = "Wallets unchanged since the given ETag", content = @Content),
             @ApiResponse(responseCode = "400", description = "Invalid wallet request", content = @Content),
             @ApiResponse(responseCode = "404", description = "Wallets not found", content = @Content)
 
     })
     @PreAuthorize("hasRole('ADMIN') or authentication.name == #customerId.toString()")
     @GetMapping("/{customerId}")
-    public ResponseEntity<List<WalletResponse>> getCustomerWallets(@Parameter(required = true) @PathVariable Long customerId) {
-        return new ResponseEntity<>(walletService.getCustomerWallets(customerId), HttpStatus.OK);
+    public ResponseEntity<List<WalletResponse>> getCustomerWallets(@Parameter(required = true) @PathVariable Long customerId,
+                                                                   WebRequest webRequest) {
+        String eTag = ETags.weak("wallets", walletService.getCustomerWalletsVersion(customerId));
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(walletService.getCustomerWallets(customerId));
+    }
+
+    @Operation(summary = "Streams balance and status changes of a customer's wallets as server-sent events")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened",
+                    content = {@Content(mediaType = "text/event-stream",
+                            schema = @Schema(implementation = WalletBalanceChangedEvent.class))})
+    })
+    @PreAuthorize("hasRole('ADMIN') or authentication.name == #customerId.toString()")
+    @GetMapping(value = "/{customerId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamWalletEvents(@Parameter(required = true) @PathVariable Long customerId) {
+        return walletEventBroadcaster.subscribe(customerId);
     }
 }
@@ -0,0 +1,190 @@
+package com.ingcase.digitalwallet.decision;
+
+import com.ingcase.digitalwallet.events.WalletBalanceChangedEvent;
+import com.ingcase.digitalwallet.model.entity.Transaction;
+import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.enums.OutboxEventType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.money.BalanceDelta;
+import com.ingcase.digitalwallet.outbox.TransactionOutbox;
+import com.ingcase.digitalwallet.repository.TransactionRepository;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import com.ingcase.digitalwallet.velocity.VelocityLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Settles pending transactions that match the {@code app.auto-decision.deny} or {@code approve} rules, deny
+ * rules first. Wallets are split into {@code app.auto-decision.parallelism} partitions by id, which are
+ * processed concurrently. Each partition walks its pending rows in id order, {@code chunk-size} at a time,
+ * and settles a chunk in one database transaction with a single balance update per wallet.
+ * <p>
+ * Only rows that are still pending are read, so a run that is interrupted can simply be started again. If an
+ * admin settles a transaction of the same wallet concurrently, the wallet version check rolls the chunk back
+ * and the next run picks it up again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.auto-decision.enabled", havingValue = "true")
+public class AutoDecisionJob implements DisposableBean {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionOutbox transactionOutbox;
+    private final VelocityLimiter velocityLimiter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardFanOut shardFanOut;
+    private final AutoDecisionProperties properties;
+    private final ExecutorService executor;
+    private final Counter scanned;
+    private final Counter approved;
+    private final Counter denied;
+    private final Timer runs;
+
+    public AutoDecisionJob(TransactionRepository transactionRepository, TransactionOutbox transactionOutbox,
+                           VelocityLimiter velocityLimiter, ApplicationEventPublisher eventPublisher, TransactionTemplate transactionTemplate,
+                           ShardFanOut shardFanOut, AutoDecisionProperties properties, MeterRegistry registry) {
+        this.transactionRepository = transactionRepository;
+        this.transactionOutbox = transactionOutbox;
+        this.velocityLimiter = velocityLimiter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.shardFanOut = shardFanOut;
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(properties.getParallelism(),
+                Thread.ofPlatform().name("auto-decision-", 0).daemon().factory());
+        this.scanned = Counter.builder("auto.decision.scanned").register(registry);
+        this.approved = Counter.builder("auto.decision.decided").tag("status", "APPROVED").register(registry);
+        this.denied = Counter.builder("auto.decision.decided").tag("status", "DENIED").register(registry);
+        this.runs = Timer.builder("auto.decision.run").register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.auto-decision.interval:1m}", initialDelayString = "${app.auto-decision.interval:1m}")
+    public void decidePendingTransactions() {
+        Timer.Sample sample = Timer.start();
+        int decided = decide();
+        sample.stop(runs);
+        log.info("Auto-decided {} pending transactions", decided);
+    }
+
+    public synchronized int decide() {
+        int partitions = properties.getParallelism();
+        List<Future<Integer>> futures = new ArrayList<>(partitions);
+        for (int partition = 0; partition < partitions; partition++) {
+            int target = partition;
+            futures.add(executor.submit(() -> decidePartition(partitions, target)));
+        }
+        int decided = 0;
+        for (Future<Integer> future : futures) {
+            decided += await(future);
+        }
+        return decided;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private int decidePartition(int partitions, int partition) {
+        int[] decided = {0};
+        shardFanOut.forEachShardWithoutMoves(() -> {
+            long afterId = 0;
+            Chunk chunk;
+            do {
+                long from = afterId;
+                chunk = transactionTemplate.execute(status -> decideChunk(partitions, partition, from));
+                decided[0] += chunk.decided();
+                afterId = chunk.lastId();
+            } while (chunk.scanned() == properties.getChunkSize());
+        });
+        return decided[0];
+    }
+
+    private Chunk decideChunk(int partitions, int partition, long afterId) {
+        List<Transaction> pending = transactionRepository.findPendingInPartition(afterId, partitions, partition,
+                PageRequest.ofSize(properties.getChunkSize()));
+        if (pending.isEmpty()) {
+            return new Chunk(0, 0, afterId);
+        }
+        scanned.increment(pending.size());
+
+        Map<Wallet, BalanceDelta> deltas = new LinkedHashMap<>();
+        List<Transaction> settled = new ArrayList<>();
+        for (Transaction transaction : pending) {
+            Status decision = decide(transaction);
+            if (decision == Status.PENDING) {
+                continue;
+            }
+            transaction.setStatus(decision);
+            deltas.merge(transaction.getWallet(),
+                    BalanceDelta.ofSettlement(transaction.getType(), decision, transaction.getAmount()), BalanceDelta::add);
+            settled.add(transaction);
+        }
+        deltas.forEach((wallet, delta) -> delta.applyTo(wallet));
+
+        for (Transaction transaction : settled) {
+            Wallet wallet = transaction.getWallet();
+            boolean isApproved = transaction.getStatus() == Status.APPROVED;
+            transactionOutbox.record(isApproved ? OutboxEventType.TRANSACTION_APPROVED : OutboxEventType.TRANSACTION_DENIED,
+                    transaction);
+            eventPublisher.publishEvent(new WalletBalanceChangedEvent(wallet.getCustomer().getId(), wallet.getId(),
+                    wallet.getBalance(), wallet.getUsableBalance(), transaction.getId(), transaction.getType(),
+                    transaction.getStatus(), null, null));
+            if (!isApproved) {
+                velocityLimiter.release(transaction);
+            }
+            (isApproved ? approved : denied).increment();
+        }
+        return new Chunk(pending.size(), settled.size(), pending.get(pending.size() - 1).getId());
+    }
+
+    private Status decide(Transaction transaction) {
+        for (AutoDecisionProperties.Rule rule : properties.getDeny()) {
+            if (rule.matches(transaction.getType(), transaction.getOppositePartyType(), transaction.getAmount())) {
+                return Status.DENIED;
+            }
+        }
+        for (AutoDecisionProperties.Rule rule : properties.getApprove()) {
+            if (rule.matches(transaction.getType(), transaction.getOppositePartyType(), transaction.getAmount())) {
+                return Status.APPROVED;
+            }
+        }
+        return Status.PENDING;
+    }
+
+    private static int await(Future<Integer> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while deciding pending transactions", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Deciding pending transactions failed", e.getCause());
+        }
+    }
+
+    private record Chunk(int scanned, int decided, long lastId) {
+    }
+}
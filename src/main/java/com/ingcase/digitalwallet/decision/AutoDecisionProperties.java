@@ -0,0 +1,43 @@
+package com.ingcase.digitalwallet.decision;
+
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties("app.auto-decision")
+public class AutoDecisionProperties {
+
+    private boolean enabled = false;
+    private Duration interval = Duration.ofMinutes(1);
+    private int chunkSize = 500;
+    private int parallelism = 4;
+    private List<Rule> approve = new ArrayList<>();
+    private List<Rule> deny = new ArrayList<>();
+
+    /**
+     * Matches a pending transaction when every criterion that is set matches. Amount bounds are inclusive.
+     */
+    @Data
+    public static class Rule {
+
+        private Type type;
+        private OppositePartyType oppositePartyType;
+        private BigDecimal minAmount;
+        private BigDecimal maxAmount;
+
+        public boolean matches(Type transactionType, String transactionOppositePartyType, Money amount) {
+            return (type == null || type == transactionType)
+                    && (oppositePartyType == null || oppositePartyType.name().equals(transactionOppositePartyType))
+                    && (minAmount == null || !amount.isLessThan(Money.of(minAmount)))
+                    && (maxAmount == null || !amount.isGreaterThan(Money.of(maxAmount)));
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ingcase.digitalwallet.events;
+
+import com.ingcase.digitalwallet.model.enums.HoldStatus;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+
+/**
+ * Published inside the transaction that changed the wallet, delivered to subscribers after it commits. The
+ * transaction fields are null when only a hold changed the usable balance, the hold fields when no hold is involved.
+ */
+public record WalletBalanceChangedEvent(Long customerId,
+                                        Long walletId,
+                                        Money balance,
+                                        Money usableBalance,
+                                        Long transactionId,
+                                        Type transactionType,
+                                        Status transactionStatus,
+                                        Long holdId,
+                                        HoldStatus holdStatus) {
+}
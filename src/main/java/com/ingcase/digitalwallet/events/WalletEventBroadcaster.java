@@ -0,0 +1,161 @@
+package com.ingcase.digitalwallet.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes committed wallet balance changes to the customer's open event streams. An idle stream is just an
+ * async servlet request and holds no thread; deliveries run on virtual threads, one per stream at a time.
+ * <p>
+ * Each stream buffers the latest change per wallet, so a burst of updates to one wallet reaches a slow
+ * client as a single event. A stream whose buffer exceeds {@code bufferCapacity} wallets is closed and the
+ * client is expected to reconnect and reload its wallets.
+ */
+@Slf4j
+@Component
+public class WalletEventBroadcaster implements DisposableBean {
+
+    static final String BALANCE_EVENT = "balance";
+
+    private final WalletEventProperties properties;
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("wallet-event-heartbeat").daemon().factory());
+
+    public WalletEventBroadcaster(WalletEventProperties properties) {
+        this.properties = properties;
+        long interval = properties.getHeartbeatInterval().toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Long customerId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscription subscription = new Subscription(customerId, emitter);
+        subscriptions.computeIfAbsent(customerId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(error -> unsubscribe(subscription));
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onBalanceChanged(WalletBalanceChangedEvent event) {
+        for (Subscription subscription : subscriptions.getOrDefault(event.customerId(), Set.of())) {
+            subscription.offer(event);
+        }
+    }
+
+    int subscriberCount(Long customerId) {
+        return subscriptions.getOrDefault(customerId, Set.of()).size();
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscriptions.values().forEach(customerSubscriptions -> customerSubscriptions.forEach(s -> s.emitter.complete()));
+    }
+
+    private void heartbeat() {
+        subscriptions.values().forEach(customerSubscriptions -> customerSubscriptions.forEach(Subscription::requestHeartbeat));
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.customerId, (id, customerSubscriptions) -> {
+            customerSubscriptions.remove(subscription);
+            return customerSubscriptions.isEmpty() ? null : customerSubscriptions;
+        });
+    }
+
+    private static String eventId(WalletBalanceChangedEvent event) {
+        return event.transactionId() != null ? String.valueOf(event.transactionId()) : "hold-" + event.holdId();
+    }
+
+    private final class Subscription {
+
+        private final Long customerId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // guarded by this
+        private final Map<Long, WalletBalanceChangedEvent> pending = new LinkedHashMap<>();
+        private boolean heartbeatDue;
+
+        private Subscription(Long customerId, SseEmitter emitter) {
+            this.customerId = customerId;
+            this.emitter = emitter;
+        }
+
+        void offer(WalletBalanceChangedEvent event) {
+            synchronized (this) {
+                pending.remove(event.walletId());
+                pending.put(event.walletId(), event);
+                if (pending.size() > properties.getBufferCapacity()) {
+                    pending.clear();
+                    unsubscribe(this);
+                    emitter.complete();
+                    return;
+                }
+            }
+            scheduleDrain();
+        }
+
+        void requestHeartbeat() {
+            synchronized (this) {
+                heartbeatDue = true;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    List<WalletBalanceChangedEvent> events;
+                    boolean heartbeat;
+                    synchronized (this) {
+                        events = new ArrayList<>(pending.values());
+                        pending.clear();
+                        heartbeat = heartbeatDue;
+                        heartbeatDue = false;
+                        if (events.isEmpty() && !heartbeat) {
+                            draining.set(false);
+                            return;
+                        }
+                    }
+                    for (WalletBalanceChangedEvent event : events) {
+                        emitter.send(SseEmitter.event().name(BALANCE_EVENT).id(eventId(event)).data(event));
+                    }
+                    if (heartbeat && events.isEmpty()) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // the container reports the broken connection and completes the emitter itself
+                log.debug("Closing wallet event stream of customer {}: {}", customerId, e.getMessage());
+                unsubscribe(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ingcase.digitalwallet.events;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.wallet-events")
+public class WalletEventProperties {
+
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    private Duration timeout = Duration.ofMinutes(30);
+    private int bufferCapacity = 64;
+}
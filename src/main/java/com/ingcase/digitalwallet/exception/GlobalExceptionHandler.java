@@ -2,6 +2,7 @@ package com.ingcase.digitalwallet.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -9,6 +10,7 @@ import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.LinkedHashMap;
@@ -28,7 +30,8 @@ public class GlobalExceptionHandler {
             IllegalStateException.class,
             InsufficientBalanceException.class,
             TransferNotAllowedException.class,
-            PaymentNotAllowedException.class})
+            PaymentNotAllowedException.class,
+            VelocityLimitExceededException.class})
     public ResponseEntity<Map<String, Object>> handleBadRequestExceptions(RuntimeException ex, HttpServletRequest req) {
         log.error(errorMessage, ex.getMessage(), req.getRequestURL().toString());
         Map<String, Object> errorBody = new LinkedHashMap<>();
@@ -40,7 +43,8 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler({TransactionNotFoundException.class,
             WalletNotFoundException.class,
-            CustomerNotFoundException.class})
+            CustomerNotFoundException.class,
+            HoldNotFoundException.class})
     public ResponseEntity<Map<String, Object>> handleNotFoundExceptions(RuntimeException ex, HttpServletRequest req) {
         log.error(errorMessage, ex.getMessage(), req.getRequestURL().toString());
         Map<String, Object> errorBody = new LinkedHashMap<>();
@@ -98,6 +102,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorBody);
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleRateLimitExceededException(RateLimitExceededException ex, HttpServletRequest req) {
+        log.warn(errorMessage, ex.getMessage(), req.getRequestURL().toString());
+        Map<String, Object> errorBody = new LinkedHashMap<>();
+        errorBody.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        errorBody.put("error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        errorBody.put("message", ex.getMessage());
+        // whole seconds, rounded up, as Retry-After has no finer unit
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(errorBody);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceOverloadedException(ServiceOverloadedException ex, HttpServletRequest req) {
+        log.warn(errorMessage, ex.getMessage(), req.getRequestURL().toString());
+        Map<String, Object> errorBody = new LinkedHashMap<>();
+        errorBody.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        errorBody.put("error", HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase());
+        errorBody.put("message", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(errorBody);
+    }
+
+    // the client went away, typically from an event stream, so there is nobody to answer
+    @ExceptionHandler(AsyncRequestNotUsableException.class)
+    public void handleAsyncRequestNotUsableException(AsyncRequestNotUsableException ex, HttpServletRequest req) {
+        log.debug(errorMessage, ex.getMessage(), req.getRequestURL().toString());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleRuntimeException(Exception ex, HttpServletRequest req) {
         log.error(errorMessage, ex.getMessage(), req.getRequestURL().toString());
@@ -0,0 +1,18 @@
+package com.ingcase.digitalwallet.expiry;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.pending-expiry")
+public class PendingExpiryProperties {
+
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofDays(3);
+    private Duration tick = Duration.ofSeconds(1);
+    private int wheelSize = 512;
+    private int wheelLevels = 4;
+    private int batchSize = 500;
+}
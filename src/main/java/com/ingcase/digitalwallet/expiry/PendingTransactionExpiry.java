@@ -0,0 +1,177 @@
+package com.ingcase.digitalwallet.expiry;
+
+import com.ingcase.digitalwallet.events.WalletBalanceChangedEvent;
+import com.ingcase.digitalwallet.model.entity.Transaction;
+import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.enums.OutboxEventType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.money.BalanceDelta;
+import com.ingcase.digitalwallet.model.projection.PendingDeadlineView;
+import com.ingcase.digitalwallet.outbox.TransactionOutbox;
+import com.ingcase.digitalwallet.repository.TransactionRepository;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import com.ingcase.digitalwallet.utils.TimingWheel;
+import com.ingcase.digitalwallet.velocity.VelocityLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Denies transactions that are still pending {@code app.pending-expiry.ttl} after they were created. Each
+ * pending transaction gets a timer in a {@link TimingWheel}, started when it commits and reloaded from the
+ * pending rows at startup, so no table scan is needed to find overdue rows. Timers are not removed when an
+ * admin or the auto-decision job settles a transaction first, the expiry only touches rows that are still
+ * pending.
+ * <p>
+ * Due transactions are denied {@code batch-size} at a time on every shard, in one database transaction per
+ * shard with a single balance update per wallet. A batch that fails, for example because an admin settled one
+ * of its transactions concurrently, is scheduled again for the next tick.
+ */
+@Slf4j
+@Component
+public class PendingTransactionExpiry {
+
+    private final TransactionRepository transactionRepository;
+    private final TransactionOutbox transactionOutbox;
+    private final VelocityLimiter velocityLimiter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardFanOut shardFanOut;
+    private final PendingExpiryProperties properties;
+    private final TimingWheel<Long> timers;
+    private final Counter expired;
+    private final Timer lag;
+    private volatile boolean started;
+
+    public PendingTransactionExpiry(TransactionRepository transactionRepository, TransactionOutbox transactionOutbox,
+                                    VelocityLimiter velocityLimiter, ApplicationEventPublisher eventPublisher,
+                                    TransactionTemplate transactionTemplate, ShardFanOut shardFanOut,
+                                    PendingExpiryProperties properties, MeterRegistry registry) {
+        this.transactionRepository = transactionRepository;
+        this.transactionOutbox = transactionOutbox;
+        this.velocityLimiter = velocityLimiter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.shardFanOut = shardFanOut;
+        this.properties = properties;
+        this.timers = new TimingWheel<>(properties.getTick().toMillis(), properties.getWheelSize(),
+                properties.getWheelLevels(), System.currentTimeMillis());
+        this.expired = Counter.builder("pending.expired").register(registry);
+        this.lag = Timer.builder("pending.expiry.lag").register(registry);
+        Gauge.builder("pending.expiry.timers", timers, TimingWheel::size).register(registry);
+    }
+
+    /**
+     * Starts the timer of a pending transaction once the current transaction commits.
+     */
+    public void scheduleAfterCommit(Transaction transaction) {
+        if (!properties.isEnabled() || transaction.getStatus() != Status.PENDING) {
+            return;
+        }
+        Long id = transaction.getId();
+        long deadline = deadlineOf(transaction.getCreateDate());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    timers.schedule(id, deadline);
+                }
+            });
+        } else {
+            timers.schedule(id, deadline);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadTimers() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        AtomicInteger loaded = new AtomicInteger();
+        shardFanOut.forEachShard(() -> {
+            long afterId = 0;
+            List<PendingDeadlineView> page;
+            do {
+                long from = afterId;
+                page = transactionTemplate.execute(status ->
+                        transactionRepository.findPendingAfter(from, PageRequest.ofSize(properties.getBatchSize())));
+                for (PendingDeadlineView pending : page) {
+                    timers.schedule(pending.id(), deadlineOf(pending.createDate()));
+                    afterId = pending.id();
+                }
+                loaded.addAndGet(page.size());
+            } while (page.size() == properties.getBatchSize());
+        });
+        started = true;
+        log.info("Loaded expiry timers of {} pending transactions", loaded.get());
+    }
+
+    @Scheduled(fixedDelayString = "${app.pending-expiry.tick:1s}")
+    public void expireOverdueTransactions() {
+        if (started) {
+            expire(System.currentTimeMillis());
+        }
+    }
+
+    public synchronized int expire(long nowMillis) {
+        List<Long> due = timers.advance(nowMillis);
+        Timestamp createdBefore = new Timestamp(nowMillis - properties.getTtl().toMillis());
+        AtomicInteger count = new AtomicInteger();
+        for (int from = 0; from < due.size(); from += properties.getBatchSize()) {
+            List<Long> batch = due.subList(from, Math.min(from + properties.getBatchSize(), due.size()));
+            try {
+                shardFanOut.forEachShardWithoutMoves(() -> count.addAndGet(
+                        transactionTemplate.execute(status -> expireBatch(batch, createdBefore, nowMillis))));
+            } catch (RuntimeException e) {
+                log.warn("Could not expire {} pending transactions, retrying on the next tick", batch.size(), e);
+                batch.forEach(id -> timers.schedule(id, nowMillis));
+            }
+        }
+        expired.increment(count.get());
+        return count.get();
+    }
+
+    private int expireBatch(List<Long> ids, Timestamp createdBefore, long nowMillis) {
+        List<Transaction> overdue = transactionRepository.findPendingCreatedBefore(ids, createdBefore);
+        Map<Wallet, BalanceDelta> deltas = new LinkedHashMap<>();
+        for (Transaction transaction : overdue) {
+            transaction.setStatus(Status.DENIED);
+            deltas.merge(transaction.getWallet(),
+                    BalanceDelta.ofSettlement(transaction.getType(), Status.DENIED, transaction.getAmount()), BalanceDelta::add);
+        }
+        deltas.forEach((wallet, delta) -> delta.applyTo(wallet));
+
+        for (Transaction transaction : overdue) {
+            Wallet wallet = transaction.getWallet();
+            transactionOutbox.record(OutboxEventType.TRANSACTION_DENIED, transaction);
+            eventPublisher.publishEvent(new WalletBalanceChangedEvent(wallet.getCustomer().getId(), wallet.getId(),
+                    wallet.getBalance(), wallet.getUsableBalance(), transaction.getId(), transaction.getType(),
+                    transaction.getStatus(), null, null));
+            velocityLimiter.release(transaction);
+            lag.record(Duration.ofMillis(Math.max(0, nowMillis - deadlineOf(transaction.getCreateDate()))));
+        }
+        return overdue.size();
+    }
+
+    private long deadlineOf(Timestamp createDate) {
+        return createDate.getTime() + properties.getTtl().toMillis();
+    }
+}
@@ -0,0 +1,150 @@
+package com.ingcase.digitalwallet.export;
+
+import com.ingcase.digitalwallet.utils.VarInts;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodes one column of a row group, then deflates it.
+ * <ul>
+ *     <li>ids and create dates: zig-zag varint deltas to the previous row</li>
+ *     <li>wallet ids: runs of (zig-zag delta, run length), since rows are grouped by wallet</li>
+ *     <li>amounts: zig-zag varint minor units</li>
+ *     <li>strings: a dictionary of distinct values followed by one varint code per row</li>
+ * </ul>
+ */
+final class ColumnCodec {
+
+    private ColumnCodec() {
+    }
+
+    static byte[] encodeLongs(TransactionColumn column, long[] values, int size) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            switch (column) {
+                case ID, CREATE_DATE -> {
+                    long previous = 0;
+                    for (int i = 0; i < size; i++) {
+                        VarInts.writeSigned(out, values[i] - previous);
+                        previous = values[i];
+                    }
+                }
+                case WALLET_ID -> {
+                    long previous = 0;
+                    int i = 0;
+                    while (i < size) {
+                        int run = 1;
+                        while (i + run < size && values[i + run] == values[i]) {
+                            run++;
+                        }
+                        VarInts.writeSigned(out, values[i] - previous);
+                        VarInts.writeUnsigned(out, run);
+                        previous = values[i];
+                        i += run;
+                    }
+                }
+                case AMOUNT -> {
+                    for (int i = 0; i < size; i++) {
+                        VarInts.writeSigned(out, values[i]);
+                    }
+                }
+                default -> throw new IllegalArgumentException(column + " is not a numeric column");
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static long[] decodeLongs(TransactionColumn column, byte[] compressed, int size) throws IOException {
+        long[] values = new long[size];
+        try (DataInputStream in = inflate(compressed)) {
+            switch (column) {
+                case ID, CREATE_DATE -> {
+                    long previous = 0;
+                    for (int i = 0; i < size; i++) {
+                        previous += VarInts.readSigned(in);
+                        values[i] = previous;
+                    }
+                }
+                case WALLET_ID -> {
+                    long previous = 0;
+                    int i = 0;
+                    while (i < size) {
+                        previous += VarInts.readSigned(in);
+                        int run = (int) VarInts.readUnsigned(in);
+                        for (int end = i + run; i < end; i++) {
+                            values[i] = previous;
+                        }
+                    }
+                }
+                case AMOUNT -> {
+                    for (int i = 0; i < size; i++) {
+                        values[i] = VarInts.readSigned(in);
+                    }
+                }
+                default -> throw new IllegalArgumentException(column + " is not a numeric column");
+            }
+        }
+        return values;
+    }
+
+    static byte[] encodeStrings(String[] values, int size) throws IOException {
+        Map<String, Integer> codes = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        int[] rowCodes = new int[size];
+        for (int i = 0; i < size; i++) {
+            rowCodes[i] = codes.computeIfAbsent(values[i], value -> {
+                dictionary.add(value);
+                return dictionary.size() - 1;
+            });
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            VarInts.writeUnsigned(out, dictionary.size());
+            for (String value : dictionary) {
+                // length + 1, so that 0 can stand for null
+                if (value == null) {
+                    VarInts.writeUnsigned(out, 0);
+                } else {
+                    byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                    VarInts.writeUnsigned(out, utf8.length + 1L);
+                    out.write(utf8);
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                VarInts.writeUnsigned(out, rowCodes[i]);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static String[] decodeStrings(byte[] compressed, int size) throws IOException {
+        String[] values = new String[size];
+        try (DataInputStream in = inflate(compressed)) {
+            String[] dictionary = new String[(int) VarInts.readUnsigned(in)];
+            for (int code = 0; code < dictionary.length; code++) {
+                int length = (int) VarInts.readUnsigned(in);
+                if (length > 0) {
+                    byte[] utf8 = new byte[length - 1];
+                    in.readFully(utf8);
+                    dictionary[code] = new String(utf8, StandardCharsets.UTF_8);
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                values[i] = dictionary[(int) VarInts.readUnsigned(in)];
+            }
+        }
+        return values;
+    }
+
+    private static DataInputStream inflate(byte[] compressed) {
+        return new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed)));
+    }
+}
@@ -0,0 +1,149 @@
+package com.ingcase.digitalwallet.export;
+
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+import com.ingcase.digitalwallet.utils.Timestamps;
+import com.ingcase.digitalwallet.utils.VarInts;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads export files written by {@link ColumnarExportWriter}.
+ * <pre>
+ * header     magic "DWCX", format version
+ * row groups the columns of each group back to back, see {@link ColumnCodec}
+ * footer     column count, group count, then per group: offset, row count, min and max wallet id and the
+ *            length of every column (all varints)
+ * trailer    footer offset (8 bytes), magic
+ * </pre>
+ * A column can be read on its own, so a scan over amounts never inflates the string columns.
+ */
+public final class ColumnarExportReader implements Closeable {
+
+    public record RowGroup(long offset, int rowCount, long minWalletId, long maxWalletId, List<Integer> columnLengths) {
+    }
+
+    private final FileChannel channel;
+    private final List<RowGroup> rowGroups = new ArrayList<>();
+
+    private ColumnarExportReader(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    public static ColumnarExportReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < ColumnarExportWriter.HEADER_BYTES + ColumnarExportWriter.TRAILER_BYTES) {
+                throw new IOException("Truncated export file " + file);
+            }
+            ByteBuffer header = read(channel, 0, ColumnarExportWriter.HEADER_BYTES);
+            if (header.getInt() != ColumnarExportWriter.MAGIC || header.get() != ColumnarExportWriter.FORMAT_VERSION) {
+                throw new IOException("Not an export file: " + file);
+            }
+            ByteBuffer trailer = read(channel, size - ColumnarExportWriter.TRAILER_BYTES, ColumnarExportWriter.TRAILER_BYTES);
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != ColumnarExportWriter.MAGIC || footerOffset < ColumnarExportWriter.HEADER_BYTES
+                    || footerOffset > size - ColumnarExportWriter.TRAILER_BYTES) {
+                throw new IOException("Corrupt export file trailer: " + file);
+            }
+
+            ColumnarExportReader reader = new ColumnarExportReader(channel);
+            ByteBuffer footer = read(channel, footerOffset, (int) (size - ColumnarExportWriter.TRAILER_BYTES - footerOffset));
+            DataInputStream index = new DataInputStream(new ByteArrayInputStream(footer.array()));
+            int columnCount = (int) VarInts.readUnsigned(index);
+            if (columnCount != TransactionColumn.values().length) {
+                throw new IOException("Unexpected column count " + columnCount + " in " + file);
+            }
+            long groupCount = VarInts.readUnsigned(index);
+            for (long i = 0; i < groupCount; i++) {
+                long offset = VarInts.readUnsigned(index);
+                int rowCount = (int) VarInts.readUnsigned(index);
+                long minWalletId = VarInts.readUnsigned(index);
+                long maxWalletId = VarInts.readUnsigned(index);
+                List<Integer> columnLengths = new ArrayList<>(columnCount);
+                for (int column = 0; column < columnCount; column++) {
+                    columnLengths.add((int) VarInts.readUnsigned(index));
+                }
+                reader.rowGroups.add(new RowGroup(offset, rowCount, minWalletId, maxWalletId, List.copyOf(columnLengths)));
+            }
+            return reader;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public List<RowGroup> getRowGroups() {
+        return Collections.unmodifiableList(rowGroups);
+    }
+
+    public long getRowCount() {
+        return rowGroups.stream().mapToLong(RowGroup::rowCount).sum();
+    }
+
+    public long[] readLongs(RowGroup group, TransactionColumn column) throws IOException {
+        if (!column.isNumeric()) {
+            throw new IllegalArgumentException(column + " is not a numeric column");
+        }
+        return ColumnCodec.decodeLongs(column, readColumn(group, column), group.rowCount());
+    }
+
+    public String[] readStrings(RowGroup group, TransactionColumn column) throws IOException {
+        if (column.isNumeric()) {
+            throw new IllegalArgumentException(column + " is not a string column");
+        }
+        return ColumnCodec.decodeStrings(readColumn(group, column), group.rowCount());
+    }
+
+    public List<ArchivedTransactionView> readRows(RowGroup group) throws IOException {
+        long[] ids = readLongs(group, TransactionColumn.ID);
+        long[] walletIds = readLongs(group, TransactionColumn.WALLET_ID);
+        long[] amounts = readLongs(group, TransactionColumn.AMOUNT);
+        String[] types = readStrings(group, TransactionColumn.TYPE);
+        String[] statuses = readStrings(group, TransactionColumn.STATUS);
+        String[] oppositePartyTypes = readStrings(group, TransactionColumn.OPPOSITE_PARTY_TYPE);
+        String[] oppositeParties = readStrings(group, TransactionColumn.OPPOSITE_PARTY);
+        long[] createDates = readLongs(group, TransactionColumn.CREATE_DATE);
+
+        List<ArchivedTransactionView> rows = new ArrayList<>(group.rowCount());
+        for (int i = 0; i < group.rowCount(); i++) {
+            rows.add(new ArchivedTransactionView(ids[i], walletIds[i], Money.ofMinor(amounts[i]), Type.valueOf(types[i]),
+                    oppositePartyTypes[i], oppositeParties[i], Status.valueOf(statuses[i]),
+                    Timestamps.fromMicros(createDates[i])));
+        }
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private byte[] readColumn(RowGroup group, TransactionColumn column) throws IOException {
+        long offset = group.offset();
+        for (int i = 0; i < column.ordinal(); i++) {
+            offset += group.columnLengths().get(i);
+        }
+        return read(channel, offset, group.columnLengths().get(column.ordinal())).array();
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of export file");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,104 @@
+package com.ingcase.digitalwallet.export;
+
+import com.ingcase.digitalwallet.utils.VarInts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes an export file. Row groups can be appended from several threads; each is written in one piece.
+ * The file is assembled under a temporary name and renamed by {@link #finish()}, so an export that fails
+ * halfway leaves nothing behind but is removed by {@link #close()}.
+ */
+public final class ColumnarExportWriter implements Closeable {
+
+    static final int MAGIC = 0x44574358;
+    static final byte FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = Integer.BYTES + 1;
+    static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final Path file;
+    private final Path temporary;
+    private final FileChannel channel;
+    private final ByteArrayOutputStream footer = new ByteArrayOutputStream();
+    private final DataOutputStream index = new DataOutputStream(footer);
+    private int rowGroupCount;
+    private long rowCount;
+    private boolean finished;
+
+    private ColumnarExportWriter(Path file, Path temporary, FileChannel channel) {
+        this.file = file;
+        this.temporary = temporary;
+        this.channel = channel;
+    }
+
+    public static ColumnarExportWriter create(Path file) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        writeFully(channel, ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).put(FORMAT_VERSION).flip());
+        return new ColumnarExportWriter(file, temporary, channel);
+    }
+
+    synchronized void append(RowGroupEncoder.EncodedRowGroup group) throws IOException {
+        long offset = channel.position();
+        for (byte[] column : group.columns()) {
+            writeFully(channel, ByteBuffer.wrap(column));
+        }
+        VarInts.writeUnsigned(index, offset);
+        VarInts.writeUnsigned(index, group.rowCount());
+        VarInts.writeUnsigned(index, group.minWalletId());
+        VarInts.writeUnsigned(index, group.maxWalletId());
+        for (byte[] column : group.columns()) {
+            VarInts.writeUnsigned(index, column.length);
+        }
+        rowGroupCount++;
+        rowCount += group.rowCount();
+    }
+
+    public synchronized long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the footer, forces the file to disk and moves it to its final name. Returns the file size.
+     */
+    public synchronized long finish() throws IOException {
+        long footerOffset = channel.position();
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream counts = new DataOutputStream(header);
+        VarInts.writeUnsigned(counts, TransactionColumn.values().length);
+        VarInts.writeUnsigned(counts, rowGroupCount);
+        writeFully(channel, ByteBuffer.wrap(header.toByteArray()));
+        writeFully(channel, ByteBuffer.wrap(footer.toByteArray()));
+        writeFully(channel, ByteBuffer.allocate(TRAILER_BYTES).putLong(footerOffset).putInt(MAGIC).flip());
+        channel.force(true);
+        long size = channel.size();
+        channel.close();
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+        return size;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (!finished) {
+            channel.close();
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ingcase.digitalwallet.export;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties("app.export")
+public class ExportProperties {
+
+    private Path directory = Path.of("export");
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int rowGroupSize = 65_536;
+}
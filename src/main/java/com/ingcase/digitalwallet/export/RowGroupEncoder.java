@@ -0,0 +1,87 @@
+package com.ingcase.digitalwallet.export;
+
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+import com.ingcase.digitalwallet.utils.Timestamps;
+
+import java.io.IOException;
+
+/**
+ * Buffers up to {@code capacity} rows column by column and encodes them as one row group.
+ * Not thread-safe; every export worker owns one.
+ */
+final class RowGroupEncoder {
+
+    record EncodedRowGroup(int rowCount, long minWalletId, long maxWalletId, byte[][] columns) {
+    }
+
+    private final int capacity;
+    private final long[] ids;
+    private final long[] walletIds;
+    private final long[] amounts;
+    private final String[] types;
+    private final String[] statuses;
+    private final String[] oppositePartyTypes;
+    private final String[] oppositeParties;
+    private final long[] createDates;
+    private int size;
+
+    RowGroupEncoder(int capacity) {
+        this.capacity = capacity;
+        this.ids = new long[capacity];
+        this.walletIds = new long[capacity];
+        this.amounts = new long[capacity];
+        this.types = new String[capacity];
+        this.statuses = new String[capacity];
+        this.oppositePartyTypes = new String[capacity];
+        this.oppositeParties = new String[capacity];
+        this.createDates = new long[capacity];
+    }
+
+    /**
+     * Adds a row and returns whether the group is now full.
+     */
+    boolean add(ArchivedTransactionView row) {
+        ids[size] = row.id();
+        walletIds[size] = row.walletId();
+        amounts[size] = row.amount().getMinorUnits();
+        types[size] = row.type().name();
+        statuses[size] = row.status().name();
+        oppositePartyTypes[size] = row.oppositePartyType();
+        oppositeParties[size] = row.oppositeParty();
+        createDates[size] = Timestamps.toMicros(row.createDate());
+        size++;
+        return size == capacity;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Encodes the buffered rows and empties the buffer.
+     */
+    EncodedRowGroup encode() throws IOException {
+        long minWalletId = Long.MAX_VALUE;
+        long maxWalletId = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            minWalletId = Math.min(minWalletId, walletIds[i]);
+            maxWalletId = Math.max(maxWalletId, walletIds[i]);
+        }
+        byte[][] columns = new byte[TransactionColumn.values().length][];
+        for (TransactionColumn column : TransactionColumn.values()) {
+            columns[column.ordinal()] = switch (column) {
+                case ID -> ColumnCodec.encodeLongs(column, ids, size);
+                case WALLET_ID -> ColumnCodec.encodeLongs(column, walletIds, size);
+                case AMOUNT -> ColumnCodec.encodeLongs(column, amounts, size);
+                case TYPE -> ColumnCodec.encodeStrings(types, size);
+                case STATUS -> ColumnCodec.encodeStrings(statuses, size);
+                case OPPOSITE_PARTY_TYPE -> ColumnCodec.encodeStrings(oppositePartyTypes, size);
+                case OPPOSITE_PARTY -> ColumnCodec.encodeStrings(oppositeParties, size);
+                case CREATE_DATE -> ColumnCodec.encodeLongs(column, createDates, size);
+            };
+        }
+        EncodedRowGroup group = new EncodedRowGroup(size, minWalletId, maxWalletId, columns);
+        size = 0;
+        return group;
+    }
+}
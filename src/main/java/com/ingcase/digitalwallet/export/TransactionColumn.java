@@ -0,0 +1,28 @@
+package com.ingcase.digitalwallet.export;
+
+/**
+ * Columns of an export file, in the order they are stored inside each row group. Numeric columns read back
+ * as {@code long}s: ids, amounts in minor units and create dates in epoch microseconds. The others are
+ * dictionary-encoded strings.
+ */
+public enum TransactionColumn {
+
+    ID(true),
+    WALLET_ID(true),
+    AMOUNT(true),
+    TYPE(false),
+    STATUS(false),
+    OPPOSITE_PARTY_TYPE(false),
+    OPPOSITE_PARTY(false),
+    CREATE_DATE(true);
+
+    private final boolean numeric;
+
+    TransactionColumn(boolean numeric) {
+        this.numeric = numeric;
+    }
+
+    public boolean isNumeric() {
+        return numeric;
+    }
+}
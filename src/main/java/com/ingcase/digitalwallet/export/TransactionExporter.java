@@ -0,0 +1,168 @@
+package com.ingcase.digitalwallet.export;
+
+import com.ingcase.digitalwallet.archive.TieredRows;
+import com.ingcase.digitalwallet.archive.TransactionArchive;
+import com.ingcase.digitalwallet.model.dto.ExportResponse;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Exports the full transaction history, database and archive, into a {@link ColumnarExportWriter} file.
+ * Wallet ids are split into {@code app.export.parallelism} ranges of equal wallet count, and each range is
+ * streamed by its own worker in wallet and id order, merging in the archived rows of each wallet.
+ */
+@Slf4j
+@Component
+public class TransactionExporter {
+
+    private static final String SELECT_RANGE = """
+            SELECT id, wallet_id, amount, type, opposite_party_type, opposite_party, status, create_date
+            FROM transactions WHERE wallet_id BETWEEN ? AND ? ORDER BY wallet_id, id""";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS");
+
+    private static final RowMapper<ArchivedTransactionView> ROW_MAPPER = (rs, rowNum) -> new ArchivedTransactionView(
+            rs.getLong("id"),
+            rs.getLong("wallet_id"),
+            Money.of(rs.getBigDecimal("amount")),
+            Type.valueOf(rs.getString("type")),
+            rs.getString("opposite_party_type"),
+            rs.getString("opposite_party"),
+            Status.valueOf(rs.getString("status")),
+            rs.getTimestamp("create_date"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ShardFanOut shardFanOut;
+    private final TransactionArchive transactionArchive;
+    private final ExportProperties properties;
+
+    public TransactionExporter(DataSource dataSource, PlatformTransactionManager transactionManager, ShardFanOut shardFanOut,
+                               TransactionArchive transactionArchive, ExportProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1_000);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.shardFanOut = shardFanOut;
+        this.transactionArchive = transactionArchive;
+        this.properties = properties;
+    }
+
+    public ExportResponse export() {
+        long started = System.nanoTime();
+        List<Long> walletIds = new ArrayList<>(shardFanOut.collect(() -> jdbcTemplate.queryForList("SELECT id FROM wallets", Long.class)));
+        Collections.sort(walletIds);
+
+        Path file = properties.getDirectory()
+                .resolve("transactions-" + FILE_TIMESTAMP.format(ZonedDateTime.now(ZoneOffset.UTC)) + ".dwc");
+        long bytes;
+        long rows;
+        try {
+            Files.createDirectories(properties.getDirectory());
+            try (ColumnarExportWriter writer = ColumnarExportWriter.create(file)) {
+                exportRanges(walletIds, writer);
+                rows = writer.getRowCount();
+                bytes = writer.finish();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write transaction export", e);
+        }
+
+        long elapsedNanos = Math.max(System.nanoTime() - started, 1);
+        long rowsPerSecond = rows * 1_000_000_000L / elapsedNanos;
+        log.info("Exported {} transactions ({} bytes) to {} at {} rows/s", rows, bytes, file.toAbsolutePath(), rowsPerSecond);
+        return ExportResponse.builder()
+                .file(file.getFileName().toString())
+                .rows(rows)
+                .bytes(bytes)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+
+    private void exportRanges(List<Long> walletIds, ColumnarExportWriter writer) throws IOException {
+        if (walletIds.isEmpty()) {
+            return;
+        }
+        int ranges = Math.min(properties.getParallelism(), walletIds.size());
+        try (ExecutorService executor = Executors.newFixedThreadPool(ranges, Thread.ofPlatform().name("transaction-export-", 0).factory())) {
+            List<Future<?>> futures = new ArrayList<>(ranges);
+            for (int range = 0; range < ranges; range++) {
+                long from = walletIds.get(range * walletIds.size() / ranges);
+                long to = walletIds.get((range + 1) * walletIds.size() / ranges - 1);
+                futures.add(executor.submit(() -> shardFanOut.forEachShard(
+                        () -> readOnlyTransaction.executeWithoutResult(status -> exportRange(from, to, writer)))));
+            }
+            for (Future<?> future : futures) {
+                await(future);
+            }
+        }
+    }
+
+    private void exportRange(long fromWalletId, long toWalletId, ColumnarExportWriter writer) {
+        RowGroupEncoder encoder = new RowGroupEncoder(properties.getRowGroupSize());
+        Deque<Long> archivedWallets = new ArrayDeque<>(jdbcTemplate.queryForList(
+                        "SELECT id FROM wallets WHERE id BETWEEN ? AND ? ORDER BY id", Long.class, fromWalletId, toWalletId)
+                .stream()
+                .filter(transactionArchive::contains)
+                .toList());
+        TieredRows rows = new TieredRows(transactionArchive, archivedWallets, row -> emit(row, encoder, writer));
+
+        jdbcTemplate.query(SELECT_RANGE, (ResultSet rs) -> rows.hot(ROW_MAPPER.mapRow(rs, 0)), fromWalletId, toWalletId);
+        rows.finish();
+        if (!encoder.isEmpty()) {
+            flush(encoder, writer);
+        }
+    }
+
+    private static void emit(ArchivedTransactionView row, RowGroupEncoder encoder, ColumnarExportWriter writer) {
+        if (encoder.add(row)) {
+            flush(encoder, writer);
+        }
+    }
+
+    private static void flush(RowGroupEncoder encoder, ColumnarExportWriter writer) {
+        try {
+            writer.append(encoder.encode());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write transaction export", e);
+        }
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while exporting transactions", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Transaction export failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.ingcase.digitalwallet.holds;
+
+import com.ingcase.digitalwallet.events.WalletBalanceChangedEvent;
+import com.ingcase.digitalwallet.model.entity.Hold;
+import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.enums.HoldStatus;
+import com.ingcase.digitalwallet.model.money.BalanceDelta;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.HoldExpiryView;
+import com.ingcase.digitalwallet.repository.HoldRepository;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Releases holds whose timer fired, {@code app.holds.expiry-batch-size} at a time. A batch is expired on every
+ * shard in one transaction per shard, with a single balance update per wallet. Only holds that are still active
+ * and past their expiry are touched, so a shard simply ignores ids it does not own. A batch that fails is
+ * scheduled again for the next tick.
+ */
+@Slf4j
+@Component
+public class HoldExpiryJob {
+
+    private final HoldRepository holdRepository;
+    private final HoldTimers holdTimers;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardFanOut shardFanOut;
+    private final HoldProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter expired;
+    private volatile boolean started;
+
+    public HoldExpiryJob(HoldRepository holdRepository, HoldTimers holdTimers, TransactionTemplate transactionTemplate,
+                         ShardFanOut shardFanOut, HoldProperties properties, ApplicationEventPublisher eventPublisher,
+                         MeterRegistry registry) {
+        this.holdRepository = holdRepository;
+        this.holdTimers = holdTimers;
+        this.transactionTemplate = transactionTemplate;
+        this.shardFanOut = shardFanOut;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.expired = Counter.builder("holds.expired").register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadTimers() {
+        AtomicInteger loaded = new AtomicInteger();
+        shardFanOut.forEachShard(() -> {
+            long afterId = 0;
+            List<HoldExpiryView> page;
+            do {
+                long from = afterId;
+                page = transactionTemplate.execute(status ->
+                        holdRepository.findActiveAfter(from, PageRequest.ofSize(properties.getExpiryBatchSize())));
+                for (HoldExpiryView hold : page) {
+                    holdTimers.schedule(hold.id(), hold.expiresAt().getTime());
+                    afterId = hold.id();
+                }
+                loaded.addAndGet(page.size());
+            } while (page.size() == properties.getExpiryBatchSize());
+        });
+        started = true;
+        log.info("Loaded expiry timers of {} active holds", loaded.get());
+    }
+
+    @Scheduled(fixedDelayString = "${app.holds.tick:1s}")
+    public void expireDueHolds() {
+        if (started) {
+            expire(System.currentTimeMillis());
+        }
+    }
+
+    public synchronized int expire(long nowMillis) {
+        List<Long> due = holdTimers.advance(nowMillis);
+        Timestamp now = new Timestamp(nowMillis);
+        AtomicInteger count = new AtomicInteger();
+        for (int from = 0; from < due.size(); from += properties.getExpiryBatchSize()) {
+            List<Long> batch = due.subList(from, Math.min(from + properties.getExpiryBatchSize(), due.size()));
+            try {
+                shardFanOut.forEachShardWithoutMoves(() -> count.addAndGet(transactionTemplate.execute(status -> expireBatch(batch, now))));
+            } catch (RuntimeException e) {
+                log.warn("Could not expire {} holds, retrying on the next tick", batch.size(), e);
+                batch.forEach(holdId -> holdTimers.schedule(holdId, nowMillis));
+            }
+        }
+        expired.increment(count.get());
+        return count.get();
+    }
+
+    private int expireBatch(List<Long> holdIds, Timestamp now) {
+        List<Hold> holds = holdRepository.findExpiredForUpdate(holdIds, now);
+        Map<Wallet, BalanceDelta> deltas = new LinkedHashMap<>();
+        for (Hold hold : holds) {
+            hold.setStatus(HoldStatus.EXPIRED);
+            deltas.merge(hold.getWallet(), new BalanceDelta(Money.ZERO, hold.getAmount()), BalanceDelta::add);
+        }
+        deltas.forEach((wallet, delta) -> delta.applyTo(wallet));
+
+        for (Hold hold : holds) {
+            Wallet wallet = hold.getWallet();
+            eventPublisher.publishEvent(new WalletBalanceChangedEvent(wallet.getCustomer().getId(), wallet.getId(),
+                    wallet.getBalance(), wallet.getUsableBalance(), null, null, null, hold.getId(), hold.getStatus()));
+        }
+        return holds.size();
+    }
+}
@@ -0,0 +1,18 @@
+package com.ingcase.digitalwallet.holds;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.holds")
+public class HoldProperties {
+
+    private Duration defaultTtl = Duration.ofDays(7);
+    private Duration maxTtl = Duration.ofDays(30);
+    private Duration tick = Duration.ofSeconds(1);
+    private int wheelSize = 512;
+    private int wheelLevels = 4;
+    private int expiryBatchSize = 500;
+}
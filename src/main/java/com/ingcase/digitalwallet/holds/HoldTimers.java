@@ -0,0 +1,56 @@
+package com.ingcase.digitalwallet.holds;
+
+import com.ingcase.digitalwallet.utils.TimingWheel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Expiry timers of active holds, kept in a {@link TimingWheel} so placing a hold costs no database polling.
+ * Timers are not removed when a hold is captured or released, the expiry only touches holds that are still
+ * active.
+ */
+@Component
+public class HoldTimers {
+
+    private final TimingWheel<Long> wheel;
+
+    public HoldTimers(HoldProperties properties, MeterRegistry registry) {
+        this.wheel = new TimingWheel<>(properties.getTick().toMillis(), properties.getWheelSize(),
+                properties.getWheelLevels(), System.currentTimeMillis());
+        Gauge.builder("holds.timers.pending", wheel, TimingWheel::size).register(registry);
+    }
+
+    /**
+     * Starts the timer of a hold once the current transaction commits, so a rolled back hold never fires.
+     */
+    public void scheduleAfterCommit(Long holdId, Timestamp expiresAt) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wheel.schedule(holdId, expiresAt.getTime());
+                }
+            });
+        } else {
+            wheel.schedule(holdId, expiresAt.getTime());
+        }
+    }
+
+    public void schedule(Long holdId, long deadlineMillis) {
+        wheel.schedule(holdId, deadlineMillis);
+    }
+
+    public List<Long> advance(long nowMillis) {
+        return wheel.advance(nowMillis);
+    }
+
+    public int size() {
+        return wheel.size();
+    }
+}
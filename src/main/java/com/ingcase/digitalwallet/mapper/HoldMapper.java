@@ -0,0 +1,13 @@
+package com.ingcase.digitalwallet.mapper;
+
+import com.ingcase.digitalwallet.model.dto.HoldResponse;
+import com.ingcase.digitalwallet.model.entity.Hold;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface HoldMapper {
+
+    @Mapping(target = "walletId", source = "wallet.id")
+    HoldResponse toDto(Hold hold);
+}
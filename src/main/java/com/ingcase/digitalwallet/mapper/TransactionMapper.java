@@ -1,19 +1,34 @@
 package com.ingcase.digitalwallet.mapper;
 
+import com.ingcase.digitalwallet.model.dto.PendingTransactionResponse;
 import com.ingcase.digitalwallet.model.dto.TransactionResponse;
 import com.ingcase.digitalwallet.model.entity.Transaction;
+import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.projection.PendingTransactionView;
+import com.ingcase.digitalwallet.model.projection.TransactionView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.sql.Timestamp;
+
 @Mapper(componentModel = "spring")
 public interface TransactionMapper {
 
     TransactionResponse toDto(Transaction transaction);
 
+    TransactionResponse toDto(TransactionView transactionView);
+
+    PendingTransactionResponse toDto(PendingTransactionView pendingTransactionView);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createDate", ignore = true)
     @Mapping(target = "version", ignore = true)
-    Transaction toEntity(TransactionResponse transactionResponse);
-
+    @Mapping(target = "wallet", source = "wallet")
+    Transaction toEntity(TransactionResponse transactionResponse, Wallet wallet);
 
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "wallet", source = "wallet")
+    @Mapping(target = "createDate", source = "createDate")
+    Transaction toEntity(TransactionResponse transactionResponse, Wallet wallet, Timestamp createDate);
 }
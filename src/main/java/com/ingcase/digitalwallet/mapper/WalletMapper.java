@@ -2,10 +2,13 @@ package com.ingcase.digitalwallet.mapper;
 
 import com.ingcase.digitalwallet.model.dto.WalletResponse;
 import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.projection.WalletView;
 import org.mapstruct.Mapper;
 
 @Mapper(componentModel = "spring")
 public interface WalletMapper {
 
     WalletResponse toDto(Wallet wallet);
+
+    WalletResponse toDto(WalletView walletView);
 }
@@ -0,0 +1,22 @@
+package com.ingcase.digitalwallet.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Value;
+
+@Value
+public class CustomerCreateRequest {
+
+    @NotBlank(message = "{customer.name.not-blank}")
+    @Size(max = 32, message = "{customer.name.size}")
+    String name;
+
+    @NotBlank(message = "{customer.surname.not-blank}")
+    @Size(max = 32, message = "{customer.surname.size}")
+    String surname;
+
+    @NotBlank(message = "{customer.tckn.not-blank}")
+    @Pattern(regexp = "\\d{11}", message = "{customer.tckn.pattern}")
+    String tckn;
+}
@@ -0,0 +1,19 @@
+package com.ingcase.digitalwallet.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportResponse {
+
+    private String file;
+    private Long rows;
+    private Long bytes;
+    private Long elapsedMillis;
+    private Long rowsPerSecond;
+}
@@ -0,0 +1,30 @@
+package com.ingcase.digitalwallet.model.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+public class HoldRequest {
+
+    @NotNull(message = "{hold.amount.not-null}")
+    @DecimalMin(value = "0.0", inclusive = false, message = "{hold.amount.positive}")
+    @Digits(integer = 15, fraction = 2, message = "{hold.amount.digits}")
+    BigDecimal amount;
+
+    @NotNull(message = "{hold.walletId.not-null}")
+    @Positive(message = "{hold.walletId.positive}")
+    Long walletId;
+
+    @NotNull(message = "{hold.customerId.not-null}")
+    @Positive(message = "{hold.customerId.positive}")
+    Long customerId;
+
+    @NotBlank(message = "{hold.merchant.not-blank}")
+    @Size(max = 32, message = "{hold.merchant.size}")
+    String merchant;
+
+    @Positive(message = "{hold.ttlMinutes.positive}")
+    Long ttlMinutes;
+}
@@ -0,0 +1,27 @@
+package com.ingcase.digitalwallet.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.ingcase.digitalwallet.model.enums.HoldStatus;
+import com.ingcase.digitalwallet.model.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldResponse {
+
+    private Long id;
+    private Long walletId;
+    private Money amount;
+    private Money capturedAmount;
+    private String merchant;
+    private HoldStatus status;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private Timestamp expiresAt;
+}
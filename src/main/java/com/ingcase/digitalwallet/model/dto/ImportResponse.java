@@ -0,0 +1,21 @@
+package com.ingcase.digitalwallet.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResponse {
+
+    private Long rows;
+    private Long walletsCreated;
+    private Long customersCreated;
+    private Long rejected;
+    private String errorFile;
+    private Long elapsedMillis;
+    private Long rowsPerSecond;
+}
@@ -0,0 +1,28 @@
+package com.ingcase.digitalwallet.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.sql.Timestamp;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingTransactionResponse {
+
+    private Long id;
+    private Long walletId;
+    private Money amount;
+    private Type type;
+    private OppositePartyType oppositePartyType;
+    private String oppositeParty;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private Timestamp createDate;
+}
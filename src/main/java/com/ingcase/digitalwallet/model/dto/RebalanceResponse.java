@@ -0,0 +1,15 @@
+package com.ingcase.digitalwallet.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RebalanceResponse {
+
+    private Integer movedCustomers;
+}
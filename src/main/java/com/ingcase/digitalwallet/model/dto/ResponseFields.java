@@ -0,0 +1,27 @@
+package com.ingcase.digitalwallet.model.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+final class ResponseFields {
+
+    private ResponseFields() {
+    }
+
+    static void writeEnum(Enum<?> value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value.name());
+        }
+    }
+
+    static void writeBoolean(Boolean value, JsonGenerator gen) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(value);
+        }
+    }
+}
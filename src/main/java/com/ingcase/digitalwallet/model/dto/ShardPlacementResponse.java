@@ -0,0 +1,16 @@
+package com.ingcase.digitalwallet.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardPlacementResponse {
+
+    private Long customerId;
+    private Integer shard;
+}
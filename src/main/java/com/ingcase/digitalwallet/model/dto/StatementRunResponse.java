@@ -0,0 +1,23 @@
+package com.ingcase.digitalwallet.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatementRunResponse {
+
+    private Boolean running;
+    private String month;
+    private Instant startedAt;
+    private Long statements;
+    private Long elapsedMillis;
+    private Long statementsPerSecond;
+    private String error;
+}
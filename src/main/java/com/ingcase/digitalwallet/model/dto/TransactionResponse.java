@@ -1,25 +1,18 @@
 package com.ingcase.digitalwallet.model.dto;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.ingcase.digitalwallet.model.enums.OppositePartyType;
 import com.ingcase.digitalwallet.model.enums.Status;
 import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
 import lombok.Builder;
-import lombok.Data;
 
-import java.math.BigDecimal;
-
-@Data
 @Builder
-public class TransactionResponse {
-
-    private BigDecimal amount;
-    private Type type;
-    private OppositePartyType oppositePartyType;
-    private String oppositeParty;
-    private Status status;
-
-    @JsonIgnore
-    private Wallet wallet;
+@JsonSerialize(using = TransactionResponseSerializer.class)
+public record TransactionResponse(
+        Money amount,
+        Type type,
+        OppositePartyType oppositePartyType,
+        String oppositeParty,
+        Status status) {
 }
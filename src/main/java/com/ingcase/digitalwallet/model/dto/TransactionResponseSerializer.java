@@ -0,0 +1,43 @@
+package com.ingcase.digitalwallet.model.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.ingcase.digitalwallet.model.money.MoneySerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link TransactionResponse} field by field with pre-encoded field names, the same JSON the
+ * reflective bean serializer produced.
+ */
+public class TransactionResponseSerializer extends StdSerializer<TransactionResponse> {
+
+    private static final SerializableString AMOUNT = new SerializedString("amount");
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString OPPOSITE_PARTY_TYPE = new SerializedString("oppositePartyType");
+    private static final SerializableString OPPOSITE_PARTY = new SerializedString("oppositeParty");
+    private static final SerializableString STATUS = new SerializedString("status");
+
+    public TransactionResponseSerializer() {
+        super(TransactionResponse.class);
+    }
+
+    @Override
+    public void serialize(TransactionResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(AMOUNT);
+        MoneySerializer.write(value.amount(), gen, provider);
+        gen.writeFieldName(TYPE);
+        ResponseFields.writeEnum(value.type(), gen);
+        gen.writeFieldName(OPPOSITE_PARTY_TYPE);
+        ResponseFields.writeEnum(value.oppositePartyType(), gen);
+        gen.writeFieldName(OPPOSITE_PARTY);
+        gen.writeString(value.oppositeParty());
+        gen.writeFieldName(STATUS);
+        ResponseFields.writeEnum(value.status(), gen);
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,27 @@
+package com.ingcase.digitalwallet.model.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+@Value
+public class TransferRequest {
+
+    @NotNull(message = "{transfer.amount.not-null}")
+    @DecimalMin(value = "0.0", inclusive = false, message = "{transfer.amount.positive}")
+    @Digits(integer = 15, fraction = 2, message = "{transfer.amount.digits}")
+    BigDecimal amount;
+
+    @NotNull(message = "{transfer.customerId.not-null}")
+    @Positive(message = "{transfer.customerId.positive}")
+    Long customerId;
+
+    @NotNull(message = "{transfer.fromWalletId.not-null}")
+    @Positive(message = "{transfer.fromWalletId.positive}")
+    Long fromWalletId;
+
+    @NotNull(message = "{transfer.toWalletId.not-null}")
+    @Positive(message = "{transfer.toWalletId.positive}")
+    Long toWalletId;
+}
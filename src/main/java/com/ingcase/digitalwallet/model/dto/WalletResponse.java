@@ -2,29 +2,22 @@ package com.ingcase.digitalwallet.model.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.ingcase.digitalwallet.model.enums.Currency;
-import lombok.AllArgsConstructor;
+import com.ingcase.digitalwallet.model.money.Money;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.sql.Timestamp;
 
-@Data
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class WalletResponse {
-
-    @JsonIgnore
-    private Long id;
-    private String walletName;
-    private Currency currency;
-    private Boolean activeForShopping;
-    private Boolean activeForWithdraw;
-    private BigDecimal balance;
-    private BigDecimal usableBalance;
-    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
-    private Timestamp createDate;
+@JsonSerialize(using = WalletResponseSerializer.class)
+public record WalletResponse(
+        @JsonIgnore Long id,
+        String walletName,
+        Currency currency,
+        Boolean activeForShopping,
+        Boolean activeForWithdraw,
+        Money balance,
+        Money usableBalance,
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss") Timestamp createDate) {
 }
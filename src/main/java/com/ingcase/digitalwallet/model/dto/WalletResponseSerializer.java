@@ -0,0 +1,50 @@
+package com.ingcase.digitalwallet.model.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.ingcase.digitalwallet.model.money.MoneySerializer;
+import com.ingcase.digitalwallet.utils.Timestamps;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link WalletResponse} field by field with pre-encoded field names. The id stays internal, and the
+ * create date is written as {@code yyyy-MM-dd HH:mm:ss} in UTC through {@link Timestamps#formatSeconds}.
+ */
+public class WalletResponseSerializer extends StdSerializer<WalletResponse> {
+
+    private static final SerializableString WALLET_NAME = new SerializedString("walletName");
+    private static final SerializableString CURRENCY = new SerializedString("currency");
+    private static final SerializableString ACTIVE_FOR_SHOPPING = new SerializedString("activeForShopping");
+    private static final SerializableString ACTIVE_FOR_WITHDRAW = new SerializedString("activeForWithdraw");
+    private static final SerializableString BALANCE = new SerializedString("balance");
+    private static final SerializableString USABLE_BALANCE = new SerializedString("usableBalance");
+    private static final SerializableString CREATE_DATE = new SerializedString("createDate");
+
+    public WalletResponseSerializer() {
+        super(WalletResponse.class);
+    }
+
+    @Override
+    public void serialize(WalletResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(WALLET_NAME);
+        gen.writeString(value.walletName());
+        gen.writeFieldName(CURRENCY);
+        ResponseFields.writeEnum(value.currency(), gen);
+        gen.writeFieldName(ACTIVE_FOR_SHOPPING);
+        ResponseFields.writeBoolean(value.activeForShopping(), gen);
+        gen.writeFieldName(ACTIVE_FOR_WITHDRAW);
+        ResponseFields.writeBoolean(value.activeForWithdraw(), gen);
+        gen.writeFieldName(BALANCE);
+        MoneySerializer.write(value.balance(), gen, provider);
+        gen.writeFieldName(USABLE_BALANCE);
+        MoneySerializer.write(value.usableBalance(), gen, provider);
+        gen.writeFieldName(CREATE_DATE);
+        gen.writeString(value.createDate() == null ? null : Timestamps.formatSeconds(value.createDate()));
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,44 @@
+package com.ingcase.digitalwallet.model.entity;
+
+import com.ingcase.digitalwallet.model.enums.HoldStatus;
+import com.ingcase.digitalwallet.model.money.Money;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "holds")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Builder
+public class Hold {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Money amount;
+    private Money capturedAmount;
+    private String merchant;
+
+    @Enumerated(EnumType.STRING)
+    private HoldStatus status;
+    private Timestamp createDate;
+    private Timestamp expiresAt;
+
+    @PrePersist
+    public void setCreateDate() {
+        this.createDate = Timestamp.from(Instant.now());
+    }
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "wallet_id",referencedColumnName = "id")
+    private Wallet wallet;
+
+    @Version
+    private int version;
+}
@@ -0,0 +1,35 @@
+package com.ingcase.digitalwallet.model.entity;
+
+import com.ingcase.digitalwallet.model.enums.OutboxEventType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "outbox_events")
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxEventType eventType;
+    private String payload;
+    private Timestamp createdAt;
+    private Timestamp processedAt;
+
+    @PrePersist
+    public void setCreatedAt() {
+        this.createdAt = Timestamp.from(Instant.now());
+    }
+}
@@ -2,10 +2,10 @@ package com.ingcase.digitalwallet.model.entity;
 
 import com.ingcase.digitalwallet.model.enums.Status;
 import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.Instant;
 
@@ -22,7 +22,7 @@ public class Transaction {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private BigDecimal amount;
+    private Money amount;
 
     @Enumerated(EnumType.STRING)
     private Type type;
@@ -35,7 +35,10 @@ public class Transaction {
 
     @PrePersist
     public void setCreateDate() {
-        this.createDate = Timestamp.from(Instant.now());
+        // a withdraw is created at the instant its velocity reservation was counted at
+        if (this.createDate == null) {
+            this.createDate = Timestamp.from(Instant.now());
+        }
     }
 
     @ManyToOne(fetch = FetchType.LAZY)
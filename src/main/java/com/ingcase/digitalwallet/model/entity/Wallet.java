@@ -1,14 +1,12 @@
 package com.ingcase.digitalwallet.model.entity;
 
 import com.ingcase.digitalwallet.model.enums.Currency;
+import com.ingcase.digitalwallet.model.money.Money;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
 
 @Getter
 @Setter
@@ -29,8 +27,8 @@ public class Wallet {
     private Currency currency;
     private Boolean activeForShopping;
     private Boolean activeForWithdraw;
-    private BigDecimal balance;
-    private BigDecimal usableBalance;
+    private Money balance;
+    private Money usableBalance;
     private Timestamp createDate;
 
     @PrePersist
@@ -42,9 +40,6 @@ public class Wallet {
     @JoinColumn(name = "customer_id",referencedColumnName = "id")
     private Customer customer;
 
-    @OneToMany(mappedBy = "wallet",cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    private List<Transaction> transactions = new ArrayList<>();
-
     @Version
     private int version;
 }
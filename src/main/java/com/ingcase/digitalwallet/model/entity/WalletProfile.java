@@ -0,0 +1,37 @@
+package com.ingcase.digitalwallet.model.entity;
+
+import com.ingcase.digitalwallet.model.enums.Currency;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+import java.sql.Timestamp;
+
+/**
+ * Read-only view of the {@code wallets} columns that never change after a wallet is created. It is cached,
+ * unlike {@link Wallet}, whose balances must always be read from the database.
+ */
+@Getter
+@Entity
+@Immutable
+@Table(name = "wallets")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+@NoArgsConstructor
+@EqualsAndHashCode(of = "id")
+public class WalletProfile {
+    @Id
+    private Long id;
+
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    private String walletName;
+
+    @Enumerated(EnumType.STRING)
+    private Currency currency;
+    private Boolean activeForShopping;
+    private Boolean activeForWithdraw;
+    private Timestamp createDate;
+}
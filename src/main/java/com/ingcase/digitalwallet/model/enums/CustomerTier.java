@@ -0,0 +1,7 @@
+package com.ingcase.digitalwallet.model.enums;
+
+public enum CustomerTier {
+    STANDARD,
+    GOLD,
+    PLATINUM
+}
@@ -0,0 +1,8 @@
+package com.ingcase.digitalwallet.model.enums;
+
+public enum HoldStatus {
+    ACTIVE,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
@@ -2,5 +2,6 @@ package com.ingcase.digitalwallet.model.enums;
 
 public enum OppositePartyType {
     IBAN,
-    PAYMENT
+    PAYMENT,
+    WALLET
 }
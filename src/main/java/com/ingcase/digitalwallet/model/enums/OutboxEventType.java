@@ -0,0 +1,7 @@
+package com.ingcase.digitalwallet.model.enums;
+
+public enum OutboxEventType {
+    TRANSACTION_CREATED,
+    TRANSACTION_APPROVED,
+    TRANSACTION_DENIED
+}
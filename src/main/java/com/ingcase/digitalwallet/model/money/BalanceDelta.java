@@ -0,0 +1,55 @@
+package com.ingcase.digitalwallet.model.money;
+
+import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+
+/**
+ * Change to a wallet's balance and usable balance. Deltas of several transactions on one wallet can be summed
+ * and applied with a single wallet update.
+ */
+public record BalanceDelta(Money balance, Money usableBalance) {
+
+    public static final BalanceDelta NONE = new BalanceDelta(Money.ZERO, Money.ZERO);
+
+    /**
+     * Total effect of a transaction on its wallet since it was created. A pending deposit only counts towards
+     * the balance and a pending withdraw only towards the usable balance, and a denied one has no effect.
+     */
+    public static BalanceDelta ofTransaction(Type type, Status status, Money amount) {
+        if (status == Status.DENIED) {
+            return NONE;
+        }
+        boolean approved = status == Status.APPROVED;
+        return type == Type.DEPOSIT
+                ? new BalanceDelta(amount, approved ? amount : Money.ZERO)
+                : new BalanceDelta(approved ? amount.negate() : Money.ZERO, amount.negate());
+    }
+
+    /**
+     * Delta of settling a pending transaction. A pending withdraw has already been taken from the usable balance
+     * and a pending deposit has already been added to the balance, so settling only moves the other side.
+     */
+    public static BalanceDelta ofSettlement(Type type, Status status, Money amount) {
+        if (status == Status.APPROVED) {
+            return type == Type.WITHDRAW
+                    ? new BalanceDelta(amount.negate(), Money.ZERO)
+                    : new BalanceDelta(Money.ZERO, amount);
+        }
+        if (status == Status.DENIED) {
+            return type == Type.WITHDRAW
+                    ? new BalanceDelta(Money.ZERO, amount)
+                    : new BalanceDelta(amount.negate(), Money.ZERO);
+        }
+        return NONE;
+    }
+
+    public BalanceDelta add(BalanceDelta other) {
+        return new BalanceDelta(balance.add(other.balance), usableBalance.add(other.usableBalance));
+    }
+
+    public void applyTo(Wallet wallet) {
+        wallet.setBalance(wallet.getBalance().add(balance));
+        wallet.setUsableBalance(wallet.getUsableBalance().add(usableBalance));
+    }
+}
@@ -0,0 +1,23 @@
+package com.ingcase.digitalwallet.model.money;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+public class MoneyDeserializer extends StdDeserializer<Money> {
+
+    public MoneyDeserializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        try {
+            return Money.of(parser.getDecimalValue());
+        } catch (IllegalArgumentException ex) {
+            return (Money) context.handleWeirdNumberValue(Money.class, parser.getNumberValue(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ingcase.digitalwallet.model.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Money} as a plain JSON number with exactly two fraction digits, without allocating a
+ * {@code BigDecimal} per value. Balances read from the database had that shape already; amounts echoed from a
+ * request no longer keep the request's scale, so {@code 2000} is written as {@code 2000.00}.
+ */
+public class MoneySerializer extends StdSerializer<Money> {
+
+    public MoneySerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        write(value, gen, provider);
+    }
+
+    /**
+     * Writes a possibly null amount, for serializers that write their fields directly.
+     */
+    public static void write(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (value == null) {
+            gen.writeNull();
+        } else if (gen.canWriteFormattedNumbers()) {
+            gen.writeNumber(value.toString());
+        } else {
+            gen.writeNumber(value.toBigDecimal());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.ingcase.digitalwallet.model.projection;
+
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+
+import java.sql.Timestamp;
+
+/**
+ * Complete settled transaction row as selected by the archiver and stored in archive segments.
+ */
+public record ArchivedTransactionView(Long id,
+                                      Long walletId,
+                                      Money amount,
+                                      Type type,
+                                      String oppositePartyType,
+                                      String oppositeParty,
+                                      Status status,
+                                      Timestamp createDate) {
+}
@@ -0,0 +1,9 @@
+package com.ingcase.digitalwallet.model.projection;
+
+import java.sql.Timestamp;
+
+/**
+ * Active hold as loaded into the expiry timers at startup.
+ */
+public record HoldExpiryView(Long id, Timestamp expiresAt) {
+}
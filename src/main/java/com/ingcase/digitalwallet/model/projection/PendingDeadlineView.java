@@ -0,0 +1,9 @@
+package com.ingcase.digitalwallet.model.projection;
+
+import java.sql.Timestamp;
+
+/**
+ * Pending transaction as loaded into the expiry timers at startup.
+ */
+public record PendingDeadlineView(Long id, Timestamp createDate) {
+}
@@ -0,0 +1,19 @@
+package com.ingcase.digitalwallet.model.projection;
+
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+
+import java.sql.Timestamp;
+
+/**
+ * Row of the admin approval queue. Carries the id and wallet the admin acts on, and the create date
+ * the queue is ordered by when rows from several shards are merged.
+ */
+public record PendingTransactionView(Long id,
+                                     Long walletId,
+                                     Money amount,
+                                     Type type,
+                                     String oppositePartyType,
+                                     String oppositeParty,
+                                     Timestamp createDate) {
+}
@@ -0,0 +1,17 @@
+package com.ingcase.digitalwallet.model.projection;
+
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+
+/**
+ * Read-only row of the {@code transactions} table selected with a JPQL constructor expression,
+ * so transaction history never hydrates managed {@code Transaction} entities or their wallet proxies.
+ */
+public record TransactionView(Long id,
+                              Money amount,
+                              Type type,
+                              String oppositePartyType,
+                              String oppositeParty,
+                              Status status) {
+}
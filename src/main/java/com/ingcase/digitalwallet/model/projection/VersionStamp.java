@@ -0,0 +1,8 @@
+package com.ingcase.digitalwallet.model.projection;
+
+/**
+ * Cheap fingerprint of a list response: a version that grows with every wallet update and the latest row id.
+ * Either is null when the list is empty.
+ */
+public record VersionStamp(Long version, Long latestId) {
+}
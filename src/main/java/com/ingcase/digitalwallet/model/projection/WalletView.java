@@ -0,0 +1,20 @@
+package com.ingcase.digitalwallet.model.projection;
+
+import com.ingcase.digitalwallet.model.enums.Currency;
+import com.ingcase.digitalwallet.model.money.Money;
+
+import java.sql.Timestamp;
+
+/**
+ * Read-only row of the {@code wallets} table selected with a JPQL constructor expression,
+ * so listing wallets never hydrates managed {@code Wallet} entities.
+ */
+public record WalletView(Long id,
+                         String walletName,
+                         Currency currency,
+                         Boolean activeForShopping,
+                         Boolean activeForWithdraw,
+                         Money balance,
+                         Money usableBalance,
+                         Timestamp createDate) {
+}
@@ -0,0 +1,15 @@
+package com.ingcase.digitalwallet.model.projection;
+
+import com.ingcase.digitalwallet.model.money.Money;
+
+import java.sql.Timestamp;
+
+/**
+ * Recent withdrawal replayed into the velocity limits at startup.
+ */
+public record WithdrawalView(Long walletId,
+                             Long customerId,
+                             String oppositePartyType,
+                             Money amount,
+                             Timestamp createDate) {
+}
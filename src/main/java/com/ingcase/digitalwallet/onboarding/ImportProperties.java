@@ -0,0 +1,14 @@
+package com.ingcase.digitalwallet.onboarding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties("app.import")
+public class ImportProperties {
+
+    private Path directory = Path.of("import");
+    private int chunkSize = 1_000;
+}
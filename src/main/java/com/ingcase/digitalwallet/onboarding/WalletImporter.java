@@ -0,0 +1,326 @@
+package com.ingcase.digitalwallet.onboarding;
+
+import com.ingcase.digitalwallet.model.dto.CustomerCreateRequest;
+import com.ingcase.digitalwallet.model.dto.ImportResponse;
+import com.ingcase.digitalwallet.model.dto.WalletCreateRequest;
+import com.ingcase.digitalwallet.model.enums.Currency;
+import com.ingcase.digitalwallet.model.enums.CustomerTier;
+import com.ingcase.digitalwallet.model.enums.Role;
+import com.ingcase.digitalwallet.sharding.ShardContext;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import com.ingcase.digitalwallet.sharding.ShardRebalancer;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Creates customers and wallets from CSV, one wallet per line:
+ * <pre>
+ * tckn,name,surname,wallet_name,currency,active_for_shopping,active_for_withdraw
+ * </pre>
+ * The input is streamed line by line and valid rows are written in chunks of {@code app.import.chunk-size}, each
+ * in its own transaction with one batch insert for the new customers and one for the wallets, so memory is
+ * bounded by one chunk. Customers are matched by tckn; unknown ones are created. Rows failing the
+ * {@link CustomerCreateRequest} or {@link WalletCreateRequest} constraints are written with their line number
+ * and the reason to an error file under {@code app.import.directory}. A failing chunk stops the import, and the
+ * chunks before it stay committed.
+ * <p>
+ * With sharding the rows are written to shard 0 and the customers this run created are moved to their ring shard
+ * at the end, like the seed data at startup, also when a chunk failed. Wallets of existing customers living on
+ * another shard are rejected.
+ */
+@Slf4j
+@Component
+public class WalletImporter {
+
+    public static final String HEADER = "tckn,name,surname,wallet_name,currency,active_for_shopping,active_for_withdraw";
+
+    private static final String INSERT_CUSTOMER = "INSERT INTO customers (name, surname, tckn, role, tier) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_WALLET = """
+            INSERT INTO wallets (wallet_name, currency, active_for_shopping, active_for_withdraw, balance, usable_balance,
+                                 customer_id, create_date, version)
+            VALUES (?, ?, ?, ?, 0, 0, ?, ?, 0)""";
+    private static final String SELECT_CUSTOMERS = "SELECT id, tckn FROM customers WHERE tckn IN (:tckns)";
+    private static final List<String> WALLET_PROPERTIES = List.of("walletName", "currency", "activeForShopping", "activeForWithdraw");
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardFanOut shardFanOut;
+    private final ObjectProvider<ShardRebalancer> shardRebalancer;
+    private final EntityManagerFactory entityManagerFactory;
+    private final Validator validator;
+    private final ImportProperties properties;
+
+    public WalletImporter(DataSource dataSource, PlatformTransactionManager transactionManager, ShardFanOut shardFanOut,
+                          ObjectProvider<ShardRebalancer> shardRebalancer, EntityManagerFactory entityManagerFactory,
+                          Validator validator, ImportProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardFanOut = shardFanOut;
+        this.shardRebalancer = shardRebalancer;
+        this.entityManagerFactory = entityManagerFactory;
+        this.validator = validator;
+        this.properties = properties;
+    }
+
+    public ImportResponse importWallets(InputStream input) {
+        long started = System.nanoTime();
+        Path errorFile = properties.getDirectory()
+                .resolve("import-" + FILE_TIMESTAMP.format(ZonedDateTime.now(ZoneOffset.UTC)) + "-errors.csv");
+        Run run = new Run(errorFile);
+        try (run; BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null || !HEADER.equalsIgnoreCase(header.strip())) {
+                throw new IllegalArgumentException("Import must start with the header " + HEADER);
+            }
+            List<ImportRow> chunk = new ArrayList<>(properties.getChunkSize());
+            long lineNumber = 1;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                run.rows++;
+                ImportRow row = parse(lineNumber, line, run);
+                if (row == null) {
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == properties.getChunkSize()) {
+                    writeChunk(chunk, run);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, run);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not import wallets", e);
+        } finally {
+            shardRebalancer.ifAvailable(rebalancer -> rebalancer.placeNewCustomers(0, run.createdCustomerIds));
+        }
+
+        long elapsedNanos = Math.max(System.nanoTime() - started, 1);
+        long rowsPerSecond = run.rows * 1_000_000_000L / elapsedNanos;
+        log.info("Imported {} wallets and {} customers from {} rows at {} rows/s, {} rejected", run.walletsCreated,
+                run.customersCreated, run.rows, rowsPerSecond, run.rejected);
+        return ImportResponse.builder()
+                .rows(run.rows)
+                .walletsCreated(run.walletsCreated)
+                .customersCreated(run.customersCreated)
+                .rejected(run.rejected)
+                .errorFile(run.errors == null ? null : errorFile.getFileName().toString())
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+
+    private ImportRow parse(long lineNumber, String line, Run run) throws IOException {
+        List<String> columns = split(line);
+        if (columns.size() != 7) {
+            run.reject(lineNumber, line, "expected 7 columns but found " + columns.size());
+            return null;
+        }
+        Currency currency;
+        Boolean activeForShopping;
+        Boolean activeForWithdraw;
+        try {
+            currency = columns.get(4).isBlank() ? null : Currency.valueOf(columns.get(4).strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            run.reject(lineNumber, line, "unknown currency " + columns.get(4));
+            return null;
+        }
+        try {
+            activeForShopping = parseBoolean(columns.get(5));
+            activeForWithdraw = parseBoolean(columns.get(6));
+        } catch (IllegalArgumentException e) {
+            run.reject(lineNumber, line, e.getMessage());
+            return null;
+        }
+
+        CustomerCreateRequest customer = new CustomerCreateRequest(columns.get(1), columns.get(2), columns.get(0).strip());
+        WalletCreateRequest wallet = new WalletCreateRequest(columns.get(3), currency, activeForShopping, activeForWithdraw, null);
+        // the customer id is only known once the customer is written
+        String violations = Stream.concat(
+                        validator.validate(customer).stream(),
+                        WALLET_PROPERTIES.stream().flatMap(property -> validator.validateProperty(wallet, property).stream()))
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining("; "));
+        if (!violations.isEmpty()) {
+            run.reject(lineNumber, line, violations);
+            return null;
+        }
+        return new ImportRow(lineNumber, line, customer, wallet);
+    }
+
+    private void writeChunk(List<ImportRow> chunk, Run run) throws IOException {
+        Set<String> tckns = chunk.stream().map(row -> row.customer().getTckn()).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<String, ExistingCustomer> existing = new HashMap<>();
+        shardFanOut.collect(() -> {
+            Integer shard = ShardContext.current();
+            return namedJdbcTemplate.query(SELECT_CUSTOMERS, Map.of("tckns", tckns),
+                    (rs, rowNum) -> new ExistingCustomer(rs.getLong("id"), rs.getString("tckn"), shard == null ? 0 : shard));
+        }).forEach(customer -> existing.put(customer.tckn(), customer));
+
+        List<ImportRow> rows = new ArrayList<>(chunk.size());
+        Map<String, CustomerCreateRequest> newCustomers = new LinkedHashMap<>();
+        for (ImportRow row : chunk) {
+            ExistingCustomer customer = existing.get(row.customer().getTckn());
+            if (customer != null && customer.shard() != 0) {
+                run.reject(row.lineNumber(), row.line(), "customer lives on shard " + customer.shard());
+                continue;
+            }
+            if (customer == null) {
+                newCustomers.putIfAbsent(row.customer().getTckn(), row.customer());
+            }
+            rows.add(row);
+        }
+
+        List<Long> created = new ArrayList<>(newCustomers.size());
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, Long> customerIds = new HashMap<>();
+            existing.values().forEach(customer -> customerIds.put(customer.tckn(), customer.id()));
+            if (!newCustomers.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_CUSTOMER, newCustomers.values(), newCustomers.size(), (ps, customer) -> {
+                    ps.setString(1, customer.getName());
+                    ps.setString(2, customer.getSurname());
+                    ps.setString(3, customer.getTckn());
+                    ps.setString(4, Role.CUSTOMER.name());
+                    ps.setString(5, CustomerTier.STANDARD.name());
+                });
+                namedJdbcTemplate.query(SELECT_CUSTOMERS, Map.of("tckns", newCustomers.keySet()),
+                        (rs, rowNum) -> customerIds.put(rs.getString("tckn"), rs.getLong("id")));
+                newCustomers.keySet().forEach(tckn -> created.add(customerIds.get(tckn)));
+            }
+            if (rows.isEmpty()) {
+                return;
+            }
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            jdbcTemplate.batchUpdate(INSERT_WALLET, rows, rows.size(), (ps, row) -> {
+                WalletCreateRequest wallet = row.wallet();
+                ps.setString(1, wallet.getWalletName());
+                ps.setString(2, wallet.getCurrency().name());
+                ps.setBoolean(3, wallet.getActiveForShopping());
+                ps.setBoolean(4, wallet.getActiveForWithdraw());
+                ps.setLong(5, customerIds.get(row.customer().getTckn()));
+                ps.setTimestamp(6, now);
+            });
+        });
+        // cached customer wallet lists do not see rows written past Hibernate
+        entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions();
+        run.createdCustomerIds.addAll(created);
+        run.customersCreated += newCustomers.size();
+        run.walletsCreated += rows.size();
+    }
+
+    private static Boolean parseBoolean(String value) {
+        String trimmed = value.strip();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        if (trimmed.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (trimmed.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("not a boolean: " + value);
+    }
+
+    /**
+     * Splits one CSV line; fields may be quoted with {@code "}, and {@code ""} inside quotes is a literal quote.
+     */
+    static List<String> split(String line) {
+        List<String> columns = new ArrayList<>(7);
+        StringBuilder column = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    column.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    column.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columns.add(column.toString());
+        return columns;
+    }
+
+    private record ImportRow(long lineNumber, String line, CustomerCreateRequest customer, WalletCreateRequest wallet) {
+    }
+
+    private record ExistingCustomer(long id, String tckn, int shard) {
+    }
+
+    private final class Run implements Closeable {
+
+        private final Path errorFile;
+        private final List<Long> createdCustomerIds = new ArrayList<>();
+        private Writer errors;
+        private long rows;
+        private long walletsCreated;
+        private long customersCreated;
+        private long rejected;
+
+        private Run(Path errorFile) {
+            this.errorFile = errorFile;
+        }
+
+        void reject(long lineNumber, String line, String reason) throws IOException {
+            if (errors == null) {
+                Files.createDirectories(properties.getDirectory());
+                errors = Files.newBufferedWriter(errorFile);
+                errors.write("line,error,row\n");
+            }
+            errors.write(lineNumber + "," + quote(reason) + "," + quote(line) + "\n");
+            rejected++;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (errors != null) {
+                errors.close();
+            }
+        }
+
+        private static String quote(String value) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ingcase.digitalwallet.outbox;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Default sink: hands every message to each registered {@link OutboxListener}.
+ */
+@RequiredArgsConstructor
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final List<OutboxListener> listeners;
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            for (OutboxListener listener : listeners) {
+                listener.onMessage(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ingcase.digitalwallet.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local stand-in for the notification and accounting consumers.
+ */
+@Slf4j
+@Component
+public class LoggingOutboxListener implements OutboxListener {
+
+    @Override
+    public void onMessage(OutboxMessage message) {
+        log.debug("Outbox message {} {} for transaction {}: {}", message.id(), message.type(), message.aggregateId(),
+                message.payload());
+    }
+}
@@ -0,0 +1,9 @@
+package com.ingcase.digitalwallet.outbox;
+
+/**
+ * In-process consumer of outbox messages, called by {@link InProcessOutboxSink}.
+ */
+public interface OutboxListener {
+
+    void onMessage(OutboxMessage message);
+}
@@ -0,0 +1,12 @@
+package com.ingcase.digitalwallet.outbox;
+
+import com.ingcase.digitalwallet.model.enums.OutboxEventType;
+
+import java.sql.Timestamp;
+
+/**
+ * An outbox row as handed to sinks. {@code payload} is the JSON form of a {@link TransactionEventPayload}.
+ * Delivery is at least once, so consumers should skip message ids they have already handled.
+ */
+public record OutboxMessage(Long id, OutboxEventType type, Long aggregateId, String payload, Timestamp createdAt) {
+}
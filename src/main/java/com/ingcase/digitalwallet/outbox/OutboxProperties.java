@@ -0,0 +1,17 @@
+package com.ingcase.digitalwallet.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties("app.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;
+    private int batchSize = 500;
+    private int parallelism = 4;
+    private Duration pollInterval = Duration.ofMillis(500);
+    private Duration retention = Duration.ofDays(1);
+}
@@ -0,0 +1,163 @@
+package com.ingcase.digitalwallet.outbox;
+
+import com.ingcase.digitalwallet.model.entity.OutboxEvent;
+import com.ingcase.digitalwallet.repository.OutboxEventRepository;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Polls {@code outbox_events} and hands pending rows to the {@link OutboxSink} in batches of
+ * {@code app.outbox.batch-size}. A batch is split by aggregate into {@code app.outbox.parallelism} partitions
+ * that are published concurrently, so events of one transaction keep their order. The rows of all partitions
+ * that were published are then marked processed with a single update. Rows of a failed partition stay pending
+ * and are published again on the next poll, so delivery is at least once.
+ */
+@Slf4j
+public class OutboxRelay implements DisposableBean {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardFanOut shardFanOut;
+    private final OutboxProperties properties;
+    private final ExecutorService executor;
+    private final Timer deliveryLag;
+    private final Counter dispatched;
+    private final Counter failures;
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxSink sink, TransactionTemplate transactionTemplate,
+                       ShardFanOut shardFanOut, OutboxProperties properties, MeterRegistry registry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.shardFanOut = shardFanOut;
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(properties.getParallelism(),
+                Thread.ofPlatform().name("outbox-relay-", 0).daemon().factory());
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+                .description("Time from writing an outbox event to publishing it")
+                .register(registry);
+        this.dispatched = Counter.builder("outbox.dispatched").register(registry);
+        this.failures = Counter.builder("outbox.dispatch.failures").register(registry);
+        Gauge.builder("outbox.oldest.pending.age", this, OutboxRelay::getOldestPendingAgeSeconds)
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:500ms}")
+    public synchronized int relay() {
+        AtomicInteger published = new AtomicInteger();
+        AtomicLong oldestPending = new AtomicLong(Long.MAX_VALUE);
+        shardFanOut.forEachShard(() -> {
+            int batch;
+            do {
+                List<OutboxEvent> pending = transactionTemplate.execute(status ->
+                        outboxEventRepository.findPending(PageRequest.ofSize(properties.getBatchSize())));
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending.size();
+                List<Long> done = dispatch(pending);
+                published.addAndGet(done.size());
+                if (done.size() < batch) {
+                    oldestPending.accumulateAndGet(pending.get(0).getCreatedAt().getTime(), Math::min);
+                    return;
+                }
+            } while (batch == properties.getBatchSize());
+        });
+        oldestPendingMillis.set(oldestPending.get() == Long.MAX_VALUE ? 0 : oldestPending.get());
+        return published.get();
+    }
+
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 0 * * * *}")
+    public void deleteProcessedEvents() {
+        Timestamp cutoff = Timestamp.from(Instant.now().minus(properties.getRetention()));
+        AtomicInteger deleted = new AtomicInteger();
+        shardFanOut.forEachShard(() ->
+                deleted.addAndGet(transactionTemplate.execute(status -> outboxEventRepository.deleteProcessedBefore(cutoff))));
+        log.info("Deleted {} processed outbox events", deleted.get());
+    }
+
+    public double getOldestPendingAgeSeconds() {
+        long oldest = oldestPendingMillis.get();
+        return oldest == 0 ? 0 : Math.max(0, System.currentTimeMillis() - oldest) / 1000.0;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private List<Long> dispatch(List<OutboxEvent> pending) {
+        Map<Long, List<OutboxEvent>> partitions = pending.stream()
+                .collect(Collectors.groupingBy(event -> Math.floorMod(event.getAggregateId(), (long) properties.getParallelism())));
+
+        List<Future<List<OutboxEvent>>> futures = new ArrayList<>(partitions.size());
+        for (List<OutboxEvent> partition : partitions.values()) {
+            futures.add(executor.submit(() -> {
+                sink.publish(partition.stream().map(OutboxRelay::toMessage).toList());
+                return partition;
+            }));
+        }
+
+        List<Long> done = new ArrayList<>(pending.size());
+        Instant now = Instant.now();
+        for (Future<List<OutboxEvent>> future : futures) {
+            List<OutboxEvent> partition = await(future);
+            if (partition == null) {
+                continue;
+            }
+            for (OutboxEvent event : partition) {
+                done.add(event.getId());
+                deliveryLag.record(Duration.between(event.getCreatedAt().toInstant(), now));
+            }
+        }
+        if (!done.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxEventRepository.markProcessed(done, Timestamp.from(now)));
+            dispatched.increment(done.size());
+        }
+        return done;
+    }
+
+    private List<OutboxEvent> await(Future<List<OutboxEvent>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing outbox events", e);
+        } catch (ExecutionException e) {
+            failures.increment();
+            log.warn("Publishing outbox events failed, they will be retried", e.getCause());
+            return null;
+        }
+    }
+
+    private static OutboxMessage toMessage(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getEventType(), event.getAggregateId(), event.getPayload(),
+                event.getCreatedAt());
+    }
+}
@@ -0,0 +1,12 @@
+package com.ingcase.digitalwallet.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox messages, e.g. a message broker. Messages of one aggregate arrive in order
+ * within a call. A call that throws is retried with the same messages on the next poll.
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages);
+}
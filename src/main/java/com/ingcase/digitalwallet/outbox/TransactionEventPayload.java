@@ -0,0 +1,15 @@
+package com.ingcase.digitalwallet.outbox;
+
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+
+public record TransactionEventPayload(Long transactionId,
+                                      Long walletId,
+                                      Long customerId,
+                                      Money amount,
+                                      Type type,
+                                      Status status,
+                                      String oppositePartyType,
+                                      String oppositeParty) {
+}
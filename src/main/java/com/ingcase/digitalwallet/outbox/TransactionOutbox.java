@@ -0,0 +1,42 @@
+package com.ingcase.digitalwallet.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingcase.digitalwallet.model.entity.OutboxEvent;
+import com.ingcase.digitalwallet.model.entity.Transaction;
+import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.enums.OutboxEventType;
+import com.ingcase.digitalwallet.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records transaction events in the {@code outbox_events} table, as part of the caller's transaction, so an
+ * event exists exactly when the change it describes was committed. {@link OutboxRelay} delivers them later.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OutboxEventType type, Transaction transaction) {
+        Wallet wallet = transaction.getWallet();
+        TransactionEventPayload payload = new TransactionEventPayload(transaction.getId(), wallet.getId(),
+                wallet.getCustomer().getId(), transaction.getAmount(), transaction.getType(), transaction.getStatus(),
+                transaction.getOppositePartyType(), transaction.getOppositeParty());
+        try {
+            outboxEventRepository.save(OutboxEvent.builder()
+                    .aggregateId(transaction.getId())
+                    .eventType(type)
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox event for transaction " + transaction.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.ingcase.digitalwallet.ratelimit;
+
+import com.ingcase.digitalwallet.exception.RateLimitExceededException;
+import com.ingcase.digitalwallet.model.enums.Role;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.security.Principal;
+
+/**
+ * Limits every authenticated caller per endpoint, with the limit of the caller's role. The endpoint is the
+ * HTTP method and the mapped path pattern, so {@code PATCH /transactions/1} and {@code /transactions/2}
+ * share a bucket.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private record BucketKey(String principal, String method, Object endpoint) {
+    }
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Principal principal = request.getUserPrincipal();
+        if (principal == null) {
+            return true;
+        }
+        RateLimitProperties.Limit limit = limitOf(request);
+        if (limit == null) {
+            return true;
+        }
+        Object endpoint = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        BucketKey key = new BucketKey(principal.getName(), request.getMethod(),
+                endpoint != null ? endpoint : request.getRequestURI());
+        RateLimiter.Decision decision = rateLimiter.acquire(key, limit);
+        if (!decision.allowed()) {
+            throw new RateLimitExceededException("Too many requests, retry after " + decision.retryAfter().toMillis() + " ms",
+                    decision.retryAfter());
+        }
+        return true;
+    }
+
+    private RateLimitProperties.Limit limitOf(HttpServletRequest request) {
+        for (Role role : Role.values()) {
+            if (request.isUserInRole(role.name())) {
+                return properties.getLimits().get(role);
+            }
+        }
+        return null;
+    }
+}
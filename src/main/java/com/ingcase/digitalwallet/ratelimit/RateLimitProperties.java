@@ -0,0 +1,32 @@
+package com.ingcase.digitalwallet.ratelimit;
+
+import com.ingcase.digitalwallet.model.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties("app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private Duration evictionInterval = Duration.ofMinutes(1);
+    private int maxBuckets = 100_000;
+    private Map<Role, Limit> limits = new EnumMap<>(Map.of(
+            Role.CUSTOMER, new Limit(10, 20),
+            Role.ADMIN, new Limit(100, 200)));
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        private double requestsPerSecond;
+        private int burst;
+    }
+}
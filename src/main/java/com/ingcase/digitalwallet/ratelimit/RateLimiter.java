@@ -0,0 +1,92 @@
+package com.ingcase.digitalwallet.ratelimit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets kept as the generic cell rate algorithm: each bucket is a single {@link AtomicLong} holding
+ * the theoretical arrival time of the next request, updated with compare-and-set. A request is allowed while
+ * that time is less than {@code burst} emission intervals ahead of now. The buckets live in a
+ * {@link ConcurrentHashMap}, whose reads take no lock and whose writes only lock one bin.
+ * <p>
+ * A bucket whose arrival time has passed is full again, so removing it loses nothing. {@link #evictIdle()}
+ * drops those, which keeps the table at the number of recently active keys. A request racing with the
+ * eviction of its bucket may go uncounted, which at worst lets one extra request through.
+ * <p>
+ * When the table is full, a request with a new key runs that scan itself, but only one request per
+ * {@link #EVICTION_BACKOFF} does. If the table is still full afterwards, new keys are rejected until the
+ * next scan frees room, so the table never grows past {@code maxBuckets} and known keys never pay for a scan.
+ */
+public class RateLimiter {
+
+    public record Decision(boolean allowed, Duration retryAfter) {
+
+        private static final Decision ALLOWED = new Decision(true, Duration.ZERO);
+    }
+
+    static final Duration EVICTION_BACKOFF = Duration.ofSeconds(1);
+
+    private final ConcurrentHashMap<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final int maxBuckets;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextEviction;
+
+    public RateLimiter(int maxBuckets) {
+        this(maxBuckets, System::nanoTime);
+    }
+
+    RateLimiter(int maxBuckets, LongSupplier nanoClock) {
+        this.maxBuckets = maxBuckets;
+        this.nanoClock = nanoClock;
+        this.nextEviction = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public Decision acquire(Object key, RateLimitProperties.Limit limit) {
+        long now = nanoClock.getAsLong();
+        long interval = (long) (1_000_000_000L / limit.getRequestsPerSecond());
+        long tolerance = interval * limit.getBurst();
+
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets && !makeRoom(now)) {
+                return new Decision(false, Duration.ofNanos(Math.max(nextEviction.get() - now, 1)));
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, now) + interval;
+            long wait = next - tolerance - now;
+            if (wait > 0) {
+                return new Decision(false, Duration.ofNanos(wait));
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return Decision.ALLOWED;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval:1m}")
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        return before - buckets.size();
+    }
+
+    private boolean makeRoom(long now) {
+        long due = nextEviction.get();
+        if (now - due >= 0 && nextEviction.compareAndSet(due, now + EVICTION_BACKOFF.toNanos())) {
+            evictIdle();
+        }
+        return buckets.size() < maxBuckets;
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
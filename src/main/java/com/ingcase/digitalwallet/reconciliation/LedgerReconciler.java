@@ -0,0 +1,278 @@
+package com.ingcase.digitalwallet.reconciliation;
+
+import com.ingcase.digitalwallet.archive.TieredRows;
+import com.ingcase.digitalwallet.archive.TransactionArchive;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.BalanceDelta;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks that the stored balance and usable balance of every wallet equal what its transactions, archived ones
+ * included, and its active holds add up to. Wallet ids are split into ranges of {@code app.reconciliation.range-size}
+ * ids that a fork-join pool of {@code parallelism} threads works through. Each range streams its transactions in
+ * wallet and id order, so memory stays bounded by one range of wallets whatever the number of rows.
+ * <p>
+ * A range is read in one repeatable-read transaction, so balances and transactions come from the same snapshot.
+ * Wallets that differ are written to a CSV report under {@code app.reconciliation.directory}. Wallets whose opening
+ * balance was inserted directly, like the sample data, have no transactions to explain it and are reported too.
+ */
+@Slf4j
+@Component
+public class LedgerReconciler {
+
+    private static final String SELECT_RANGE = """
+            SELECT id, wallet_id, amount, type, status
+            FROM transactions WHERE wallet_id BETWEEN ? AND ? ORDER BY wallet_id, id""";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmssSSS");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+    private final ShardFanOut shardFanOut;
+    private final TransactionArchive transactionArchive;
+    private final ReconciliationProperties properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Run lastRun;
+
+    public LedgerReconciler(DataSource dataSource, PlatformTransactionManager transactionManager, ShardFanOut shardFanOut,
+                            TransactionArchive transactionArchive, ReconciliationProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1_000);
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.shardFanOut = shardFanOut;
+        this.transactionArchive = transactionArchive;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${app.reconciliation.cron:0 0 4 * * *}")
+    public void reconcileLedger() {
+        start();
+    }
+
+    /**
+     * Starts a run in the background unless one is running already, and returns its progress.
+     */
+    public ReconciliationStatus start() {
+        if (!running.get()) {
+            Thread.ofPlatform().name("ledger-reconciliation").daemon().start(() -> {
+                try {
+                    reconcile();
+                } catch (RuntimeException e) {
+                    log.error("Ledger reconciliation failed", e);
+                }
+            });
+        }
+        return status();
+    }
+
+    public ReconciliationStatus status() {
+        Run run = lastRun;
+        return run == null ? new ReconciliationStatus(running.get(), null, null, 0, 0, 0, 0, null, null) : run.status();
+    }
+
+    public ReconciliationStatus reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A ledger reconciliation is already running");
+        }
+        Path file = properties.getDirectory()
+                .resolve("reconciliation-" + FILE_TIMESTAMP.format(ZonedDateTime.now(ZoneOffset.UTC)) + ".csv");
+        Run run = new Run(file);
+        lastRun = run;
+        try {
+            List<long[]> ranges = shardFanOut.collect(() -> jdbcTemplate.query("SELECT MIN(id), MAX(id), COUNT(*) FROM wallets",
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)}));
+            run.walletsTotal = ranges.stream().mapToLong(range -> range[2]).sum();
+
+            Files.createDirectories(properties.getDirectory());
+            try (BufferedWriter report = Files.newBufferedWriter(file);
+                 ForkJoinPool pool = new ForkJoinPool(properties.getParallelism())) {
+                report.write("wallet_id,balance,expected_balance,usable_balance,expected_usable_balance\n");
+                List<RangeTask> tasks = ranges.stream()
+                        .filter(range -> range[2] > 0)
+                        .map(range -> new RangeTask(range[0], range[1], run, report))
+                        .toList();
+                pool.invoke(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        invokeAll(tasks);
+                    }
+                });
+            }
+            log.info("Reconciled {} wallets and {} transactions, {} mismatches written to {}", run.walletsChecked.get(),
+                    run.rowsScanned.get(), run.mismatches.get(), file.toAbsolutePath());
+        } catch (IOException e) {
+            run.error = e.getMessage();
+            throw new UncheckedIOException("Could not write reconciliation report", e);
+        } catch (RuntimeException e) {
+            run.error = e.getMessage();
+            throw e;
+        } finally {
+            run.finishedAt = Instant.now();
+            running.set(false);
+        }
+        return run.status();
+    }
+
+    private void checkRange(long fromWalletId, long toWalletId, Run run, Writer report) {
+        List<StoredBalance> wallets = jdbcTemplate.query("SELECT id, balance, usable_balance FROM wallets WHERE id BETWEEN ? AND ? ORDER BY id",
+                (rs, rowNum) -> new StoredBalance(rs.getLong(1), Money.of(rs.getBigDecimal(2)), Money.of(rs.getBigDecimal(3))),
+                fromWalletId, toWalletId);
+        if (wallets.isEmpty()) {
+            return;
+        }
+        Map<Long, Money> held = new HashMap<>();
+        jdbcTemplate.query("""
+                        SELECT wallet_id, SUM(amount) FROM holds
+                        WHERE status = 'ACTIVE' AND wallet_id BETWEEN ? AND ? GROUP BY wallet_id""",
+                (ResultSet rs) -> {
+                    held.put(rs.getLong(1), Money.of(rs.getBigDecimal(2)));
+                }, fromWalletId, toWalletId);
+
+        Ledger ledger = new Ledger(wallets, held, report);
+        Deque<Long> archivedWallets = new ArrayDeque<>(wallets.stream()
+                .map(StoredBalance::walletId)
+                .filter(transactionArchive::contains)
+                .toList());
+        TieredRows rows = new TieredRows(transactionArchive, archivedWallets, ledger::add);
+        jdbcTemplate.query(SELECT_RANGE, (ResultSet rs) -> {
+            rows.hot(new ArchivedTransactionView(rs.getLong(1), rs.getLong(2), Money.of(rs.getBigDecimal(3)),
+                    Type.valueOf(rs.getString(4)), null, null, Status.valueOf(rs.getString(5)), null));
+        }, fromWalletId, toWalletId);
+        rows.finish();
+        ledger.finish();
+
+        run.walletsChecked.addAndGet(wallets.size());
+        run.rowsScanned.addAndGet(ledger.rows);
+        run.mismatches.addAndGet(ledger.mismatches);
+    }
+
+    private final class RangeTask extends RecursiveAction {
+
+        private final long fromWalletId;
+        private final long toWalletId;
+        private final Run run;
+        private final Writer report;
+
+        private RangeTask(long fromWalletId, long toWalletId, Run run, Writer report) {
+            this.fromWalletId = fromWalletId;
+            this.toWalletId = toWalletId;
+            this.run = run;
+            this.report = report;
+        }
+
+        @Override
+        protected void compute() {
+            if (toWalletId - fromWalletId < properties.getRangeSize()) {
+                shardFanOut.forEachShard(() -> snapshotTransaction.executeWithoutResult(
+                        status -> checkRange(fromWalletId, toWalletId, run, report)));
+                return;
+            }
+            long middle = fromWalletId + (toWalletId - fromWalletId) / 2;
+            invokeAll(new RangeTask(fromWalletId, middle, run, report), new RangeTask(middle + 1, toWalletId, run, report));
+        }
+    }
+
+    /**
+     * Sums the rows of one range, arriving in wallet order, and compares each wallet once its rows are done.
+     */
+    private static final class Ledger {
+
+        private final List<StoredBalance> wallets;
+        private final Map<Long, Money> held;
+        private final Writer report;
+        private int next;
+        private BalanceDelta sum = BalanceDelta.NONE;
+        private long rows;
+        private long mismatches;
+
+        private Ledger(List<StoredBalance> wallets, Map<Long, Money> held, Writer report) {
+            this.wallets = wallets;
+            this.held = held;
+            this.report = report;
+        }
+
+        void add(ArchivedTransactionView row) {
+            while (next < wallets.size() && wallets.get(next).walletId() < row.walletId()) {
+                close();
+            }
+            if (next < wallets.size() && wallets.get(next).walletId() == row.walletId()) {
+                sum = sum.add(BalanceDelta.ofTransaction(row.type(), row.status(), row.amount()));
+                rows++;
+            }
+        }
+
+        void finish() {
+            while (next < wallets.size()) {
+                close();
+            }
+        }
+
+        private void close() {
+            StoredBalance wallet = wallets.get(next++);
+            Money expectedUsable = sum.usableBalance().subtract(held.getOrDefault(wallet.walletId(), Money.ZERO));
+            if (!wallet.balance().equals(sum.balance()) || !wallet.usableBalance().equals(expectedUsable)) {
+                mismatches++;
+                try {
+                    report.write(wallet.walletId() + "," + wallet.balance() + "," + sum.balance() + ","
+                            + wallet.usableBalance() + "," + expectedUsable + "\n");
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not write reconciliation report", e);
+                }
+            }
+            sum = BalanceDelta.NONE;
+        }
+    }
+
+    private record StoredBalance(long walletId, Money balance, Money usableBalance) {
+    }
+
+    private static final class Run {
+
+        private final Path report;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong walletsChecked = new AtomicLong();
+        private final AtomicLong rowsScanned = new AtomicLong();
+        private final AtomicLong mismatches = new AtomicLong();
+        private volatile long walletsTotal;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Run(Path report) {
+            this.report = report;
+        }
+
+        ReconciliationStatus status() {
+            return new ReconciliationStatus(finishedAt == null, startedAt, finishedAt, walletsTotal, walletsChecked.get(),
+                    rowsScanned.get(), mismatches.get(), report.getFileName().toString(), error);
+        }
+    }
+}
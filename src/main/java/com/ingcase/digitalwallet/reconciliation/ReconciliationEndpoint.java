@@ -0,0 +1,29 @@
+package com.ingcase.digitalwallet.reconciliation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/reconciliation} shows the progress of the current or last run,
+ * {@code POST /actuator/reconciliation} starts a run.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+@RequiredArgsConstructor
+public class ReconciliationEndpoint {
+
+    private final LedgerReconciler ledgerReconciler;
+
+    @ReadOperation
+    public ReconciliationStatus status() {
+        return ledgerReconciler.status();
+    }
+
+    @WriteOperation
+    public ReconciliationStatus start() {
+        return ledgerReconciler.start();
+    }
+}
@@ -0,0 +1,15 @@
+package com.ingcase.digitalwallet.reconciliation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties("app.reconciliation")
+public class ReconciliationProperties {
+
+    private Path directory = Path.of("reconciliation");
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int rangeSize = 1_000;
+}
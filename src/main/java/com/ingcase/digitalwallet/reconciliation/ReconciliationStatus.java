@@ -0,0 +1,17 @@
+package com.ingcase.digitalwallet.reconciliation;
+
+import java.time.Instant;
+
+/**
+ * Progress of the current or last reconciliation run, as shown by the {@code reconciliation} actuator endpoint.
+ */
+public record ReconciliationStatus(boolean running,
+                                   Instant startedAt,
+                                   Instant finishedAt,
+                                   long walletsTotal,
+                                   long walletsChecked,
+                                   long rowsScanned,
+                                   long mismatches,
+                                   String report,
+                                   String error) {
+}
@@ -0,0 +1,36 @@
+package com.ingcase.digitalwallet.repository;
+
+import com.ingcase.digitalwallet.model.entity.Hold;
+import com.ingcase.digitalwallet.model.projection.HoldExpiryView;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface HoldRepository extends JpaRepository<Hold, Long> {
+
+    // capture and release change the wallet and map its id into the response, so it is fetched with the hold
+    @Query("SELECT h FROM Hold h JOIN FETCH h.wallet w WHERE h.id = :id AND w.customer.id = :customerId")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Hold> findByIdAndCustomerIdForUpdate(@Param("id") Long id, @Param("customerId") Long customerId);
+
+    @Query("""
+            SELECT h FROM Hold h JOIN FETCH h.wallet
+            WHERE h.id IN :ids AND h.status = 'ACTIVE' AND h.expiresAt <= :now""")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Hold> findExpiredForUpdate(@Param("ids") Collection<Long> ids, @Param("now") Timestamp now);
+
+    @Query("""
+            SELECT new com.ingcase.digitalwallet.model.projection.HoldExpiryView(h.id, h.expiresAt)
+            FROM Hold h WHERE h.status = 'ACTIVE' AND h.id > :afterId ORDER BY h.id""")
+    List<HoldExpiryView> findActiveAfter(@Param("afterId") long afterId, Pageable pageable);
+}
@@ -2,24 +2,75 @@ package com.ingcase.digitalwallet.repository;
 
 import com.ingcase.digitalwallet.model.entity.Transaction;
 import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+import com.ingcase.digitalwallet.model.projection.PendingDeadlineView;
+import com.ingcase.digitalwallet.model.projection.PendingTransactionView;
+import com.ingcase.digitalwallet.model.projection.TransactionView;
+import com.ingcase.digitalwallet.model.projection.WithdrawalView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
-    List<Transaction> findAllByWalletId(Long walletId);
+    @Query("""
+            SELECT new com.ingcase.digitalwallet.model.projection.TransactionView(
+                t.id, t.amount, t.type, t.oppositePartyType, t.oppositeParty, t.status)
+            FROM Transaction t WHERE t.wallet.id = :walletId""")
+    List<TransactionView> findAllByWalletId(@Param("walletId") Long walletId, Pageable pageable);
+
+    @Query("""
+            SELECT new com.ingcase.digitalwallet.model.projection.PendingTransactionView(
+                t.id, t.wallet.id, t.amount, t.type, t.oppositePartyType, t.oppositeParty, t.createDate)
+            FROM Transaction t WHERE t.status = 'PENDING' ORDER BY t.createDate, t.id""")
+    List<PendingTransactionView> findPending(Pageable pageable);
+
+    @Query("""
+            SELECT new com.ingcase.digitalwallet.model.projection.ArchivedTransactionView(
+                t.id, t.wallet.id, t.amount, t.type, t.oppositePartyType, t.oppositeParty, t.status, t.createDate)
+            FROM Transaction t WHERE t.status <> 'PENDING' AND t.createDate < :cutoff ORDER BY t.wallet.id, t.id""")
+    List<ArchivedTransactionView> findSettledBefore(@Param("cutoff") Timestamp cutoff, Pageable pageable);
+
+    @Query("""
+            SELECT t FROM Transaction t JOIN FETCH t.wallet
+            WHERE t.status = 'PENDING' AND t.id > :afterId AND MOD(t.wallet.id, :partitions) = :partition
+            ORDER BY t.id""")
+    List<Transaction> findPendingInPartition(@Param("afterId") long afterId, @Param("partitions") int partitions,
+                                             @Param("partition") int partition, Pageable pageable);
+
+    @Query("""
+            SELECT new com.ingcase.digitalwallet.model.projection.PendingDeadlineView(t.id, t.createDate)
+            FROM Transaction t WHERE t.status = 'PENDING' AND t.id > :afterId ORDER BY t.id""")
+    List<PendingDeadlineView> findPendingAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("""
+            SELECT t FROM Transaction t JOIN FETCH t.wallet
+            WHERE t.id IN :ids AND t.status = 'PENDING' AND t.createDate <= :createdBefore""")
+    List<Transaction> findPendingCreatedBefore(@Param("ids") Collection<Long> ids, @Param("createdBefore") Timestamp createdBefore);
+
+    @Query("""
+            SELECT new com.ingcase.digitalwallet.model.projection.WithdrawalView(
+                t.wallet.id, t.wallet.customer.id, t.oppositePartyType, t.amount, t.createDate)
+            FROM Transaction t WHERE t.type = 'WITHDRAW' AND t.status <> 'DENIED' AND t.createDate >= :since""")
+    List<WithdrawalView> findWithdrawalsSince(@Param("since") Timestamp since);
+
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids")
+    void deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("UPDATE Transaction t SET t.status = :status WHERE t.id = :id")
     void updateStatusById(@Param("id") Long id, @Param("status") Status status);
 
-    @Query("SELECT t FROM Transaction t WHERE t.id = :id and t.status = 'PENDING'")
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.wallet WHERE t.id = :id and t.status = 'PENDING'")
     Optional<Transaction> findByIdAndStatusPending(@Param("id") Long id);
 }
\ No newline at end of file
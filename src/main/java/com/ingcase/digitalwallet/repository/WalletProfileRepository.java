@@ -0,0 +1,9 @@
+package com.ingcase.digitalwallet.repository;
+
+import com.ingcase.digitalwallet.model.entity.WalletProfile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WalletProfileRepository extends JpaRepository<WalletProfile, Long> {
+}
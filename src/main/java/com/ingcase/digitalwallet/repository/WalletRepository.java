@@ -1,8 +1,15 @@
 package com.ingcase.digitalwallet.repository;
 
 import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.projection.VersionStamp;
+import com.ingcase.digitalwallet.model.projection.WalletView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,9 +19,29 @@ import java.util.Optional;
 @Repository
 public interface WalletRepository extends JpaRepository<Wallet, Long> {
 
-    List<Wallet> findByCustomerId(Long customerId);
-    Optional<Wallet> findByCustomerIdAndId(Long customerId, Long Id);
+    @Query("""
+            SELECT new com.ingcase.digitalwallet.model.projection.WalletView(
+                w.id, w.walletName, w.currency, w.activeForShopping, w.activeForWithdraw,
+                w.balance, w.usableBalance, w.createDate)
+            FROM Wallet w WHERE w.customer.id = :customerId""")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<WalletView> findByCustomerId(@Param("customerId") Long customerId);
 
-    @Query("SELECT t.wallet FROM Transaction t WHERE t.id = :transactionId")
-    Wallet findByTransactionId(@Param("transactionId") Long transactionId);
+    // versions only grow and wallets are never deleted, so the sum changes whenever any wallet does
+    @Query("""
+            SELECT new com.ingcase.digitalwallet.model.projection.VersionStamp(SUM(w.version), MAX(w.id))
+            FROM Wallet w WHERE w.customer.id = :customerId""")
+    VersionStamp findVersionStampByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("""
+            SELECT new com.ingcase.digitalwallet.model.projection.VersionStamp(
+                CAST(w.version AS Long), (SELECT MAX(t.id) FROM Transaction t WHERE t.wallet.id = w.id))
+            FROM Wallet w WHERE w.id = :walletId AND w.customer.id = :customerId""")
+    Optional<VersionStamp> findTransactionsVersionStamp(@Param("customerId") Long customerId,
+                                                        @Param("walletId") Long walletId);
+
+    // the wallet row only: transfer, withdraw and holds need nothing of the customer but its id, which the proxy holds
+    @Query("SELECT w FROM Wallet w WHERE w.id = :id AND w.customer.id = :customerId")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Wallet> findByCustomerIdAndIdForUpdate(@Param("customerId") Long customerId, @Param("id") Long id);
 }
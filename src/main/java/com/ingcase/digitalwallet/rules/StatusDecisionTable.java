@@ -0,0 +1,141 @@
+package com.ingcase.digitalwallet.rules;
+
+import com.ingcase.digitalwallet.model.enums.Currency;
+import com.ingcase.digitalwallet.model.enums.CustomerTier;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.money.Money;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Status rules resolved ahead of time for every combination of currency, opposite party type and customer
+ * tier. Each combination is a cell holding the threshold in minor units. There is one row of cells for all
+ * wallets, plus one row for each wallet that has its own rules. Those wallets are found through an
+ * open-addressing table, so an evaluation reads a few array slots and allocates nothing.
+ * <p>
+ * For each cell the rule with the most criteria set wins. Wallet rules beat all others, and ties go to the
+ * lower threshold. Instances are immutable.
+ */
+public final class StatusDecisionTable {
+
+    private static final Currency[] CURRENCIES = Currency.values();
+    private static final OppositePartyType[] OPPOSITE_PARTY_TYPES = OppositePartyType.values();
+    private static final CustomerTier[] TIERS = CustomerTier.values();
+    private static final int CELLS = CURRENCIES.length * OPPOSITE_PARTY_TYPES.length * TIERS.length;
+    private static final long EMPTY = 0L;
+
+    private final long[] globalThresholds;
+    private final long[] walletKeys;
+    private final int[] walletRows;
+    private final long[] walletThresholds;
+    private final int ruleCount;
+
+    private StatusDecisionTable(long[] globalThresholds, long[] walletKeys, int[] walletRows, long[] walletThresholds,
+                                int ruleCount) {
+        this.globalThresholds = globalThresholds;
+        this.walletKeys = walletKeys;
+        this.walletRows = walletRows;
+        this.walletThresholds = walletThresholds;
+        this.ruleCount = ruleCount;
+    }
+
+    public static StatusDecisionTable compile(BigDecimal defaultThreshold, List<StatusRuleProperties.Rule> rules) {
+        List<StatusRuleProperties.Rule> globalRules = new ArrayList<>();
+        Map<Long, List<StatusRuleProperties.Rule>> rulesByWallet = new LinkedHashMap<>();
+        for (StatusRuleProperties.Rule rule : rules) {
+            if (rule.getThreshold() == null) {
+                throw new IllegalArgumentException("Status rule without threshold: " + rule);
+            }
+            if (rule.getWalletId() == null) {
+                globalRules.add(rule);
+            } else if (rule.getWalletId() <= 0) {
+                throw new IllegalArgumentException("Status rule with invalid wallet id: " + rule);
+            } else {
+                rulesByWallet.computeIfAbsent(rule.getWalletId(), walletId -> new ArrayList<>()).add(rule);
+            }
+        }
+
+        long defaultMinor = Money.of(defaultThreshold).getMinorUnits();
+        long[] globalThresholds = new long[CELLS];
+        for (int cell = 0; cell < CELLS; cell++) {
+            globalThresholds[cell] = resolve(globalRules, cell, defaultMinor);
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(1, rulesByWallet.size()) * 2) << 1;
+        long[] walletKeys = new long[capacity];
+        int[] walletRows = new int[capacity];
+        long[] walletThresholds = new long[rulesByWallet.size() * CELLS];
+        int row = 0;
+        for (Map.Entry<Long, List<StatusRuleProperties.Rule>> wallet : rulesByWallet.entrySet()) {
+            int slot = slot(wallet.getKey(), capacity - 1);
+            while (walletKeys[slot] != EMPTY) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            walletKeys[slot] = wallet.getKey();
+            walletRows[slot] = row;
+            for (int cell = 0; cell < CELLS; cell++) {
+                walletThresholds[row * CELLS + cell] = resolve(wallet.getValue(), cell, globalThresholds[cell]);
+            }
+            row++;
+        }
+        return new StatusDecisionTable(globalThresholds, walletKeys, walletRows, walletThresholds, rules.size());
+    }
+
+    public Status evaluate(long walletId, Currency currency, OppositePartyType oppositePartyType, CustomerTier tier,
+                           Money amount) {
+        return amount.getMinorUnits() > threshold(walletId, currency, oppositePartyType, tier) ? Status.PENDING : Status.APPROVED;
+    }
+
+    public long threshold(long walletId, Currency currency, OppositePartyType oppositePartyType, CustomerTier tier) {
+        int cell = (currency.ordinal() * OPPOSITE_PARTY_TYPES.length + oppositePartyType.ordinal()) * TIERS.length
+                + tier.ordinal();
+        int mask = walletKeys.length - 1;
+        for (int slot = slot(walletId, mask); ; slot = (slot + 1) & mask) {
+            long key = walletKeys[slot];
+            if (key == EMPTY) {
+                return globalThresholds[cell];
+            }
+            if (key == walletId) {
+                return walletThresholds[walletRows[slot] * CELLS + cell];
+            }
+        }
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    private static long resolve(List<StatusRuleProperties.Rule> rules, int cell, long fallback) {
+        Currency currency = CURRENCIES[cell / (OPPOSITE_PARTY_TYPES.length * TIERS.length)];
+        OppositePartyType oppositePartyType = OPPOSITE_PARTY_TYPES[cell / TIERS.length % OPPOSITE_PARTY_TYPES.length];
+        CustomerTier tier = TIERS[cell % TIERS.length];
+
+        int bestSpecificity = -1;
+        long best = fallback;
+        for (StatusRuleProperties.Rule rule : rules) {
+            if ((rule.getCurrency() != null && rule.getCurrency() != currency)
+                    || (rule.getOppositePartyType() != null && rule.getOppositePartyType() != oppositePartyType)
+                    || (rule.getTier() != null && rule.getTier() != tier)) {
+                continue;
+            }
+            int specificity = (rule.getCurrency() != null ? 1 : 0)
+                    + (rule.getOppositePartyType() != null ? 1 : 0)
+                    + (rule.getTier() != null ? 1 : 0);
+            long threshold = Money.of(rule.getThreshold()).getMinorUnits();
+            if (specificity > bestSpecificity || (specificity == bestSpecificity && threshold < best)) {
+                bestSpecificity = specificity;
+                best = threshold;
+            }
+        }
+        return best;
+    }
+
+    private static int slot(long walletId, int mask) {
+        return (int) ((walletId * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,41 @@
+package com.ingcase.digitalwallet.rules;
+
+import com.ingcase.digitalwallet.model.enums.Currency;
+import com.ingcase.digitalwallet.model.enums.CustomerTier;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.utils.AppConstants;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties("app.status-rules")
+public class StatusRuleProperties {
+
+    private BigDecimal defaultThreshold = AppConstants.THRESHOLD_AMOUNT.toBigDecimal();
+    private List<Rule> rules = new ArrayList<>();
+    private Path file;
+    private Duration reloadInterval = Duration.ofSeconds(10);
+
+    /**
+     * Transactions above {@code threshold} stay pending. Unset criteria match anything.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+
+        private Currency currency;
+        private OppositePartyType oppositePartyType;
+        private CustomerTier tier;
+        private Long walletId;
+        private BigDecimal threshold;
+    }
+}
@@ -0,0 +1,87 @@
+package com.ingcase.digitalwallet.rules;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.enums.CustomerTier;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.money.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+/**
+ * Decides whether a new transaction is approved right away or waits for an admin. Rules come from
+ * {@code app.status-rules.rules}, or from the JSON array in {@code app.status-rules.file} if one is set. The
+ * file is checked every {@code reload-interval} and, when it changed, compiled into a new
+ * {@link StatusDecisionTable} that replaces the current one in a single write. A file that does not compile
+ * is logged and the current table stays in use.
+ */
+@Slf4j
+@Component
+public class StatusRules {
+
+    private static final TypeReference<List<StatusRuleProperties.Rule>> RULES = new TypeReference<>() {
+    };
+
+    private final StatusRuleProperties properties;
+    private final ObjectMapper objectMapper;
+    private volatile StatusDecisionTable table;
+    private FileTime loadedVersion;
+
+    public StatusRules(StatusRuleProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        reload();
+    }
+
+    public Status determineStatus(Wallet wallet, OppositePartyType oppositePartyType, Money amount) {
+        CustomerTier tier = wallet.getCustomer().getTier();
+        return table.evaluate(wallet.getId() == null ? 0L : wallet.getId(), wallet.getCurrency(), oppositePartyType,
+                tier == null ? CustomerTier.STANDARD : tier, amount);
+    }
+
+    public StatusDecisionTable getTable() {
+        return table;
+    }
+
+    @Scheduled(fixedDelayString = "${app.status-rules.reload-interval:10s}")
+    public synchronized void reloadIfChanged() {
+        Path file = properties.getFile();
+        if (file == null) {
+            return;
+        }
+        try {
+            if (!Files.getLastModifiedTime(file).equals(loadedVersion)) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not reload status rules from {}, keeping the current rules", file, e);
+        }
+    }
+
+    public synchronized void reload() {
+        Path file = properties.getFile();
+        if (file == null) {
+            table = StatusDecisionTable.compile(properties.getDefaultThreshold(), properties.getRules());
+            return;
+        }
+        try {
+            FileTime version = Files.getLastModifiedTime(file);
+            List<StatusRuleProperties.Rule> rules = objectMapper.readValue(file.toFile(), RULES);
+            table = StatusDecisionTable.compile(properties.getDefaultThreshold(), rules);
+            loadedVersion = version;
+            log.info("Loaded {} status rules from {}", rules.size(), file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read status rules from " + file, e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ingcase.digitalwallet.service;
+
+import com.ingcase.digitalwallet.model.dto.HoldRequest;
+import com.ingcase.digitalwallet.model.dto.HoldResponse;
+
+import java.math.BigDecimal;
+
+public interface HoldService {
+
+    HoldResponse placeHold(HoldRequest holdRequest);
+
+    HoldResponse captureHold(Long holdId, Long customerId, BigDecimal amount);
+
+    HoldResponse releaseHold(Long holdId, Long customerId);
+}
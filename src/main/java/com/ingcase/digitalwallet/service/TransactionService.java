@@ -1,9 +1,13 @@
 package com.ingcase.digitalwallet.service;
 
 import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.PendingTransactionResponse;
 import com.ingcase.digitalwallet.model.dto.TransactionResponse;
 import com.ingcase.digitalwallet.model.dto.TransactionUpdateRequest;
+import com.ingcase.digitalwallet.model.dto.TransferRequest;
 import com.ingcase.digitalwallet.model.dto.WithdrawRequest;
+import com.ingcase.digitalwallet.model.projection.VersionStamp;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 
@@ -13,7 +17,13 @@ public interface TransactionService {
 
     TransactionResponse deposit(DepositRequest DepositRequest);
 
-    List<TransactionResponse> getWalletTransactions(Long walletId ,Long customerId);
+    List<TransactionResponse> transfer(TransferRequest transferRequest);
+
+    List<TransactionResponse> getWalletTransactions(Long walletId ,Long customerId, Pageable pageable);
+
+    VersionStamp getWalletTransactionsVersion(Long walletId, Long customerId);
+
+    List<PendingTransactionResponse> getPendingTransactions(int limit);
 
     TransactionResponse updateTransaction(Long transactionId , TransactionUpdateRequest transactionUpdateRequest);
 }
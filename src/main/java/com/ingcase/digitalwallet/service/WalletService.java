@@ -3,6 +3,7 @@ package com.ingcase.digitalwallet.service;
 import com.ingcase.digitalwallet.model.dto.WalletCreateRequest;
 import com.ingcase.digitalwallet.model.dto.WalletResponse;
 import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.projection.VersionStamp;
 
 import java.util.List;
 
@@ -12,9 +13,15 @@ public interface WalletService {
 
     List<WalletResponse> getCustomerWallets(Long customerId);
 
-    void save(Wallet wallet);
+    VersionStamp getCustomerWalletsVersion(Long customerId);
+
+    VersionStamp getTransactionsVersion(Long customerId, Long walletId);
 
-    Wallet findByTransactionId(Long transactionId);
+    void save(Wallet wallet);
 
     Wallet findByCustomerIdAndId(Long customerId, Long id);
+
+    Wallet findByCustomerIdAndIdForUpdate(Long customerId, Long id);
+
+    void validateWalletExists(Long customerId, Long id);
 }
@@ -4,6 +4,7 @@ import com.ingcase.digitalwallet.exception.CustomerNotFoundException;
 import com.ingcase.digitalwallet.model.entity.Customer;
 import com.ingcase.digitalwallet.repository.CustomerRepository;
 import com.ingcase.digitalwallet.service.CustomerService;
+import com.ingcase.digitalwallet.sharding.ShardedBy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +16,7 @@ public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepository customerRepository;
 
+    @ShardedBy("#id")
     public Customer findById(Long id) {
         return customerRepository.findById(id)
                 .orElseThrow(() -> new CustomerNotFoundException("Customer not found"));
@@ -0,0 +1,147 @@
+package com.ingcase.digitalwallet.service.impl;
+
+import com.ingcase.digitalwallet.events.WalletBalanceChangedEvent;
+import com.ingcase.digitalwallet.exception.HoldNotFoundException;
+import com.ingcase.digitalwallet.exception.InsufficientBalanceException;
+import com.ingcase.digitalwallet.exception.PaymentNotAllowedException;
+import com.ingcase.digitalwallet.holds.HoldProperties;
+import com.ingcase.digitalwallet.holds.HoldTimers;
+import com.ingcase.digitalwallet.mapper.HoldMapper;
+import com.ingcase.digitalwallet.model.dto.HoldRequest;
+import com.ingcase.digitalwallet.model.dto.HoldResponse;
+import com.ingcase.digitalwallet.model.entity.Hold;
+import com.ingcase.digitalwallet.model.entity.Transaction;
+import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.enums.HoldStatus;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.OutboxEventType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.outbox.TransactionOutbox;
+import com.ingcase.digitalwallet.repository.HoldRepository;
+import com.ingcase.digitalwallet.repository.TransactionRepository;
+import com.ingcase.digitalwallet.service.HoldService;
+import com.ingcase.digitalwallet.service.WalletService;
+import com.ingcase.digitalwallet.sharding.ShardedBy;
+import com.ingcase.digitalwallet.velocity.VelocityLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class HoldServiceImpl implements HoldService {
+
+    private final HoldRepository holdRepository;
+    private final TransactionRepository transactionRepository;
+    private final WalletService walletService;
+    private final HoldTimers holdTimers;
+    private final HoldProperties holdProperties;
+    private final HoldMapper holdMapper;
+    private final TransactionOutbox transactionOutbox;
+    private final VelocityLimiter velocityLimiter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // the wallet row is locked and updated as a managed entity, so concurrent holds cannot overdraw it
+    @ShardedBy("#holdRequest.customerId")
+    public HoldResponse placeHold(HoldRequest holdRequest) {
+        Money amount = Money.of(holdRequest.getAmount());
+        Duration ttl = holdRequest.getTtlMinutes() == null
+                ? holdProperties.getDefaultTtl() : Duration.ofMinutes(holdRequest.getTtlMinutes());
+        if (ttl.compareTo(holdProperties.getMaxTtl()) > 0) {
+            throw new IllegalArgumentException("Hold ttl must not exceed " + holdProperties.getMaxTtl().toMinutes() + " minutes");
+        }
+
+        Wallet wallet = walletService.findByCustomerIdAndIdForUpdate(holdRequest.getCustomerId(), holdRequest.getWalletId());
+        if (!wallet.getActiveForShopping()) {
+            throw new PaymentNotAllowedException("Payment is not allowed for this wallet");
+        }
+        if (amount.isGreaterThan(wallet.getUsableBalance())) {
+            throw new InsufficientBalanceException("Insufficient balance to place the hold");
+        }
+        wallet.setUsableBalance(wallet.getUsableBalance().subtract(amount));
+        walletService.save(wallet);
+
+        Hold hold = holdRepository.save(Hold.builder()
+                .wallet(wallet)
+                .amount(amount)
+                .capturedAmount(Money.ZERO)
+                .merchant(holdRequest.getMerchant())
+                .status(HoldStatus.ACTIVE)
+                .expiresAt(Timestamp.from(Instant.now().plus(ttl)))
+                .build());
+        holdTimers.scheduleAfterCommit(hold.getId(), hold.getExpiresAt());
+        publishBalanceChange(hold);
+        return holdMapper.toDto(hold);
+    }
+
+    // the captured part becomes an approved payment, the rest of the hold goes back to the usable balance
+    @ShardedBy("#customerId")
+    public HoldResponse captureHold(Long holdId, Long customerId, BigDecimal amount) {
+        Hold hold = findActiveHold(holdId, customerId);
+        Money captured = amount == null ? hold.getAmount() : Money.of(amount);
+        if (!captured.isGreaterThan(Money.ZERO) || captured.isGreaterThan(hold.getAmount())) {
+            throw new IllegalArgumentException("Capture amount must be positive and must not exceed the held amount");
+        }
+
+        Wallet wallet = hold.getWallet();
+        Instant reservedAt = velocityLimiter.reserve(wallet, OppositePartyType.PAYMENT, captured);
+        wallet.setBalance(wallet.getBalance().subtract(captured));
+        wallet.setUsableBalance(wallet.getUsableBalance().add(hold.getAmount().subtract(captured)));
+        walletService.save(wallet);
+
+        hold.setCapturedAmount(captured);
+        hold.setStatus(HoldStatus.CAPTURED);
+        Transaction transaction = transactionRepository.save(Transaction.builder()
+                .wallet(wallet)
+                .amount(captured)
+                .type(Type.WITHDRAW)
+                .oppositePartyType(OppositePartyType.PAYMENT.name())
+                .oppositeParty(hold.getMerchant())
+                .status(Status.APPROVED)
+                .createDate(Timestamp.from(reservedAt))
+                .build());
+        transactionOutbox.record(OutboxEventType.TRANSACTION_CREATED, transaction);
+        eventPublisher.publishEvent(new WalletBalanceChangedEvent(customerId, wallet.getId(), wallet.getBalance(),
+                wallet.getUsableBalance(), transaction.getId(), transaction.getType(), transaction.getStatus(),
+                hold.getId(), hold.getStatus()));
+        return holdMapper.toDto(hold);
+    }
+
+    @ShardedBy("#customerId")
+    public HoldResponse releaseHold(Long holdId, Long customerId) {
+        Hold hold = findActiveHold(holdId, customerId);
+        Wallet wallet = hold.getWallet();
+        wallet.setUsableBalance(wallet.getUsableBalance().add(hold.getAmount()));
+        walletService.save(wallet);
+        hold.setStatus(HoldStatus.RELEASED);
+        publishBalanceChange(hold);
+        return holdMapper.toDto(hold);
+    }
+
+    private void publishBalanceChange(Hold hold) {
+        Wallet wallet = hold.getWallet();
+        eventPublisher.publishEvent(new WalletBalanceChangedEvent(wallet.getCustomer().getId(), wallet.getId(),
+                wallet.getBalance(), wallet.getUsableBalance(), null, null, null, hold.getId(), hold.getStatus()));
+    }
+
+    private Hold findActiveHold(Long holdId, Long customerId) {
+        Hold hold = holdRepository.findByIdAndCustomerIdForUpdate(holdId, customerId)
+                .orElseThrow(() -> new HoldNotFoundException("Hold not found"));
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new IllegalStateException("Hold is already " + hold.getStatus().name().toLowerCase());
+        }
+        if (!hold.getExpiresAt().toInstant().isAfter(Instant.now())) {
+            throw new IllegalStateException("Hold has expired");
+        }
+        return hold;
+    }
+}
@@ -1,28 +1,48 @@
 package com.ingcase.digitalwallet.service.impl;
 
+import com.ingcase.digitalwallet.archive.TransactionHistory;
+import com.ingcase.digitalwallet.events.WalletBalanceChangedEvent;
 import com.ingcase.digitalwallet.exception.InsufficientBalanceException;
 import com.ingcase.digitalwallet.exception.PaymentNotAllowedException;
 import com.ingcase.digitalwallet.exception.TransactionNotFoundException;
 import com.ingcase.digitalwallet.exception.TransferNotAllowedException;
+import com.ingcase.digitalwallet.expiry.PendingTransactionExpiry;
 import com.ingcase.digitalwallet.mapper.TransactionMapper;
 import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.PendingTransactionResponse;
 import com.ingcase.digitalwallet.model.dto.TransactionResponse;
 import com.ingcase.digitalwallet.model.dto.TransactionUpdateRequest;
+import com.ingcase.digitalwallet.model.dto.TransferRequest;
 import com.ingcase.digitalwallet.model.dto.WithdrawRequest;
 import com.ingcase.digitalwallet.model.entity.Transaction;
 import com.ingcase.digitalwallet.model.entity.Wallet;
 import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.OutboxEventType;
 import com.ingcase.digitalwallet.model.enums.Status;
 import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.BalanceDelta;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.PendingTransactionView;
+import com.ingcase.digitalwallet.model.projection.TransactionView;
+import com.ingcase.digitalwallet.model.projection.VersionStamp;
+import com.ingcase.digitalwallet.outbox.TransactionOutbox;
 import com.ingcase.digitalwallet.repository.TransactionRepository;
+import com.ingcase.digitalwallet.rules.StatusRules;
 import com.ingcase.digitalwallet.service.TransactionService;
 import com.ingcase.digitalwallet.service.WalletService;
-import com.ingcase.digitalwallet.utils.AppConstants;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import com.ingcase.digitalwallet.sharding.ShardedBy;
+import com.ingcase.digitalwallet.velocity.VelocityLimiter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
 
 @Service
@@ -31,16 +51,24 @@ import java.util.List;
 public class TransactionServiceImpl implements TransactionService {
 
     private final TransactionRepository transactionRepository;
+    private final TransactionHistory transactionHistory;
     private final WalletService walletService;
     private final TransactionMapper transactionMapper;
+    private final ShardFanOut shardFanOut;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionOutbox transactionOutbox;
+    private final StatusRules statusRules;
+    private final VelocityLimiter velocityLimiter;
+    private final PendingTransactionExpiry pendingTransactionExpiry;
 
     @Transactional
+    @ShardedBy("#withdrawRequest.customerId")
     public TransactionResponse withdraw(WithdrawRequest withdrawRequest) {
         Wallet wallet = walletService.findByCustomerIdAndId(withdrawRequest.getCustomerId(), withdrawRequest.getWalletId());
 
-        final BigDecimal requestedAmount = withdrawRequest.getAmount();
-        validateWithdraw(withdrawRequest, wallet,requestedAmount);
-        Status status = determineStatus(requestedAmount);
+        final Money requestedAmount = Money.of(withdrawRequest.getAmount());
+        Instant reservedAt = validateWithdraw(withdrawRequest, wallet,requestedAmount);
+        Status status = statusRules.determineStatus(wallet, withdrawRequest.getOppositePartyType(), requestedAmount);
         updateWalletBalanceForWithdraw(wallet, status, requestedAmount);
 
         TransactionResponse transactionResponse = TransactionResponse.builder()
@@ -49,77 +77,136 @@ public class TransactionServiceImpl implements TransactionService {
                 .oppositePartyType(withdrawRequest.getOppositePartyType())
                 .oppositeParty(withdrawRequest.getOppositeParty())
                 .status(status)
-                .wallet(wallet)
                 .build();
 
-        transactionRepository.save(transactionMapper.toEntity(transactionResponse));
+        Transaction transaction = transactionRepository.save(
+                transactionMapper.toEntity(transactionResponse, wallet, Timestamp.from(reservedAt)));
+        transactionOutbox.record(OutboxEventType.TRANSACTION_CREATED, transaction);
+        pendingTransactionExpiry.scheduleAfterCommit(transaction);
+        publishBalanceChange(wallet, transaction);
 
         return transactionResponse;
     }
 
     @Transactional
+    @ShardedBy("#depositRequest.customerId")
     public TransactionResponse deposit(DepositRequest depositRequest) {
 
+        validateOppositePartyType(depositRequest.getOppositePartyType());
         Wallet wallet = walletService.findByCustomerIdAndId(depositRequest.getCustomerId(), depositRequest.getWalletId());
-        Status status = determineStatus(depositRequest.getAmount());
+        final Money amount = Money.of(depositRequest.getAmount());
+        Status status = statusRules.determineStatus(wallet, depositRequest.getOppositePartyType(), amount);
 
-        updateWalletBalanceForDeposit(wallet, status, depositRequest.getAmount());
+        updateWalletBalanceForDeposit(wallet, status, amount);
 
         TransactionResponse transactionResponse = TransactionResponse.builder()
-                .amount(depositRequest.getAmount())
+                .amount(amount)
                 .type(Type.DEPOSIT)
                 .oppositePartyType(depositRequest.getOppositePartyType())
                 .oppositeParty(depositRequest.getOppositeParty())
                 .status(status)
-                .wallet(wallet)
                 .build();
-        Transaction transaction = transactionMapper.toEntity(transactionResponse);
-
-        transactionRepository.save(transaction);
+        Transaction transaction = transactionRepository.save(transactionMapper.toEntity(transactionResponse, wallet));
+        transactionOutbox.record(OutboxEventType.TRANSACTION_CREATED, transaction);
+        pendingTransactionExpiry.scheduleAfterCommit(transaction);
+        publishBalanceChange(wallet, transaction);
 
         return transactionResponse;
     }
 
-    public List<TransactionResponse> getWalletTransactions(Long walletId, Long customerId) {
-        Wallet wallet = walletService.findByCustomerIdAndId(customerId, walletId);
-        List<Transaction> transaction = transactionRepository.findAllByWalletId(wallet.getId());
-        return transaction.stream().map(transactionMapper::toDto).toList();
+    // both wallets belong to the customer, so they live on one shard and change in one database transaction
+    @Transactional
+    @ShardedBy("#transferRequest.customerId")
+    public List<TransactionResponse> transfer(TransferRequest transferRequest) {
+        Long fromWalletId = transferRequest.getFromWalletId();
+        Long toWalletId = transferRequest.getToWalletId();
+        if (fromWalletId.equals(toWalletId)) {
+            throw new IllegalArgumentException("Source and target wallet must be different");
+        }
+
+        // locked in ascending id order, so two opposite transfers cannot deadlock
+        Wallet first = walletService.findByCustomerIdAndIdForUpdate(transferRequest.getCustomerId(), Math.min(fromWalletId, toWalletId));
+        Wallet second = walletService.findByCustomerIdAndIdForUpdate(transferRequest.getCustomerId(), Math.max(fromWalletId, toWalletId));
+        Wallet source = first.getId().equals(fromWalletId) ? first : second;
+        Wallet target = source == first ? second : first;
+
+        final Money amount = Money.of(transferRequest.getAmount());
+        validateTransfer(source, target, amount);
+        source.setBalance(source.getBalance().subtract(amount));
+        source.setUsableBalance(source.getUsableBalance().subtract(amount));
+        target.setBalance(target.getBalance().add(amount));
+        target.setUsableBalance(target.getUsableBalance().add(amount));
+        walletService.save(source);
+        walletService.save(target);
+
+        List<Transaction> legs = transactionRepository.saveAll(List.of(
+                transferLeg(source, Type.WITHDRAW, amount, target),
+                transferLeg(target, Type.DEPOSIT, amount, source)));
+        for (Transaction leg : legs) {
+            transactionOutbox.record(OutboxEventType.TRANSACTION_CREATED, leg);
+            publishBalanceChange(leg.getWallet(), leg);
+        }
+        return legs.stream().map(transactionMapper::toDto).toList();
+    }
+
+    @ShardedBy("#customerId")
+    public List<TransactionResponse> getWalletTransactions(Long walletId, Long customerId, Pageable pageable) {
+        walletService.validateWalletExists(customerId, walletId);
+        List<TransactionView> transactions = transactionHistory.findByWalletId(walletId, pageable);
+        return transactions.stream().map(transactionMapper::toDto).toList();
+    }
+
+    // every settlement changes the wallet's balances and so its version; new rows also move the latest id
+    @ShardedBy("#customerId")
+    public VersionStamp getWalletTransactionsVersion(Long walletId, Long customerId) {
+        return walletService.getTransactionsVersion(customerId, walletId);
+    }
+
+    // each shard returns its oldest rows, the merge keeps the overall oldest
+    public List<PendingTransactionResponse> getPendingTransactions(int limit) {
+        List<PendingTransactionView> pending = shardFanOut.collect(() -> transactionRepository.findPending(PageRequest.ofSize(limit)));
+        return pending.stream()
+                .sorted(Comparator.comparing(PendingTransactionView::createDate).thenComparing(PendingTransactionView::id))
+                .limit(limit)
+                .map(transactionMapper::toDto)
+                .toList();
     }
 
     @Transactional
+    @ShardedBy(transactionId = "#transactionId")
     public TransactionResponse updateTransaction(Long transactionId, TransactionUpdateRequest transactionUpdateRequest) {
         validateStatus(transactionUpdateRequest.getStatus());
 
         Transaction transaction = transactionRepository.findByIdAndStatusPending(transactionId)
                 .orElseThrow(() -> new TransactionNotFoundException("Pending transaction not found"));
 
-        Wallet wallet = walletService.findByTransactionId(transactionId);
+        Wallet wallet = transaction.getWallet();
         updateWalletBalanceForApproval(wallet, transactionUpdateRequest.getStatus(), transaction);
+        if (transactionUpdateRequest.getStatus() == Status.DENIED) {
+            velocityLimiter.release(transaction);
+        }
 
         transaction.setStatus(transactionUpdateRequest.getStatus());
         transactionRepository.updateStatusById(transactionId, transactionUpdateRequest.getStatus());
+        transactionOutbox.record(transaction.getStatus() == Status.APPROVED
+                ? OutboxEventType.TRANSACTION_APPROVED : OutboxEventType.TRANSACTION_DENIED, transaction);
+        publishBalanceChange(wallet, transaction);
 
         return transactionMapper.toDto(transaction);
     }
 
+    private void publishBalanceChange(Wallet wallet, Transaction transaction) {
+        eventPublisher.publishEvent(new WalletBalanceChangedEvent(wallet.getCustomer().getId(), wallet.getId(),
+                wallet.getBalance(), wallet.getUsableBalance(), transaction.getId(), transaction.getType(),
+                transaction.getStatus(), null, null));
+    }
+
     private void updateWalletBalanceForApproval(Wallet wallet, Status status, Transaction transaction) {
-        if(status == Status.APPROVED) {
-            if(transaction.getType().equals(Type.WITHDRAW)) {
-                wallet.setBalance(wallet.getBalance().subtract(transaction.getAmount()));
-            } else {
-                wallet.setUsableBalance(wallet.getUsableBalance().add(transaction.getAmount()));
-            }
-        } else if(status == Status.DENIED) {
-            if(transaction.getType().equals(Type.WITHDRAW)) {
-                wallet.setUsableBalance(wallet.getUsableBalance().add(transaction.getAmount()));
-            } else {
-                wallet.setBalance(wallet.getBalance().subtract(transaction.getAmount()));
-            }
-        }
+        BalanceDelta.ofSettlement(transaction.getType(), status, transaction.getAmount()).applyTo(wallet);
         walletService.save(wallet);
     }
 
-    private void updateWalletBalanceForDeposit(Wallet wallet, Status status, BigDecimal amount) {
+    private void updateWalletBalanceForDeposit(Wallet wallet, Status status, Money amount) {
         if(status == Status.APPROVED) {
             wallet.setBalance(wallet.getBalance().add(amount));
             wallet.setUsableBalance(wallet.getUsableBalance().add(amount));
@@ -129,7 +216,7 @@ public class TransactionServiceImpl implements TransactionService {
         walletService.save(wallet);
     }
 
-    private void updateWalletBalanceForWithdraw(Wallet wallet, Status status, BigDecimal amount) {
+    private void updateWalletBalanceForWithdraw(Wallet wallet, Status status, Money amount) {
         if(status == Status.APPROVED) {
             wallet.setBalance(wallet.getBalance().subtract(amount));
             wallet.setUsableBalance(wallet.getUsableBalance().subtract(amount));
@@ -139,7 +226,39 @@ public class TransactionServiceImpl implements TransactionService {
         walletService.save(wallet);
     }
 
-    private void validateWithdraw(WithdrawRequest withdrawRequest, Wallet wallet, BigDecimal requestedAmount) {
+    private Transaction transferLeg(Wallet wallet, Type type, Money amount, Wallet oppositeWallet) {
+        return Transaction.builder()
+                .wallet(wallet)
+                .amount(amount)
+                .type(type)
+                .oppositePartyType(OppositePartyType.WALLET.name())
+                .oppositeParty(oppositeWallet.getId().toString())
+                .status(Status.APPROVED)
+                .build();
+    }
+
+    private void validateTransfer(Wallet source, Wallet target, Money amount) {
+        if (!source.getActiveForWithdraw()) {
+            throw new TransferNotAllowedException("Transfer is not allowed for this wallet");
+        }
+
+        if (source.getCurrency() != target.getCurrency()) {
+            throw new IllegalArgumentException("Wallets must have the same currency");
+        }
+
+        if (source.getUsableBalance().isLessThan(amount)) {
+            throw new InsufficientBalanceException("Insufficient balance to complete the transfer");
+        }
+    }
+
+    private void validateOppositePartyType(OppositePartyType oppositePartyType) {
+        if (OppositePartyType.WALLET.equals(oppositePartyType)) {
+            throw new IllegalArgumentException("Transfers between wallets must use the transfer operation");
+        }
+    }
+
+    private Instant validateWithdraw(WithdrawRequest withdrawRequest, Wallet wallet, Money requestedAmount) {
+        validateOppositePartyType(withdrawRequest.getOppositePartyType());
         boolean isPayment = OppositePartyType.PAYMENT.equals(withdrawRequest.getOppositePartyType());
         if(isPayment && !wallet.getActiveForShopping()) {
             throw new PaymentNotAllowedException("Payment is not allowed for this wallet");
@@ -150,13 +269,11 @@ public class TransactionServiceImpl implements TransactionService {
             throw new TransferNotAllowedException("Transfer is not allowed for this wallet");
         }
 
-        if(wallet.getUsableBalance().compareTo(requestedAmount) < 0) {
+        if(wallet.getUsableBalance().isLessThan(requestedAmount)) {
             throw new InsufficientBalanceException("Insufficient balance to complete the withdraw");
         }
-    }
 
-    private Status determineStatus(BigDecimal amount) {
-        return amount.compareTo(AppConstants.THRESHOLD_AMOUNT) > 0 ? Status.PENDING : Status.APPROVED;
+        return velocityLimiter.reserve(wallet, withdrawRequest.getOppositePartyType(), requestedAmount);
     }
 
     private void validateStatus(Status status) {
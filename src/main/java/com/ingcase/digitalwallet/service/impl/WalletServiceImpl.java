@@ -6,14 +6,18 @@ import com.ingcase.digitalwallet.model.dto.WalletCreateRequest;
 import com.ingcase.digitalwallet.model.dto.WalletResponse;
 import com.ingcase.digitalwallet.model.entity.Customer;
 import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.VersionStamp;
+import com.ingcase.digitalwallet.model.projection.WalletView;
+import com.ingcase.digitalwallet.repository.WalletProfileRepository;
 import com.ingcase.digitalwallet.repository.WalletRepository;
 import com.ingcase.digitalwallet.service.CustomerService;
 import com.ingcase.digitalwallet.service.WalletService;
+import com.ingcase.digitalwallet.sharding.ShardedBy;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 @Service
@@ -22,10 +26,12 @@ import java.util.List;
 public class WalletServiceImpl implements WalletService {
 
     private final WalletRepository walletRepository;
+    private final WalletProfileRepository walletProfileRepository;
     private final CustomerService customerService;
     private final WalletMapper walletMapper;
 
     @Transactional
+    @ShardedBy("#walletCreateRequest.customerId")
     public WalletResponse createWallet(WalletCreateRequest walletCreateRequest) {
 
         Customer customer = customerService.findById(walletCreateRequest.getCustomerId());
@@ -35,8 +41,8 @@ public class WalletServiceImpl implements WalletService {
                 .currency(walletCreateRequest.getCurrency())
                 .activeForShopping(walletCreateRequest.getActiveForShopping())
                 .activeForWithdraw(walletCreateRequest.getActiveForWithdraw())
-                .balance(BigDecimal.ZERO)
-                .usableBalance(BigDecimal.ZERO)
+                .balance(Money.ZERO)
+                .usableBalance(Money.ZERO)
                 .customer(customer)
                 .build();
 
@@ -45,23 +51,47 @@ public class WalletServiceImpl implements WalletService {
         return walletMapper.toDto(wallet);
     }
 
+    @ShardedBy("#customerId")
     public List<WalletResponse> getCustomerWallets(Long customerId) {
-        List<Wallet> wallets = walletRepository.findByCustomerId(customerId);
+        List<WalletView> wallets = walletRepository.findByCustomerId(customerId);
         return wallets.stream().map(walletMapper::toDto).toList();
     }
 
+    @ShardedBy("#customerId")
+    public VersionStamp getCustomerWalletsVersion(Long customerId) {
+        return walletRepository.findVersionStampByCustomerId(customerId);
+    }
+
+    @ShardedBy("#customerId")
+    public VersionStamp getTransactionsVersion(Long customerId, Long walletId) {
+        return walletRepository.findTransactionsVersionStamp(customerId, walletId)
+                .orElseThrow(() -> new WalletNotFoundException("Wallet not found"));
+    }
+
     @Transactional
+    @ShardedBy("#wallet.customer.id")
     public void save(Wallet wallet) {
         walletRepository.save(wallet);
     }
 
-    public Wallet findByTransactionId(Long transactionId) {
-        return walletRepository.findByTransactionId(transactionId);
-    }
-
+    @ShardedBy("#customerId")
     public Wallet findByCustomerIdAndId(Long customerId, Long id) {
-        return walletRepository.findByCustomerIdAndId(customerId, id)
+        return walletRepository.findById(id)
+               .filter(wallet -> wallet.getCustomer().getId().equals(customerId))
                .orElseThrow(() -> new WalletNotFoundException("Wallet not found"));
     }
 
+    public Wallet findByCustomerIdAndIdForUpdate(Long customerId, Long id) {
+        return walletRepository.findByCustomerIdAndIdForUpdate(customerId, id)
+                .orElseThrow(() -> new WalletNotFoundException("Wallet not found"));
+    }
+
+    @ShardedBy("#customerId")
+    public void validateWalletExists(Long customerId, Long id) {
+        // ownership never changes, so the cached profile is enough and no balance is read
+        if (walletProfileRepository.findById(id).filter(wallet -> wallet.getCustomerId().equals(customerId)).isEmpty()) {
+            throw new WalletNotFoundException("Wallet not found");
+        }
+    }
+
 }
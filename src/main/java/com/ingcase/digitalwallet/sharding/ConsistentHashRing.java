@@ -0,0 +1,44 @@
+package com.ingcase.digitalwallet.sharding;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent hash of customer ids onto shards. Every shard owns {@code virtualNodes} points on the ring,
+ * and a point depends only on its shard index. Adding a shard therefore only takes over the arcs in front
+ * of its own points, and roughly {@code 1/(n+1)} of the customers move.
+ */
+public class ConsistentHashRing {
+
+    private final TreeMap<Long, Integer> ring = new TreeMap<>();
+    private final int shardCount;
+
+    public ConsistentHashRing(int shardCount, int virtualNodes) {
+        if (shardCount < 1 || virtualNodes < 1) {
+            throw new IllegalArgumentException("Shard count and virtual nodes must be positive");
+        }
+        this.shardCount = shardCount;
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(mix(((long) shard << 32) | node), shard);
+            }
+        }
+    }
+
+    public int shardFor(long customerId) {
+        Map.Entry<Long, Integer> owner = ring.ceilingEntry(mix(customerId));
+        return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    // SplitMix64 finalizer, spreads sequential ids evenly around the ring
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,25 @@
+package com.ingcase.digitalwallet.sharding;
+
+/**
+ * Shard the current thread is bound to. Set by {@link ShardRoutingAspect} around a {@link ShardedBy} method
+ * and by {@link ShardedFanOut} on its worker threads, read by {@link ShardRoutingDataSource}.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    static void set(int shard) {
+        CURRENT.set(shard);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
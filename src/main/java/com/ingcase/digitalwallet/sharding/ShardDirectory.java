@@ -0,0 +1,78 @@
+package com.ingcase.digitalwallet.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Where each customer lives. Placements are kept in the {@code customer_shards} table on shard 0 and
+ * mirrored in memory. Customers without a placement fall back to the hash ring. Routed calls hold a
+ * customer's read lock and a move holds its write lock, so no request writes to a shard while the customer
+ * is being copied off it. Batch jobs that write rows of many customers hold the moves lock instead, which a
+ * move takes exclusively before the customer's lock.
+ */
+public class ShardDirectory {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final JdbcTemplate catalog;
+    private final TransactionTemplate catalogTransaction;
+    private final ConsistentHashRing ring;
+    private final Map<Long, Integer> placements = new ConcurrentHashMap<>();
+    private final ReadWriteLock[] locks = new ReadWriteLock[LOCK_STRIPES];
+    private final ReadWriteLock moves = new ReentrantReadWriteLock();
+
+    public ShardDirectory(JdbcTemplate catalog, TransactionTemplate catalogTransaction, ConsistentHashRing ring) {
+        this.catalog = catalog;
+        this.catalogTransaction = catalogTransaction;
+        this.ring = ring;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    public void load() {
+        catalog.execute("""
+                CREATE TABLE IF NOT EXISTS customer_shards
+                (
+                    customer_id BIGINT PRIMARY KEY,
+                    shard       INT NOT NULL
+                )""");
+        catalog.query("SELECT customer_id, shard FROM customer_shards",
+                (RowCallbackHandler) rs -> placements.put(rs.getLong("customer_id"), rs.getInt("shard")));
+    }
+
+    public int shardFor(long customerId) {
+        Integer placed = placements.get(customerId);
+        return placed != null ? placed : ring.shardFor(customerId);
+    }
+
+    public boolean isPlaced(long customerId) {
+        return placements.containsKey(customerId);
+    }
+
+    public void place(long customerId, int shard) {
+        catalogTransaction.executeWithoutResult(status -> {
+            catalog.update("DELETE FROM customer_shards WHERE customer_id = ?", customerId);
+            catalog.update("INSERT INTO customer_shards (customer_id, shard) VALUES (?, ?)", customerId, shard);
+        });
+        placements.put(customerId, shard);
+    }
+
+    public ConsistentHashRing getRing() {
+        return ring;
+    }
+
+    ReadWriteLock movesLock() {
+        return moves;
+    }
+
+    ReadWriteLock lockFor(long customerId) {
+        return locks[Math.floorMod(Long.hashCode(customerId), LOCK_STRIPES)];
+    }
+}
@@ -0,0 +1,40 @@
+package com.ingcase.digitalwallet.sharding;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Runs a query on every shard and concatenates the rows, or runs a task once per shard. Callers still sort
+ * and limit the merged list. Without sharding the query or task simply runs once.
+ */
+public interface ShardFanOut {
+
+    <T> List<T> collect(Supplier<List<T>> query);
+
+    void forEachShard(Runnable task);
+
+    /**
+     * Like {@link #forEachShard}, for jobs that change rows of many customers at once. No customer is moved
+     * between shards while the task runs, so an update cannot land between a move's copy and its delete.
+     */
+    void forEachShardWithoutMoves(Runnable task);
+
+    static ShardFanOut single() {
+        return new ShardFanOut() {
+            @Override
+            public <T> List<T> collect(Supplier<List<T>> query) {
+                return query.get();
+            }
+
+            @Override
+            public void forEachShard(Runnable task) {
+                task.run();
+            }
+
+            @Override
+            public void forEachShardWithoutMoves(Runnable task) {
+                task.run();
+            }
+        };
+    }
+}
@@ -0,0 +1,172 @@
+package com.ingcase.digitalwallet.sharding;
+
+import com.ingcase.digitalwallet.exception.CustomerNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Moves customers, with their wallets, transactions and holds, between shards. Rows keep their ids, which are
+ * unique across shards because every shard allocates from its own id range.
+ * <p>
+ * A move copies the rows to the target, switches the directory entry, and only then deletes from the source,
+ * all while holding the customer's write lock. Routed calls for that customer wait until it is done, and so
+ * do the batch jobs that settle, release or expire rows across customers, whose fan-out holds the moves lock
+ * (see {@link ShardFanOut#forEachShardWithoutMoves}). A move that fails halfway leaves the customer readable on the source, and running it again is safe.
+ */
+@RequiredArgsConstructor
+public class ShardRebalancer {
+
+    // parent tables first; deletes run in reverse
+    private static final List<CustomerTable> CUSTOMER_TABLES = List.of(
+            new CustomerTable("customers", "id = ?"),
+            new CustomerTable("wallets", "customer_id = ?"),
+            new CustomerTable("transactions", "wallet_id IN (SELECT id FROM wallets WHERE customer_id = ?)"),
+            new CustomerTable("holds", "wallet_id IN (SELECT id FROM wallets WHERE customer_id = ?)"));
+
+    private static final int PAGE_SIZE = 1_000;
+
+    private final ShardRoutingDataSource shards;
+    private final ShardDirectory directory;
+
+    /**
+     * Registers customers the directory does not know yet, moving them to their ring shard if needed.
+     * Runs at startup, so rows loaded by seed scripts end up where the ring expects them.
+     */
+    public int placeNewCustomers() {
+        return rebalance(false);
+    }
+
+    /**
+     * Registers customers that were just written to {@code shard}, moving them to their ring shard if needed.
+     */
+    public int placeNewCustomers(int shard, Collection<Long> customerIds) {
+        int moved = 0;
+        for (Long customerId : customerIds) {
+            if (place(customerId, shard)) {
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Moves every customer to the shard the ring assigns it to, e.g. after a shard has been added.
+     * Manual placements made with {@link #move(long, int)} are undone.
+     */
+    public int rebalance() {
+        return rebalance(true);
+    }
+
+    public void move(long customerId, int targetShard) {
+        if (targetShard < 0 || targetShard >= shards.getShardCount()) {
+            throw new IllegalArgumentException("Unknown shard " + targetShard);
+        }
+        int sourceShard = directory.shardFor(customerId);
+        Integer found = jdbc(sourceShard).queryForObject("SELECT COUNT(*) FROM customers WHERE id = ?", Integer.class, customerId);
+        if (found == null || found == 0) {
+            throw new CustomerNotFoundException("Customer not found");
+        }
+        if (sourceShard == targetShard) {
+            directory.place(customerId, targetShard);
+            return;
+        }
+        move(customerId, sourceShard, targetShard);
+    }
+
+    private int rebalance(boolean includePlaced) {
+        int moved = 0;
+        for (int shard = 0; shard < shards.getShardCount(); shard++) {
+            long afterId = 0;
+            List<Long> page;
+            do {
+                page = jdbc(shard).queryForList("SELECT id FROM customers WHERE id > ? ORDER BY id LIMIT ?", Long.class,
+                        afterId, PAGE_SIZE);
+                for (Long customerId : page) {
+                    if ((includePlaced || !directory.isPlaced(customerId)) && place(customerId, shard)) {
+                        moved++;
+                    }
+                    afterId = customerId;
+                }
+            } while (page.size() == PAGE_SIZE);
+        }
+        return moved;
+    }
+
+    private boolean place(long customerId, int shard) {
+        int ringShard = directory.getRing().shardFor(customerId);
+        if (ringShard == shard) {
+            directory.place(customerId, shard);
+            return false;
+        }
+        move(customerId, shard, ringShard);
+        return true;
+    }
+
+    private void move(long customerId, int sourceShard, int targetShard) {
+        Lock jobs = directory.movesLock().writeLock();
+        Lock lock = directory.lockFor(customerId).writeLock();
+        jobs.lock();
+        lock.lock();
+        try {
+            JdbcTemplate source = jdbc(sourceShard);
+            JdbcTemplate target = jdbc(targetShard);
+            List<List<Map<String, Object>>> rows = new ArrayList<>();
+            for (CustomerTable table : CUSTOMER_TABLES) {
+                rows.add(source.queryForList("SELECT * FROM " + table.name() + " WHERE " + table.customerFilter(), customerId));
+            }
+
+            transaction(targetShard).executeWithoutResult(status -> {
+                delete(target, customerId);
+                for (int i = 0; i < CUSTOMER_TABLES.size(); i++) {
+                    insert(target, CUSTOMER_TABLES.get(i).name(), rows.get(i));
+                }
+            });
+            directory.place(customerId, targetShard);
+            transaction(sourceShard).executeWithoutResult(status -> delete(source, customerId));
+        } finally {
+            lock.unlock();
+            jobs.unlock();
+        }
+    }
+
+    private static void delete(JdbcTemplate jdbcTemplate, long customerId) {
+        List<CustomerTable> childFirst = new ArrayList<>(CUSTOMER_TABLES);
+        Collections.reverse(childFirst);
+        for (CustomerTable table : childFirst) {
+            jdbcTemplate.update("DELETE FROM " + table.name() + " WHERE " + table.customerFilter(), customerId);
+        }
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String table, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = List.copyOf(rows.get(0).keySet());
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        jdbcTemplate.batchUpdate(sql, rows.stream()
+                .map(row -> columns.stream().map(row::get).toArray())
+                .toList());
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shards.getShard(shard));
+    }
+
+    private TransactionTemplate transaction(int shard) {
+        return new TransactionTemplate(new DataSourceTransactionManager(shards.getShard(shard)));
+    }
+
+    private record CustomerTable(String name, String customerFilter) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.ingcase.digitalwallet.sharding;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.Order;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Binds the shard before the transaction interceptor, which runs at the lowest precedence, opens a transaction.
+ * Nested routed calls must stay on the shard already bound, because the transaction holds that shard's connection.
+ */
+@Aspect
+@Order(0)
+@RequiredArgsConstructor
+public class ShardRoutingAspect {
+
+    private final ShardDirectory shardDirectory;
+    private final ShardedFanOut shardedFanOut;
+    private final JdbcTemplate routedJdbcTemplate;
+
+    private final SpelExpressionParser parser = new SpelExpressionParser();
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
+    @Around("@annotation(shardedBy)")
+    public Object route(ProceedingJoinPoint joinPoint, ShardedBy shardedBy) throws Throwable {
+        Long customerId = resolveCustomerId(joinPoint, shardedBy);
+        if (customerId == null) {
+            return joinPoint.proceed();
+        }
+
+        Integer bound = ShardContext.current();
+        if (bound != null) {
+            int shard = shardDirectory.shardFor(customerId);
+            if (bound != shard) {
+                throw new IllegalStateException("Customer " + customerId + " is on shard " + shard
+                        + " but the current call is bound to shard " + bound);
+            }
+            return joinPoint.proceed();
+        }
+
+        Lock lock = shardDirectory.lockFor(customerId).readLock();
+        lock.lock();
+        try {
+            ShardContext.set(shardDirectory.shardFor(customerId));
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.clear();
+            lock.unlock();
+        }
+    }
+
+    private Long resolveCustomerId(ProceedingJoinPoint joinPoint, ShardedBy shardedBy) {
+        if (!shardedBy.value().isEmpty()) {
+            return evaluate(joinPoint, shardedBy.value());
+        }
+        Long transactionId = evaluate(joinPoint, shardedBy.transactionId());
+        return transactionId == null ? null : findCustomerOfTransaction(transactionId);
+    }
+
+    private Long findCustomerOfTransaction(long transactionId) {
+        List<Long> owners = shardedFanOut.onEachShard(shard -> routedJdbcTemplate.query("""
+                        SELECT w.customer_id FROM transactions t JOIN wallets w ON w.id = t.wallet_id
+                        WHERE t.id = ?""",
+                (rs, rowNum) -> rs.getLong(1), transactionId).stream().findFirst().orElse(null));
+        return owners.stream().filter(Objects::nonNull).findFirst().orElse(null);
+    }
+
+    private Long evaluate(ProceedingJoinPoint joinPoint, String expression) {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(
+                joinPoint.getTarget(), signature.getMethod(), joinPoint.getArgs(), parameterNames);
+        return expressions.computeIfAbsent(expression, parser::parseExpression).getValue(context, Long.class);
+    }
+}
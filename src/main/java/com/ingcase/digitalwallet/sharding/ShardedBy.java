@@ -0,0 +1,21 @@
+package com.ingcase.digitalwallet.sharding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the method, and the transaction it opens, on the shard of the customer it works on.
+ * {@link #value()} is a SpEL expression over the method parameters that yields the customer id.
+ * For id-only admin calls, {@link #transactionId()} yields a transaction id instead, and the owning customer
+ * is looked up on all shards. Without sharding enabled the annotation has no effect.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardedBy {
+
+    String value() default "";
+
+    String transactionId() default "";
+}
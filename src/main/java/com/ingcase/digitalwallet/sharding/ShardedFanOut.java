@@ -0,0 +1,99 @@
+package com.ingcase.digitalwallet.sharding;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Queries all shards in parallel, one worker per shard. Each worker binds its shard and runs the query
+ * in its own read-only transaction. Tasks passed to {@link #forEachShard} manage their own transactions.
+ * {@link #forEachShardWithoutMoves} holds the directory's moves lock until every worker is done.
+ */
+public class ShardedFanOut implements ShardFanOut, DisposableBean {
+
+    private final int shardCount;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ShardDirectory directory;
+    private final ExecutorService executor;
+
+    public ShardedFanOut(int shardCount, TransactionTemplate readOnlyTransaction, ShardDirectory directory) {
+        this.shardCount = shardCount;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.directory = directory;
+        this.executor = Executors.newFixedThreadPool(shardCount, Thread.ofPlatform().name("shard-fan-out-", 0).daemon().factory());
+    }
+
+    @Override
+    public <T> List<T> collect(Supplier<List<T>> query) {
+        List<T> rows = new ArrayList<>();
+        onEachShard(shard -> readOnlyTransaction.execute(status -> query.get())).forEach(rows::addAll);
+        return rows;
+    }
+
+    @Override
+    public void forEachShard(Runnable task) {
+        onEachShard(shard -> {
+            task.run();
+            return null;
+        });
+    }
+
+    @Override
+    public void forEachShardWithoutMoves(Runnable task) {
+        Lock lock = directory.movesLock().readLock();
+        lock.lock();
+        try {
+            forEachShard(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> List<T> onEachShard(IntFunction<T> task) {
+        List<Future<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(executor.submit(() -> {
+                ShardContext.set(target);
+                try {
+                    return task.apply(target);
+                } finally {
+                    ShardContext.clear();
+                }
+            }));
+        }
+        List<T> results = new ArrayList<>(shardCount);
+        for (Future<T> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Shard query failed", e.getCause());
+        }
+    }
+}
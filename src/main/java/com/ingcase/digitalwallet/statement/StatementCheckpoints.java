@@ -0,0 +1,107 @@
+package com.ingcase.digitalwallet.statement;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Progress of a statement run, one file per shard and partition holding the highest wallet id up to which every
+ * statement of that partition has been written. Statements are written out of order by parallel workers, so a
+ * cursor only advances over the contiguous prefix of written wallets, in the order the reader emitted them.
+ */
+final class StatementCheckpoints {
+
+    private final Path directory;
+    private final int interval;
+    private final Map<String, Cursor> cursors = new ConcurrentHashMap<>();
+
+    StatementCheckpoints(Path directory, int interval) {
+        this.directory = directory;
+        this.interval = interval;
+    }
+
+    Cursor cursor(int shard, int partition, int partitions) {
+        String name = "shard-" + shard + "-partition-" + partition + "-of-" + partitions;
+        return cursors.computeIfAbsent(name, key -> new Cursor(directory.resolve(key)));
+    }
+
+    void flush() {
+        cursors.values().forEach(Cursor::flush);
+    }
+
+    final class Cursor {
+
+        private final Path file;
+        private final Deque<Long> emitted = new ArrayDeque<>();
+        private final Set<Long> written = new HashSet<>();
+        private long position;
+        private long savedPosition;
+        private int sinceSave;
+
+        private Cursor(Path file) {
+            this.file = file;
+            try {
+                position = Files.exists(file) ? Long.parseLong(Files.readString(file).trim()) : 0;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read statement checkpoint " + file, e);
+            }
+            savedPosition = position;
+        }
+
+        /**
+         * Wallet id after which the partition is resumed.
+         */
+        synchronized long position() {
+            return position;
+        }
+
+        synchronized void emitted(long walletId) {
+            emitted.addLast(walletId);
+        }
+
+        synchronized void written(long walletId) {
+            written.add(walletId);
+            while (!emitted.isEmpty() && written.remove(emitted.peekFirst())) {
+                position = emitted.pollFirst();
+                sinceSave++;
+            }
+            if (sinceSave >= interval) {
+                save();
+            }
+        }
+
+        synchronized void flush() {
+            if (position != savedPosition) {
+                save();
+            }
+        }
+
+        private void save() {
+            Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+            try {
+                Files.createDirectories(directory);
+                try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+                    ByteBuffer content = StandardCharsets.US_ASCII.encode(Long.toString(position));
+                    while (content.hasRemaining()) {
+                        out.write(content);
+                    }
+                    out.force(true);
+                }
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write statement checkpoint " + file, e);
+            }
+            savedPosition = position;
+            sinceSave = 0;
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.ingcase.digitalwallet.statement;
+
+import com.ingcase.digitalwallet.archive.TransactionArchive;
+import com.ingcase.digitalwallet.model.dto.StatementRunResponse;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+import com.ingcase.digitalwallet.sharding.ShardContext;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes the monthly statement of every wallet as {@code <directory>/<yyyy-MM>/wallet-<id>.csv}. The run is a
+ * pipeline of three stages connected by bounded queues:
+ * <ul>
+ *     <li>one reader per wallet partition ({@code MOD(id, partitions)}) and shard, streaming the month's
+ *     transactions in wallet and id order with a database cursor and merging in archived rows,</li>
+ *     <li>{@code renderers} workers rendering each statement into a byte buffer,</li>
+ *     <li>{@code writers} workers writing each buffer through a file channel to a temporary file that is then
+ *     renamed, so a statement on disk is always complete.</li>
+ * </ul>
+ * Wallets without transactions in the month still get a statement. Each reader checkpoints the wallets written so
+ * far through {@link StatementCheckpoints}, so a failed or interrupted run resumes where it stopped when it is
+ * started again for the same month, and a finished month writes nothing.
+ * <p>
+ * Scheduled and admin runs are started in the background through {@link #start}, so they neither hold the
+ * scheduler thread nor a request thread; only one run executes at a time.
+ */
+@Slf4j
+@Component
+public class StatementGenerator {
+
+    private static final String SELECT_PARTITION = """
+            SELECT w.id AS wallet_id, w.currency, t.id, t.amount, t.type, t.opposite_party_type, t.opposite_party,
+                   t.status, t.create_date
+            FROM wallets w
+            LEFT JOIN transactions t ON t.wallet_id = w.id AND t.create_date >= ? AND t.create_date < ?
+            WHERE MOD(w.id, ?) = ? AND w.id > ?
+            ORDER BY w.id, t.id""";
+    private static final WalletStatement END = new WalletStatement(null, 0, null, List.of());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ShardFanOut shardFanOut;
+    private final TransactionArchive transactionArchive;
+    private final StatementProperties properties;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Run lastRun;
+
+    public StatementGenerator(DataSource dataSource, PlatformTransactionManager transactionManager, ShardFanOut shardFanOut,
+                              TransactionArchive transactionArchive, StatementProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(1_000);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.shardFanOut = shardFanOut;
+        this.transactionArchive = transactionArchive;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${app.statements.cron:0 0 2 1 * *}")
+    public void generatePreviousMonth() {
+        start(YearMonth.now().minusMonths(1));
+    }
+
+    /**
+     * Starts a run of the month in the background unless a run is in progress already, and returns its progress.
+     */
+    public StatementRunResponse start(YearMonth month) {
+        if (!running.get()) {
+            Thread.ofPlatform().name("statement-run").daemon().start(() -> {
+                try {
+                    generate(month);
+                } catch (RuntimeException e) {
+                    log.error("Statement run of {} failed", month, e);
+                }
+            });
+        }
+        return status();
+    }
+
+    public StatementRunResponse status() {
+        Run run = lastRun;
+        return run == null ? StatementRunResponse.builder().running(running.get()).build() : run.status();
+    }
+
+    public StatementRunResponse generate(YearMonth month) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A statement run is already in progress");
+        }
+        Path directory = properties.getDirectory().resolve(month.toString());
+        Run run = new Run(month, directory, new StatementCheckpoints(directory.resolve("checkpoints"), properties.getCheckpointInterval()));
+        lastRun = run;
+        try {
+            Files.createDirectories(directory);
+            try {
+                run.execute();
+            } finally {
+                run.checkpoints.flush();
+            }
+        } catch (IOException e) {
+            run.error = e.getMessage();
+            throw new UncheckedIOException("Could not create statement directory " + directory, e);
+        } catch (RuntimeException e) {
+            run.error = e.getMessage();
+            throw e;
+        } finally {
+            run.finishedNanos = System.nanoTime();
+            running.set(false);
+        }
+
+        StatementRunResponse status = run.status();
+        log.info("Wrote {} statements for {} to {} at {} statements/s", status.getStatements(), month,
+                directory.toAbsolutePath(), status.getStatementsPerSecond());
+        return status;
+    }
+
+    private final class Run {
+
+        private final YearMonth month;
+        private final Path directory;
+        private final StatementCheckpoints checkpoints;
+        private final BlockingQueue<WalletStatement> toRender = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        private final BlockingQueue<WalletStatement> toWrite = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final Instant startedAt = Instant.now();
+        private final long startedNanos = System.nanoTime();
+        private volatile long finishedNanos;
+        private volatile String error;
+
+        private Run(YearMonth month, Path directory, StatementCheckpoints checkpoints) {
+            this.month = month;
+            this.directory = directory;
+            this.checkpoints = checkpoints;
+        }
+
+        StatementRunResponse status() {
+            boolean finished = finishedNanos != 0;
+            long statements = written.get();
+            long elapsedNanos = Math.max((finished ? finishedNanos : System.nanoTime()) - startedNanos, 1);
+            return StatementRunResponse.builder()
+                    .running(!finished)
+                    .month(month.toString())
+                    .startedAt(startedAt)
+                    .statements(statements)
+                    .elapsedMillis(elapsedNanos / 1_000_000)
+                    .statementsPerSecond(statements * 1_000_000_000L / elapsedNanos)
+                    .error(error)
+                    .build();
+        }
+
+        void execute() {
+            int partitions = properties.getPartitions();
+            int renderers = properties.getRenderers();
+            int writers = properties.getWriters();
+            try (ExecutorService executor = Executors.newFixedThreadPool(partitions + renderers + writers,
+                    Thread.ofPlatform().name("statement-", 0).factory())) {
+                List<Future<?>> readerTasks = new ArrayList<>(partitions);
+                for (int partition = 0; partition < partitions; partition++) {
+                    int target = partition;
+                    readerTasks.add(stage(executor, () -> shardFanOut.forEachShard(
+                            () -> readOnlyTransaction.executeWithoutResult(status -> read(target, partitions)))));
+                }
+                List<Future<?>> renderTasks = new ArrayList<>(renderers);
+                for (int i = 0; i < renderers; i++) {
+                    renderTasks.add(stage(executor, this::render));
+                }
+                List<Future<?>> writeTasks = new ArrayList<>(writers);
+                for (int i = 0; i < writers; i++) {
+                    writeTasks.add(stage(executor, this::write));
+                }
+
+                awaitAll(readerTasks);
+                end(toRender, renderers);
+                awaitAll(renderTasks);
+                end(toWrite, writers);
+                awaitAll(writeTasks);
+            }
+            Throwable cause = failure.get();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause != null) {
+                throw new IllegalStateException("Statement generation failed", cause);
+            }
+        }
+
+        private void read(int partition, int partitions) {
+            Integer shard = ShardContext.current();
+            StatementCheckpoints.Cursor cursor = checkpoints.cursor(shard == null ? 0 : shard, partition, partitions);
+            Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+            Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+            Reader reader = new Reader(cursor, from, to);
+            jdbcTemplate.query(SELECT_PARTITION, (ResultSet rs) -> {
+                long walletId = rs.getLong("wallet_id");
+                if (walletId != reader.walletId) {
+                    reader.emit();
+                    reader.start(walletId, rs.getString("currency"));
+                }
+                long id = rs.getLong("id");
+                if (!rs.wasNull()) {
+                    reader.rows.add(new ArchivedTransactionView(id, walletId, Money.of(rs.getBigDecimal("amount")),
+                            Type.valueOf(rs.getString("type")), rs.getString("opposite_party_type"),
+                            rs.getString("opposite_party"), Status.valueOf(rs.getString("status")),
+                            rs.getTimestamp("create_date")));
+                }
+            }, from, to, partitions, partition, cursor.position());
+            reader.emit();
+        }
+
+        private void render() {
+            for (WalletStatement statement = take(toRender); statement != END; statement = take(toRender)) {
+                statement.content = StatementRenderer.render(statement, month);
+                put(toWrite, statement);
+            }
+        }
+
+        private void write() {
+            for (WalletStatement statement = take(toWrite); statement != END; statement = take(toWrite)) {
+                Path file = directory.resolve("wallet-" + statement.walletId + ".csv");
+                Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+                try {
+                    try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                        ByteBuffer content = statement.content;
+                        while (content.hasRemaining()) {
+                            out.write(content);
+                        }
+                    }
+                    Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not write statement " + file, e);
+                }
+                statement.cursor.written(statement.walletId);
+                written.incrementAndGet();
+            }
+        }
+
+        private Future<?> stage(ExecutorService executor, Runnable task) {
+            return executor.submit(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException | Error e) {
+                    failure.compareAndSet(null, e);
+                    throw e;
+                }
+            });
+        }
+
+        private void end(BlockingQueue<WalletStatement> queue, int workers) {
+            for (int i = 0; i < workers && failure.get() == null; i++) {
+                put(queue, END);
+            }
+        }
+
+        /**
+         * Blocks until the queue has room, giving up with a {@link CancellationException} once another stage failed.
+         */
+        private void put(BlockingQueue<WalletStatement> queue, WalletStatement statement) {
+            try {
+                while (!queue.offer(statement, 100, TimeUnit.MILLISECONDS)) {
+                    if (failure.get() != null) {
+                        throw new CancellationException("Statement run aborted");
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while generating statements", e);
+            }
+        }
+
+        private WalletStatement take(BlockingQueue<WalletStatement> queue) {
+            try {
+                WalletStatement statement;
+                while ((statement = queue.poll(100, TimeUnit.MILLISECONDS)) == null) {
+                    if (failure.get() != null) {
+                        throw new CancellationException("Statement run aborted");
+                    }
+                }
+                return statement;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while generating statements", e);
+            }
+        }
+
+        private void awaitAll(List<Future<?>> futures) {
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failure.compareAndSet(null, e);
+                } catch (ExecutionException e) {
+                    failure.compareAndSet(null, e.getCause());
+                }
+            }
+        }
+
+        /**
+         * Groups the cursor rows of one partition into statements and hands them to the renderers.
+         */
+        private final class Reader {
+
+            private final StatementCheckpoints.Cursor cursor;
+            private final Timestamp from;
+            private final Timestamp to;
+            private long walletId = -1;
+            private String currency;
+            private List<ArchivedTransactionView> rows = new ArrayList<>();
+
+            private Reader(StatementCheckpoints.Cursor cursor, Timestamp from, Timestamp to) {
+                this.cursor = cursor;
+                this.from = from;
+                this.to = to;
+            }
+
+            void start(long walletId, String currency) {
+                this.walletId = walletId;
+                this.currency = currency;
+                this.rows = new ArrayList<>();
+            }
+
+            void emit() {
+                if (walletId < 0) {
+                    return;
+                }
+                cursor.emitted(walletId);
+                put(toRender, new WalletStatement(cursor, walletId, currency, withArchived()));
+            }
+
+            private List<ArchivedTransactionView> withArchived() {
+                if (!transactionArchive.contains(walletId)) {
+                    return rows;
+                }
+                TreeMap<Long, ArchivedTransactionView> merged = new TreeMap<>();
+                for (ArchivedTransactionView row : transactionArchive.read(walletId, Integer.MAX_VALUE)) {
+                    if (!row.createDate().before(from) && row.createDate().before(to)) {
+                        merged.put(row.id(), row);
+                    }
+                }
+                rows.forEach(row -> merged.put(row.id(), row));
+                return new ArrayList<>(merged.values());
+            }
+        }
+    }
+}
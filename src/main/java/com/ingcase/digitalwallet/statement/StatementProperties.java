@@ -0,0 +1,18 @@
+package com.ingcase.digitalwallet.statement;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties("app.statements")
+public class StatementProperties {
+
+    private Path directory = Path.of("statements");
+    private int partitions = 4;
+    private int renderers = Runtime.getRuntime().availableProcessors();
+    private int writers = 2;
+    private int queueCapacity = 256;
+    private int checkpointInterval = 500;
+}
@@ -0,0 +1,64 @@
+package com.ingcase.digitalwallet.statement;
+
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Renders a statement as CSV: a header with wallet, currency and period, one line per transaction, and the
+ * approved deposit and withdraw totals of the month.
+ */
+final class StatementRenderer {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private StatementRenderer() {
+    }
+
+    static ByteBuffer render(WalletStatement statement, YearMonth month) {
+        StringBuilder out = new StringBuilder(256 + 96 * statement.rows.size());
+        out.append("wallet_id,").append(statement.walletId).append('\n')
+                .append("currency,").append(statement.currency).append('\n')
+                .append("period,").append(month).append('\n')
+                .append("id,date,type,status,opposite_party_type,opposite_party,amount\n");
+        Money deposits = Money.ZERO;
+        Money withdrawals = Money.ZERO;
+        for (ArchivedTransactionView row : statement.rows) {
+            out.append(row.id()).append(',')
+                    .append(DATE_TIME.format(row.createDate().toLocalDateTime())).append(',')
+                    .append(row.type()).append(',')
+                    .append(row.status()).append(',')
+                    .append(row.oppositePartyType()).append(',');
+            appendQuoted(out, row.oppositeParty());
+            out.append(',').append(row.amount()).append('\n');
+            if (row.status() == Status.APPROVED) {
+                if (row.type() == Type.DEPOSIT) {
+                    deposits = deposits.add(row.amount());
+                } else {
+                    withdrawals = withdrawals.add(row.amount());
+                }
+            }
+        }
+        out.append("total_deposits,").append(deposits).append('\n')
+                .append("total_withdrawals,").append(withdrawals).append('\n');
+        return StandardCharsets.UTF_8.encode(CharBuffer.wrap(out));
+    }
+
+    private static void appendQuoted(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            out.append(value);
+            return;
+        }
+        out.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
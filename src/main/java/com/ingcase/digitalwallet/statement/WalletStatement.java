@@ -0,0 +1,26 @@
+package com.ingcase.digitalwallet.statement;
+
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Monthly statement of one wallet as it moves through the pipeline. The reader fills in the rows, a renderer
+ * the content, and the writer stores it and marks it done in the cursor it came from.
+ */
+final class WalletStatement {
+
+    final StatementCheckpoints.Cursor cursor;
+    final long walletId;
+    final String currency;
+    final List<ArchivedTransactionView> rows;
+    ByteBuffer content;
+
+    WalletStatement(StatementCheckpoints.Cursor cursor, long walletId, String currency, List<ArchivedTransactionView> rows) {
+        this.cursor = cursor;
+        this.walletId = walletId;
+        this.currency = currency;
+        this.rows = rows;
+    }
+}
@@ -1,7 +1,9 @@
 package com.ingcase.digitalwallet.utils;
 
-import java.math.BigDecimal;
+import com.ingcase.digitalwallet.model.money.Money;
 
 public class AppConstants {
-    public static final BigDecimal THRESHOLD_AMOUNT = BigDecimal.valueOf(1000);
+    public static final Money THRESHOLD_AMOUNT = Money.of(1000);
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
 }
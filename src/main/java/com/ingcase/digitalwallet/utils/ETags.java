@@ -0,0 +1,17 @@
+package com.ingcase.digitalwallet.utils;
+
+import com.ingcase.digitalwallet.model.projection.VersionStamp;
+
+import java.util.Objects;
+
+public final class ETags {
+
+    private ETags() {
+    }
+
+    // weak, because the same list is served as JSON or CBOR and possibly gzip-encoded
+    public static String weak(String scope, VersionStamp stamp) {
+        return "W/\"" + scope + "-" + Objects.requireNonNullElse(stamp.version(), 0L)
+                + "-" + Objects.requireNonNullElse(stamp.latestId(), 0L) + "\"";
+    }
+}
@@ -0,0 +1,50 @@
+package com.ingcase.digitalwallet.utils;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Conversions between {@link Timestamp} and epoch microseconds, the precision of the timestamp columns, and the
+ * {@code yyyy-MM-dd HH:mm:ss} form used in responses.
+ */
+public final class Timestamps {
+
+    private static final DateTimeFormatter SECONDS = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneOffset.UTC);
+    private static final int FORMAT_CACHE_SIZE = 1024;
+
+    // direct-mapped by epoch second; entries are immutable, so racing writers only cost a recomputation
+    private static final FormattedSecond[] FORMAT_CACHE = new FormattedSecond[FORMAT_CACHE_SIZE];
+
+    private record FormattedSecond(long epochSecond, String text) {
+    }
+
+    private Timestamps() {
+    }
+
+    /**
+     * Formats the timestamp as {@code yyyy-MM-dd HH:mm:ss} in UTC, like Jackson's {@code @JsonFormat} with that
+     * pattern, reusing the text of recently formatted seconds.
+     */
+    public static String formatSeconds(Timestamp timestamp) {
+        long epochSecond = Math.floorDiv(timestamp.getTime(), 1000);
+        int slot = (int) Math.floorMod(epochSecond, FORMAT_CACHE_SIZE);
+        FormattedSecond cached = FORMAT_CACHE[slot];
+        if (cached == null || cached.epochSecond() != epochSecond) {
+            cached = new FormattedSecond(epochSecond, SECONDS.format(Instant.ofEpochSecond(epochSecond)));
+            FORMAT_CACHE[slot] = cached;
+        }
+        return cached.text();
+    }
+
+    public static long toMicros(Timestamp timestamp) {
+        return Math.floorDiv(timestamp.getTime(), 1000) * 1_000_000 + timestamp.getNanos() / 1000;
+    }
+
+    public static Timestamp fromMicros(long micros) {
+        Timestamp timestamp = new Timestamp(Math.floorDiv(micros, 1_000_000) * 1000);
+        timestamp.setNanos((int) Math.floorMod(micros, 1_000_000) * 1000);
+        return timestamp;
+    }
+}
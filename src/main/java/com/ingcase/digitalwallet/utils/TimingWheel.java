@@ -0,0 +1,109 @@
+package com.ingcase.digitalwallet.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel (Varghese and Lauck). Level 0 has {@code wheelSize} slots of one tick each, and
+ * every further level has {@code wheelSize} slots each as wide as one full turn of the level below. A timer
+ * goes into the lowest level whose span covers its delay, so scheduling is a shift, a mask and a list push,
+ * whatever the number of timers. When a level completes a turn, the next slot of the level above is emptied
+ * and its timers are placed again, now one level lower. A slot of level 0 is due as a whole.
+ * <p>
+ * Timers beyond the span of the top level are parked in its farthest slot and placed again when it comes
+ * round. Timers cannot be cancelled, so callers must check that the item is still due when it fires.
+ */
+public final class TimingWheel<T> {
+
+    private static final class Timer<T> {
+
+        private final T item;
+        private final long deadlineTick;
+        private Timer<T> next;
+
+        private Timer(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Timer<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (Integer.bitCount(wheelSize) != 1 || levels < 1 || (long) Integer.numberOfTrailingZeros(wheelSize) * levels >= 62) {
+            throw new IllegalArgumentException("Wheel size must be a power of two and levels must fit in a long");
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.slots = new Timer[levels][wheelSize];
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code item} to fire on the first {@link #advance} past {@code deadlineMillis}. A deadline that
+     * has already passed fires on the next tick.
+     */
+    public synchronized void schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick + 1);
+        place(new Timer<>(item, deadlineTick), null);
+        size++;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and returns the items that became due, in no particular order.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = slots.length - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    int slot = (int) ((currentTick >>> (bits * level)) & mask);
+                    Timer<T> timer = slots[level][slot];
+                    slots[level][slot] = null;
+                    while (timer != null) {
+                        Timer<T> next = timer.next;
+                        place(timer, due);
+                        timer = next;
+                    }
+                }
+            }
+            int slot = (int) (currentTick & mask);
+            for (Timer<T> timer = slots[0][slot]; timer != null; timer = timer.next) {
+                due.add(timer.item);
+            }
+            slots[0][slot] = null;
+        }
+        size -= due.size();
+        return due;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void place(Timer<T> timer, List<T> due) {
+        long delay = timer.deadlineTick - currentTick;
+        if (delay <= 0) {
+            due.add(timer.item);
+            return;
+        }
+        int top = slots.length - 1;
+        int level = 0;
+        while (level < top && delay >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        long tick = level == top ? Math.min(timer.deadlineTick, currentTick + (1L << (bits * slots.length)) - 1) : timer.deadlineTick;
+        int slot = (int) ((tick >>> (bits * level)) & mask);
+        timer.next = slots[level][slot];
+        slots[level][slot] = timer;
+    }
+}
@@ -0,0 +1,72 @@
+package com.ingcase.digitalwallet.velocity;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sum over the last {@code buckets} time buckets, kept in a ring. Each slot packs the bucket number it belongs
+ * to (low 24 bits, in the upper bits of the slot) and the sum of that bucket (lower 40 bits), so adding to a
+ * bucket and recycling a slot for a new bucket are one compare-and-set. Sums are minor units and saturate at
+ * 2^40 - 1, about eleven billion units per bucket, instead of overflowing into the bucket number.
+ */
+final class SlidingWindowCounter {
+
+    private static final int SUM_BITS = 40;
+    private static final long SUM_MASK = (1L << SUM_BITS) - 1;
+    private static final long TAG_MASK = (1L << (Long.SIZE - SUM_BITS)) - 1;
+
+    private final AtomicLongArray slots;
+
+    SlidingWindowCounter(int buckets) {
+        this.slots = new AtomicLongArray(buckets);
+    }
+
+    /**
+     * Adds to {@code bucket}, which must be one of the last {@code buckets} buckets. Its slot is cleared first if
+     * it still holds an older bucket.
+     */
+    void add(long bucket, long amount) {
+        int slot = slot(bucket);
+        long tag = bucket & TAG_MASK;
+        while (true) {
+            long current = slots.get(slot);
+            long sum = current >>> SUM_BITS == tag ? current & SUM_MASK : 0;
+            if (slots.compareAndSet(slot, current, tag << SUM_BITS | Math.clamp(sum + amount, 0, SUM_MASK))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Takes back an earlier {@link #add}, unless its bucket has left the window in the meantime.
+     */
+    void subtract(long bucket, long amount) {
+        int slot = slot(bucket);
+        long tag = bucket & TAG_MASK;
+        while (true) {
+            long current = slots.get(slot);
+            if (current >>> SUM_BITS != tag) {
+                return;
+            }
+            long sum = Math.max(0, (current & SUM_MASK) - amount);
+            if (slots.compareAndSet(slot, current, tag << SUM_BITS | sum)) {
+                return;
+            }
+        }
+    }
+
+    long sum(long currentBucket) {
+        long total = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            long bucket = currentBucket - i;
+            long value = slots.get(slot(bucket));
+            if (value >>> SUM_BITS == (bucket & TAG_MASK)) {
+                total += value & SUM_MASK;
+            }
+        }
+        return total;
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) slots.length());
+    }
+}
@@ -0,0 +1,202 @@
+package com.ingcase.digitalwallet.velocity;
+
+import com.ingcase.digitalwallet.exception.VelocityLimitExceededException;
+import com.ingcase.digitalwallet.model.entity.Transaction;
+import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Hourly and daily withdraw and payment totals per wallet and per customer, kept in memory so a withdraw does
+ * not have to sum its recent transactions. Totals live in {@link SlidingWindowCounter}s: the hour in twelve
+ * five-minute buckets, the day in 48 half-hour buckets. Counters are spread over {@code app.velocity.stripes}
+ * maps by key, so eviction sweeps one small map at a time. {@link #evictIdle()} drops counters without a
+ * withdrawal in the last day, which hold nothing but zeros.
+ * <p>
+ * {@link #reserve} adds the amount first and checks the limits afterwards, taking it back if one is exceeded.
+ * Concurrent withdrawals can therefore never pass a limit together, but one of them may be rejected although
+ * the other was rolled back a moment later.
+ */
+public class VelocityLimiter {
+
+    private static final long HOUR_BUCKET_MILLIS = Duration.ofMinutes(5).toMillis();
+    private static final int HOUR_BUCKETS = 12;
+    private static final long DAY_BUCKET_MILLIS = Duration.ofMinutes(30).toMillis();
+    private static final int DAY_BUCKETS = 48;
+
+    private final VelocityProperties properties;
+    private final ConcurrentHashMap<Long, Counters>[] walletStripes;
+    private final ConcurrentHashMap<Long, Counters>[] customerStripes;
+    private final LongSupplier clock;
+
+    public VelocityLimiter(VelocityProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    @SuppressWarnings("unchecked")
+    VelocityLimiter(VelocityProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.walletStripes = new ConcurrentHashMap[properties.getStripes()];
+        this.customerStripes = new ConcurrentHashMap[properties.getStripes()];
+        for (int i = 0; i < properties.getStripes(); i++) {
+            walletStripes[i] = new ConcurrentHashMap<>();
+            customerStripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Counts a withdrawal against the limits of its wallet and customer, or throws
+     * {@link VelocityLimitExceededException} if that would exceed one of them. Inside a transaction the amount is
+     * taken back again if the transaction rolls back. Returns the instant the amount was counted at, which the
+     * withdraw transaction must be created with, so that {@link #release} takes it back from the same buckets.
+     */
+    public Instant reserve(Wallet walletEntity, OppositePartyType type, Money amount) {
+        long now = clock.getAsLong();
+        if (!properties.isEnabled()) {
+            return Instant.ofEpochMilli(now);
+        }
+        Counters wallet = counters(walletStripes, walletEntity.getId());
+        Counters customer = counters(customerStripes, walletEntity.getCustomer().getId());
+        wallet.add(type, now, amount.getMinorUnits());
+        customer.add(type, now, amount.getMinorUnits());
+
+        String breach = check(wallet, type, properties.getWallet().get(type), now, "wallet");
+        if (breach == null) {
+            breach = check(customer, type, properties.getCustomer().get(type), now, "customer");
+        }
+        if (breach != null) {
+            wallet.subtract(type, now, amount.getMinorUnits());
+            customer.subtract(type, now, amount.getMinorUnits());
+            throw new VelocityLimitExceededException(breach);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        wallet.subtract(type, now, amount.getMinorUnits());
+                        customer.subtract(type, now, amount.getMinorUnits());
+                    }
+                }
+            });
+        }
+        return Instant.ofEpochMilli(now);
+    }
+
+    /**
+     * Takes back a denied withdrawal once the current transaction commits, from the buckets of its create date.
+     */
+    public void release(Transaction transaction) {
+        if (!properties.isEnabled() || transaction.getType() != Type.WITHDRAW) {
+            return;
+        }
+        Wallet wallet = transaction.getWallet();
+        OppositePartyType type = OppositePartyType.valueOf(transaction.getOppositePartyType());
+        long at = transaction.getCreateDate().getTime();
+        long amount = transaction.getAmount().getMinorUnits();
+        Runnable release = () -> {
+            counters(walletStripes, wallet.getId()).subtract(type, at, amount);
+            counters(customerStripes, wallet.getCustomer().getId()).subtract(type, at, amount);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release.run();
+                }
+            });
+        } else {
+            release.run();
+        }
+    }
+
+    /**
+     * Counts a past withdrawal without checking limits, used to rebuild the totals at startup.
+     */
+    public void record(long walletId, long customerId, OppositePartyType type, Money amount, Instant createdAt) {
+        long at = createdAt.toEpochMilli();
+        if (clock.getAsLong() - at >= DAY_BUCKET_MILLIS * (DAY_BUCKETS - 1)) {
+            return;
+        }
+        counters(walletStripes, walletId).add(type, at, amount.getMinorUnits());
+        counters(customerStripes, customerId).add(type, at, amount.getMinorUnits());
+    }
+
+    @Scheduled(fixedDelayString = "${app.velocity.eviction-interval:10m}")
+    public int evictIdle() {
+        long oldestActive = clock.getAsLong() - DAY_BUCKET_MILLIS * DAY_BUCKETS;
+        int evicted = 0;
+        for (ConcurrentHashMap<Long, Counters>[] stripes : List.of(walletStripes, customerStripes)) {
+            for (ConcurrentHashMap<Long, Counters> stripe : stripes) {
+                int before = stripe.size();
+                stripe.values().removeIf(counters -> counters.lastActivity < oldestActive);
+                evicted += before - stripe.size();
+            }
+        }
+        return evicted;
+    }
+
+    private Counters counters(ConcurrentHashMap<Long, Counters>[] stripes, long key) {
+        int stripe = (int) Math.floorMod((key * 0x9E3779B97F4A7C15L) >>> 32, (long) stripes.length);
+        return stripes[stripe].computeIfAbsent(key, k -> new Counters());
+    }
+
+    private static String check(Counters counters, OppositePartyType type, VelocityProperties.Limit limit, long now,
+                                String owner) {
+        if (limit == null) {
+            return null;
+        }
+        String kind = type == OppositePartyType.PAYMENT ? "payment" : "withdraw";
+        if (limit.getHourly() != null && counters.hourly(type, now) > Money.of(limit.getHourly()).getMinorUnits()) {
+            return "Hourly " + kind + " limit of " + limit.getHourly() + " exceeded for this " + owner;
+        }
+        if (limit.getDaily() != null && counters.daily(type, now) > Money.of(limit.getDaily()).getMinorUnits()) {
+            return "Daily " + kind + " limit of " + limit.getDaily() + " exceeded for this " + owner;
+        }
+        return null;
+    }
+
+    private static final class Counters {
+
+        private final SlidingWindowCounter[] hour = new SlidingWindowCounter[OppositePartyType.values().length];
+        private final SlidingWindowCounter[] day = new SlidingWindowCounter[OppositePartyType.values().length];
+        private volatile long lastActivity;
+
+        private Counters() {
+            for (int i = 0; i < hour.length; i++) {
+                hour[i] = new SlidingWindowCounter(HOUR_BUCKETS);
+                day[i] = new SlidingWindowCounter(DAY_BUCKETS);
+            }
+        }
+
+        private void add(OppositePartyType type, long at, long amount) {
+            hour[type.ordinal()].add(at / HOUR_BUCKET_MILLIS, amount);
+            day[type.ordinal()].add(at / DAY_BUCKET_MILLIS, amount);
+            lastActivity = Math.max(lastActivity, at);
+        }
+
+        private void subtract(OppositePartyType type, long at, long amount) {
+            hour[type.ordinal()].subtract(at / HOUR_BUCKET_MILLIS, amount);
+            day[type.ordinal()].subtract(at / DAY_BUCKET_MILLIS, amount);
+        }
+
+        private long hourly(OppositePartyType type, long now) {
+            return hour[type.ordinal()].sum(now / HOUR_BUCKET_MILLIS);
+        }
+
+        private long daily(OppositePartyType type, long now) {
+            return day[type.ordinal()].sum(now / DAY_BUCKET_MILLIS);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ingcase.digitalwallet.velocity;
+
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties("app.velocity")
+public class VelocityProperties {
+
+    private boolean enabled = true;
+    private int stripes = 16;
+    private Duration evictionInterval = Duration.ofMinutes(10);
+    private Map<OppositePartyType, Limit> wallet = new EnumMap<>(Map.of(
+            OppositePartyType.IBAN, new Limit(BigDecimal.valueOf(10_000), BigDecimal.valueOf(50_000)),
+            OppositePartyType.PAYMENT, new Limit(BigDecimal.valueOf(5_000), BigDecimal.valueOf(20_000))));
+    private Map<OppositePartyType, Limit> customer = new EnumMap<>(Map.of(
+            OppositePartyType.IBAN, new Limit(BigDecimal.valueOf(20_000), BigDecimal.valueOf(100_000)),
+            OppositePartyType.PAYMENT, new Limit(BigDecimal.valueOf(10_000), BigDecimal.valueOf(40_000))));
+
+    /**
+     * Maximum sum of withdrawals in the last hour and the last day. An unset limit is not enforced.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        private BigDecimal hourly;
+        private BigDecimal daily;
+    }
+}
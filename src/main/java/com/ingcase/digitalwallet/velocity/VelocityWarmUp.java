@@ -0,0 +1,40 @@
+package com.ingcase.digitalwallet.velocity;
+
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.projection.WithdrawalView;
+import com.ingcase.digitalwallet.repository.TransactionRepository;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Rebuilds the velocity totals from the withdrawals of the last day that were not denied, so a restart does
+ * not reset the limits.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class VelocityWarmUp {
+
+    private final VelocityLimiter velocityLimiter;
+    private final TransactionRepository transactionRepository;
+    private final ShardFanOut shardFanOut;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Timestamp since = Timestamp.from(Instant.now().minus(Duration.ofDays(1)));
+        List<WithdrawalView> withdrawals = shardFanOut.collect(() -> transactionRepository.findWithdrawalsSince(since));
+        for (WithdrawalView withdrawal : withdrawals) {
+            velocityLimiter.record(withdrawal.walletId(), withdrawal.customerId(),
+                    OppositePartyType.valueOf(withdrawal.oppositePartyType()), withdrawal.amount(),
+                    withdrawal.createDate().toInstant());
+        }
+        log.info("Rebuilt velocity limits from {} withdrawals", withdrawals.size());
+    }
+}
@@ -0,0 +1,65 @@
+package com.ingcase.digitalwallet.admission;
+
+import com.ingcase.digitalwallet.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void givenFastRequestsAtCapacity_whenReleased_thenLimitGrowsAndShrinksOnSlowOrFailedOnes() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 0, Duration.ZERO);
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire(false);
+        AdaptiveConcurrencyLimiter.Permit second = limiter.acquire(false);
+        assertThatThrownBy(() -> limiter.acquire(false)).isInstanceOf(ServiceOverloadedException.class);
+
+        clock.addAndGet(Duration.ofMillis(10).toNanos());
+        second.release(true);
+        assertThat(limiter.getLimit()).isEqualTo(3);
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        first.release(true);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        limiter.acquire(false).release(false);
+        assertThat(limiter.getLimit()).isEqualTo(1);
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    void givenFullQueue_whenPriorityRequestArrives_thenItDisplacesOrdinaryWaiterAndIsAdmittedFirst() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1, Duration.ofSeconds(10));
+        AdaptiveConcurrencyLimiter.Permit running = limiter.acquire(false);
+
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> ordinary = CompletableFuture.supplyAsync(() -> limiter.acquire(false));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> limiter.getQueued() == 1);
+        assertThatThrownBy(() -> limiter.acquire(false)).isInstanceOf(ServiceOverloadedException.class);
+
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> priority = CompletableFuture.supplyAsync(() -> limiter.acquire(true));
+        assertThat(ordinary).failsWithin(5, TimeUnit.SECONDS);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> limiter.getQueued() == 1);
+
+        running.release(true);
+        assertThat(priority).succeedsWithin(5, TimeUnit.SECONDS);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.getRejected()).isEqualTo(2);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, int queueCapacity, Duration maxQueueWait) {
+        AdmissionProperties.Pool pool = new AdmissionProperties.Pool(initialLimit, 1, 10, Duration.ofMillis(100), 0.7,
+                queueCapacity, maxQueueWait);
+        return new AdaptiveConcurrencyLimiter("write", pool, clock::get);
+    }
+}
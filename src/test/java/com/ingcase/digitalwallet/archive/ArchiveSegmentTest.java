@@ -0,0 +1,61 @@
+package com.ingcase.digitalwallet.archive;
+
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArchiveSegmentTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void givenRowsOfSeveralWallets_whenWrittenAndReopened_thenEachBlockReadsBackItsRows() throws IOException {
+        ArchivedTransactionView first = row(10L, 1L, Money.ofMinor(12_345), "IBAN", "TR123123", "2025-01-01 10:00:00.123456");
+        ArchivedTransactionView second = row(4L, 2L, Money.ofMinor(-50), "PAYMENT", null, "2024-12-31 23:59:59");
+        ArchivedTransactionView third = row(12L, 1L, Money.ofMinor(0), "IBAN", "şğü", "2024-06-01 00:00:00");
+        Path file = directory.resolve("segment-000000000001.seg");
+
+        assertThat(ArchiveSegment.write(file, List.of(first, second, third)).getBlocks()).hasSize(2);
+
+        ArchiveSegment segment = ArchiveSegment.open(file);
+        ArchiveSegment.Block walletOne = segment.getBlocks().get(0);
+        assertThat(walletOne.walletId()).isEqualTo(1L);
+        assertThat(walletOne.minId()).isEqualTo(10L);
+        assertThat(walletOne.maxId()).isEqualTo(12L);
+        assertThat(segment.read(walletOne)).containsExactly(first, third);
+        assertThat(segment.read(segment.getBlocks().get(1))).containsExactly(second);
+        assertThat(Files.exists(directory.resolve("segment-000000000001.seg.tmp"))).isFalse();
+    }
+
+    @Test
+    void givenTruncatedFile_whenOpened_thenRejected() throws IOException {
+        Path file = directory.resolve("segment-000000000001.seg");
+        ArchiveSegment.write(file, List.of(row(1L, 1L, Money.of(10), "IBAN", "TR1", "2025-01-01 10:00:00")));
+        long size = Files.size(file);
+        try (var channel = Files.newByteChannel(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 2);
+        }
+
+        assertThatThrownBy(() -> ArchiveSegment.open(file)).isInstanceOf(IOException.class);
+    }
+
+    private static ArchivedTransactionView row(Long id, Long walletId, Money amount, String oppositePartyType,
+                                               String oppositeParty, String createDate) {
+        return new ArchivedTransactionView(id, walletId, amount, Type.DEPOSIT, oppositePartyType, oppositeParty,
+                Status.APPROVED, Timestamp.valueOf(createDate));
+    }
+}
@@ -0,0 +1,41 @@
+package com.ingcase.digitalwallet.archive;
+
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionArchiveTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void givenBatchArchivedTwice_whenReadAfterRestart_thenEachRowOnceInIdOrder() throws IOException {
+        ArchiveProperties properties = new ArchiveProperties();
+        properties.setDirectory(directory);
+        TransactionArchive archive = new TransactionArchive(properties);
+        archive.append(List.of(row(1L), row(3L)));
+        archive.append(List.of(row(1L), row(3L), row(2L)));
+
+        TransactionArchive reopened = new TransactionArchive(properties);
+        reopened.afterPropertiesSet();
+
+        assertThat(reopened.read(7L, 10)).extracting(ArchivedTransactionView::id).containsExactly(1L, 2L, 3L);
+        assertThat(reopened.read(7L, 2)).extracting(ArchivedTransactionView::id).containsExactly(1L, 2L);
+    }
+
+    private static ArchivedTransactionView row(Long id) {
+        return new ArchivedTransactionView(id, 7L, Money.of(id), Type.DEPOSIT, "IBAN", "TR123123", Status.APPROVED,
+                Timestamp.valueOf("2025-01-01 10:00:00"));
+    }
+}
@@ -0,0 +1,104 @@
+package com.ingcase.digitalwallet.archive;
+
+import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.TransactionResponse;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Archives into a fresh directory per run.
+ */
+@SpringBootTest(properties = {
+        // checks the complete history of wallet 1, which the tests of the default context write to as well
+        "spring.datasource.url=jdbc:h2:mem:archive;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+class TransactionArchiverTest {
+
+    @Autowired
+    private TransactionArchiver transactionArchiver;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArchiveProperties properties;
+
+    @Test
+    void givenOldSettledTransactions_whenArchived_thenMovedOutOfTableAndStillListedInIdOrder() {
+        deposit(100);
+        deposit(200);
+        deposit(300);
+        deposit(2500);
+        jdbcTemplate.update("UPDATE transactions SET create_date = DATEADD('DAY', -200, create_date) WHERE wallet_id = 1");
+        deposit(400);
+
+        assertThat(transactionArchiver.archive()).isEqualTo(3);
+
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM transactions WHERE wallet_id = 1 ORDER BY id", String.class))
+                .containsExactly(Status.PENDING.name(), Status.APPROVED.name());
+        assertThat(history(0, 10)).extracting(TransactionResponse::amount)
+                .containsExactly(Money.of(100), Money.of(200), Money.of(300), Money.of(2500), Money.of(400));
+        assertThat(history(1, 2)).extracting(TransactionResponse::amount)
+                .containsExactly(Money.of(300), Money.of(2500));
+        assertThat(transactionArchiver.archive()).isZero();
+    }
+
+    @Test
+    void givenInterleavedWallets_whenArchivedInSmallBatches_thenEachWalletGetsOneBlock() throws IOException {
+        for (int i = 0; i < 4; i++) {
+            jdbcTemplate.update("""
+                    INSERT INTO transactions (wallet_id, amount, type, opposite_party_type, opposite_party, status, create_date, version)
+                    VALUES (?, 10, 'DEPOSIT', 'IBAN', 'TR123123', 'APPROVED', DATEADD('DAY', -200, CURRENT_TIMESTAMP), 0)""",
+                    i % 2 == 0 ? 2L : 4L);
+        }
+        int batchSize = properties.getBatchSize();
+        properties.setBatchSize(2);
+        try {
+            transactionArchiver.archive();
+        } finally {
+            properties.setBatchSize(batchSize);
+        }
+
+        List<ArchiveSegment.Block> blocks = new ArrayList<>();
+        try (Stream<Path> files = Files.list(properties.getDirectory())) {
+            for (Path file : files.toList()) {
+                blocks.addAll(ArchiveSegment.open(file).getBlocks());
+            }
+        }
+        assertThat(blocks).filteredOn(block -> block.walletId() != 1L)
+                .extracting(ArchiveSegment.Block::walletId, ArchiveSegment.Block::rowCount)
+                .containsExactlyInAnyOrder(tuple(2L, 2), tuple(4L, 2));
+    }
+
+    private List<TransactionResponse> history(int page, int size) {
+        return transactionService.getWalletTransactions(1L, 1L, PageRequest.of(page, size, Sort.by("id")));
+    }
+
+    private void deposit(long amount) {
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(amount), 1L, 1L, OppositePartyType.IBAN, "TR123123"));
+    }
+}
@@ -0,0 +1,97 @@
+package com.ingcase.digitalwallet.benchmark;
+
+import com.ingcase.digitalwallet.model.money.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the balance arithmetic of a withdraw followed by an approval, once with
+ * {@link BigDecimal} and once with {@link Money}. Run with the GC profiler to compare
+ * allocation rates:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main MoneyArithmeticBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+    private static final BigDecimal DECIMAL_THRESHOLD = BigDecimal.valueOf(1000);
+    private static final Money MONEY_THRESHOLD = Money.of(1000);
+
+    private BigDecimal decimalBalance;
+    private BigDecimal decimalUsableBalance;
+    private BigDecimal decimalAmount;
+
+    private Money moneyBalance;
+    private Money moneyUsableBalance;
+    private Money moneyAmount;
+
+    @Setup
+    public void setUp() {
+        decimalBalance = new BigDecimal("5000.00");
+        decimalUsableBalance = new BigDecimal("5000.00");
+        decimalAmount = new BigDecimal("1250.75");
+        moneyBalance = Money.of(decimalBalance);
+        moneyUsableBalance = Money.of(decimalUsableBalance);
+        moneyAmount = Money.of(decimalAmount);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal balance = decimalBalance;
+        BigDecimal usableBalance = decimalUsableBalance;
+        if (usableBalance.compareTo(decimalAmount) < 0) {
+            throw new IllegalStateException();
+        }
+        if (decimalAmount.compareTo(DECIMAL_THRESHOLD) > 0) {
+            usableBalance = usableBalance.subtract(decimalAmount);
+            balance = balance.subtract(decimalAmount);
+        } else {
+            balance = balance.subtract(decimalAmount);
+            usableBalance = usableBalance.subtract(decimalAmount);
+        }
+        balance = balance.add(decimalAmount);
+        usableBalance = usableBalance.add(decimalAmount);
+        return balance.add(usableBalance);
+    }
+
+    @Benchmark
+    public Money money() {
+        Money balance = moneyBalance;
+        Money usableBalance = moneyUsableBalance;
+        if (usableBalance.isLessThan(moneyAmount)) {
+            throw new IllegalStateException();
+        }
+        if (moneyAmount.isGreaterThan(MONEY_THRESHOLD)) {
+            usableBalance = usableBalance.subtract(moneyAmount);
+            balance = balance.subtract(moneyAmount);
+        } else {
+            balance = balance.subtract(moneyAmount);
+            usableBalance = usableBalance.subtract(moneyAmount);
+        }
+        balance = balance.add(moneyAmount);
+        usableBalance = usableBalance.add(moneyAmount);
+        return balance.add(usableBalance);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MoneyArithmeticBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,109 @@
+package com.ingcase.digitalwallet.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.ingcase.digitalwallet.model.dto.TransactionResponse;
+import com.ingcase.digitalwallet.model.dto.WalletResponse;
+import com.ingcase.digitalwallet.model.enums.Currency;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a page of 100 transaction responses and a list of 10 wallet responses, once with the hand-written
+ * serializers and once with Jackson's reflective bean serializer. Both write the same JSON, whose size per response
+ * is printed at setup; the GC profiler's {@code gc.alloc.rate.norm} is the allocation per operation:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main ResponseSerializationBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface Reflective {
+    }
+
+    private ObjectWriter handWritten;
+    private ObjectWriter reflective;
+    private List<TransactionResponse> transactions;
+    private List<WalletResponse> wallets;
+
+    @Setup
+    public void setUp() {
+        handWritten = new ObjectMapper().writer();
+        reflective = new ObjectMapper()
+                .addMixIn(TransactionResponse.class, Reflective.class)
+                .addMixIn(WalletResponse.class, Reflective.class)
+                .writer();
+
+        transactions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            transactions.add(new TransactionResponse(Money.ofMinor(10_000 + i * 137L), i % 3 == 0 ? Type.DEPOSIT : Type.WITHDRAW,
+                    i % 2 == 0 ? OppositePartyType.IBAN : OppositePartyType.PAYMENT, "TR" + (100_000 + i),
+                    i % 5 == 0 ? Status.PENDING : Status.APPROVED));
+        }
+        wallets = new ArrayList<>();
+        long created = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            wallets.add(new WalletResponse((long) i, "wallet " + i, Currency.TRY, true, i % 2 == 0,
+                    Money.ofMinor(500_000 + i), Money.ofMinor(400_000 + i), new Timestamp(created - i * 3_600_000L)));
+        }
+        try {
+            System.out.printf("JSON bytes per response: transaction %d, wallet %d%n",
+                    handWritten.writeValueAsBytes(transactions).length / transactions.size(),
+                    handWritten.writeValueAsBytes(wallets).length / wallets.size());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] transactionsHandWritten() throws Exception {
+        return handWritten.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] transactionsReflective() throws Exception {
+        return reflective.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] walletsHandWritten() throws Exception {
+        return handWritten.writeValueAsBytes(wallets);
+    }
+
+    @Benchmark
+    public byte[] walletsReflective() throws Exception {
+        return reflective.writeValueAsBytes(wallets);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ResponseSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
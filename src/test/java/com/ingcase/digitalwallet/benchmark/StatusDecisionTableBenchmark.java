@@ -0,0 +1,95 @@
+package com.ingcase.digitalwallet.benchmark;
+
+import com.ingcase.digitalwallet.model.enums.Currency;
+import com.ingcase.digitalwallet.model.enums.CustomerTier;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.rules.StatusDecisionTable;
+import com.ingcase.digitalwallet.rules.StatusRuleProperties;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates the status of a transaction against a table compiled from {@code ruleCount} rules, most of them
+ * wallet specific. Half of the looked-up wallets have their own rules. Evaluation should stay well below
+ * 100 ns and, with the GC profiler, show no allocation:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main StatusDecisionTableBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusDecisionTableBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1000", "10000"})
+    private int ruleCount;
+
+    private StatusDecisionTable table;
+    private long[] walletIds;
+    private Currency[] currencies;
+    private OppositePartyType[] oppositePartyTypes;
+    private CustomerTier[] tiers;
+    private Money[] amounts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        List<StatusRuleProperties.Rule> rules = new ArrayList<>(ruleCount);
+        for (Currency currency : Currency.values()) {
+            for (CustomerTier tier : CustomerTier.values()) {
+                rules.add(new StatusRuleProperties.Rule(currency, null, tier, null, BigDecimal.valueOf(random.nextInt(500, 5000))));
+            }
+        }
+        while (rules.size() < ruleCount) {
+            rules.add(new StatusRuleProperties.Rule(null, random.nextBoolean() ? OppositePartyType.PAYMENT : null, null,
+                    (long) random.nextInt(1, ruleCount), BigDecimal.valueOf(random.nextInt(100, 10_000))));
+        }
+        table = StatusDecisionTable.compile(BigDecimal.valueOf(1000), rules);
+
+        walletIds = new long[LOOKUPS];
+        currencies = new Currency[LOOKUPS];
+        oppositePartyTypes = new OppositePartyType[LOOKUPS];
+        tiers = new CustomerTier[LOOKUPS];
+        amounts = new Money[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            walletIds[i] = random.nextInt(1, ruleCount * 2);
+            currencies[i] = Currency.values()[random.nextInt(Currency.values().length)];
+            oppositePartyTypes[i] = OppositePartyType.values()[random.nextInt(OppositePartyType.values().length)];
+            tiers[i] = CustomerTier.values()[random.nextInt(CustomerTier.values().length)];
+            amounts[i] = Money.of(random.nextInt(1, 10_000));
+        }
+    }
+
+    @Benchmark
+    public Status evaluate() {
+        int i = next++ & (LOOKUPS - 1);
+        return table.evaluate(walletIds[i], currencies[i], oppositePartyTypes[i], tiers[i], amounts[i]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(StatusDecisionTableBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
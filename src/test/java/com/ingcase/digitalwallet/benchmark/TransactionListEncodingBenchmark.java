@@ -0,0 +1,100 @@
+package com.ingcase.digitalwallet.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.ingcase.digitalwallet.model.dto.TransactionResponse;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes and decodes a page of 100 transaction responses as JSON and as CBOR, the two media types the API
+ * serves. Payload sizes are printed at setup:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main TransactionListEncodingBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionListEncodingBenchmark {
+
+    private static final TypeReference<List<TransactionResponse>> PAGE = new TypeReference<>() {
+    };
+
+    private ObjectWriter jsonWriter;
+    private ObjectReader jsonReader;
+    private ObjectWriter cborWriter;
+    private ObjectReader cborReader;
+    private List<TransactionResponse> transactions;
+    private byte[] json;
+    private byte[] cbor;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper jsonMapper = new ObjectMapper();
+        CBORMapper cborMapper = new CBORMapper();
+        jsonWriter = jsonMapper.writerFor(PAGE);
+        jsonReader = jsonMapper.readerFor(PAGE);
+        cborWriter = cborMapper.writerFor(PAGE);
+        cborReader = cborMapper.readerFor(PAGE);
+
+        transactions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            transactions.add(new TransactionResponse(Money.ofMinor(10_000 + i * 137L), i % 3 == 0 ? Type.DEPOSIT : Type.WITHDRAW,
+                    i % 2 == 0 ? OppositePartyType.IBAN : OppositePartyType.PAYMENT, "TR" + (100_000 + i),
+                    i % 5 == 0 ? Status.PENDING : Status.APPROVED));
+        }
+        json = jsonWriter.writeValueAsBytes(transactions);
+        cbor = cborWriter.writeValueAsBytes(transactions);
+        System.out.printf("Bytes per page of %d: JSON %d, CBOR %d%n", transactions.size(), json.length, cbor.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws JsonProcessingException {
+        return jsonWriter.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws JsonProcessingException {
+        return cborWriter.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public List<TransactionResponse> decodeJson() throws IOException {
+        return jsonReader.readValue(json);
+    }
+
+    @Benchmark
+    public List<TransactionResponse> decodeCbor() throws IOException {
+        return cborReader.readValue(cbor);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TransactionListEncodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
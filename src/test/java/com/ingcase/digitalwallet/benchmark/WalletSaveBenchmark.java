@@ -0,0 +1,80 @@
+package com.ingcase.digitalwallet.benchmark;
+
+import com.ingcase.digitalwallet.DigitalWalletApplication;
+import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.service.WalletService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the load, balance change, save and flush cycle every deposit and withdraw goes through,
+ * for a wallet holding a growing number of transactions. The cost should stay flat because the
+ * wallet no longer owns a transactions collection that merge and flush have to walk.
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main WalletSaveBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalletSaveBenchmark {
+
+    private static final long WALLET_ID = 1L;
+    private static final long CUSTOMER_ID = 1L;
+
+    @Param({"0", "10000", "100000"})
+    private int transactionCount;
+
+    private ConfigurableApplicationContext context;
+    private WalletService walletService;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DigitalWalletApplication.class)
+                .profiles("test")
+                .run("--server.port=0", "--spring.jpa.show-sql=false", "--logging.level.root=WARN");
+        walletService = context.getBean(WalletService.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        Timestamp now = Timestamp.from(Instant.now());
+        context.getBean(JdbcTemplate.class).batchUpdate("""
+                        INSERT INTO transactions (wallet_id, amount, type, opposite_party_type, opposite_party, status, create_date, version)
+                        VALUES (?, 1.00, 'DEPOSIT', 'IBAN', 'TR123123', 'APPROVED', ?, 0)""",
+                IntStream.range(0, transactionCount)
+                        .mapToObj(i -> new Object[]{WALLET_ID, now})
+                        .toList());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int saveAndFlush() {
+        return transactionTemplate.execute(status -> {
+            Wallet wallet = walletService.findByCustomerIdAndId(CUSTOMER_ID, WALLET_ID);
+            wallet.setBalance(wallet.getBalance().add(Money.ofMinor(1)));
+            walletService.save(wallet);
+            entityManager.flush();
+            return wallet.getVersion();
+        });
+    }
+}
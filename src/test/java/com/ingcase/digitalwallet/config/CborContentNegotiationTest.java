@@ -0,0 +1,82 @@
+package com.ingcase.digitalwallet.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.TransactionResponse;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.money.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CborContentNegotiationTest {
+
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void givenCborRequestAndAccept_whenDepositAndList_thenCborBothWays() throws Exception {
+        byte[] deposit = cborMapper.writeValueAsBytes(
+                new DepositRequest(BigDecimal.valueOf(150.25), 1L, 1L, OppositePartyType.IBAN, "TR123123"));
+
+        byte[] created = mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/transactions/deposit")
+                        .with(httpBasic("1", "customer123"))
+                        .contentType(CBOR)
+                        .accept(CBOR)
+                        .content(deposit))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        TransactionResponse response = cborMapper.readValue(created, TransactionResponse.class);
+        assertThat(response.amount()).isEqualTo(Money.ofMinor(15_025));
+        assertThat(response.status()).isEqualTo(Status.APPROVED);
+
+        byte[] listed = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/transactions/list")
+                        .with(httpBasic("1", "customer123"))
+                        .header("walletId", 1)
+                        .header("customerId", 1)
+                        .accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        List<TransactionResponse> transactions = cborMapper.readValue(listed, new TypeReference<>() {
+        });
+        assertThat(transactions).contains(response);
+    }
+
+    @Test
+    void givenNoAccept_whenListed_thenJson() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/transactions/list")
+                        .with(httpBasic("1", "customer123"))
+                        .header("walletId", 1)
+                        .header("customerId", 1))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$").isArray());
+    }
+}
@@ -0,0 +1,121 @@
+package com.ingcase.digitalwallet.config;
+
+import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.WalletResponse;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.service.TransactionService;
+import com.ingcase.digitalwallet.service.WalletService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against two separate in-memory H2 databases. The replica is loaded with the same scripts and then
+ * marked, so every read shows which database served it. The second-level cache is switched off to keep
+ * reads from being answered without touching either one.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=test",
+        "app.datasource.replica.password=test",
+        // a cached entity would hide which database served the read
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @BeforeEach
+    void setUp() {
+        new JdbcTemplate(replicaDataSource).execute("DROP ALL OBJECTS");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql"), new ClassPathResource("data.sql"))
+                .execute(replicaDataSource);
+        new JdbcTemplate(replicaDataSource).update("UPDATE wallets SET wallet_name = 'Atilla replica' WHERE id = 1");
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("1", "customer123"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        readYourWritesTracker.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void givenReadOnlyTransaction_whenListingWallets_thenReplicaServesIt() {
+        assertThat(walletService.getCustomerWallets(1L))
+                .extracting(WalletResponse::walletName)
+                .containsExactly("Atilla replica");
+    }
+
+    @Test
+    void givenDeposit_whenCommitted_thenOnlyPrimaryIsWritten() {
+        int primaryBefore = countTransactions(primaryDataSource);
+
+        transactionService.deposit(depositRequest());
+
+        assertThat(countTransactions(primaryDataSource)).isEqualTo(primaryBefore + 1);
+        assertThat(countTransactions(replicaDataSource)).isZero();
+        assertThat(transactionService.getWalletTransactions(1L, 1L, PageRequest.of(0, 100))).isEmpty();
+    }
+
+    @Test
+    void givenOptedInAfterWrite_whenReading_thenPrimaryServesIt() {
+        transactionService.deposit(depositRequest());
+        readYourWritesTracker.optIn("1");
+
+        assertThat(walletService.getCustomerWallets(1L))
+                .extracting(WalletResponse::walletName)
+                .containsExactly("Atilla hesap");
+        assertThat(transactionService.getWalletTransactions(1L, 1L, PageRequest.of(0, 100))).isNotEmpty();
+    }
+
+    @Test
+    void givenOptedInWithoutRecentWrite_whenReading_thenReplicaServesIt() {
+        readYourWritesTracker.optIn("2");
+
+        assertThat(walletService.getCustomerWallets(1L))
+                .extracting(WalletResponse::walletName)
+                .containsExactly("Atilla replica");
+    }
+
+    private static DepositRequest depositRequest() {
+        return new DepositRequest(BigDecimal.valueOf(500), 1L, 1L, OppositePartyType.IBAN, "TR123123");
+    }
+
+    private static int countTransactions(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM transactions", Integer.class);
+    }
+}
@@ -0,0 +1,88 @@
+package com.ingcase.digitalwallet.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void givenUnchangedWallets_whenListedWithETag_thenNotModifiedUntilDeposit() throws Exception {
+        String wallets = eTagOf(walletList());
+        String transactions = eTagOf(transactionList(1));
+
+        assertThat(wallets).startsWith("W/");
+        assertNotModified(walletList().header(HttpHeaders.IF_NONE_MATCH, wallets));
+        assertNotModified(transactionList(1).header(HttpHeaders.IF_NONE_MATCH, transactions));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/transactions/deposit")
+                        .with(httpBasic("1", "customer123"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new DepositRequest(BigDecimal.valueOf(100), 1L, 1L, OppositePartyType.IBAN, "TR123123"))))
+                .andExpect(status().isOk());
+
+        assertThat(eTagOf(walletList().header(HttpHeaders.IF_NONE_MATCH, wallets))).isNotEqualTo(wallets);
+        assertThat(eTagOf(transactionList(1).header(HttpHeaders.IF_NONE_MATCH, transactions))).isNotEqualTo(transactions);
+    }
+
+    @Test
+    void givenWalletOfAnotherCustomer_whenListedWithETag_thenNotFound() throws Exception {
+        mockMvc.perform(transactionList(2).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    private MockHttpServletRequestBuilder walletList() {
+        return MockMvcRequestBuilders.get("/api/v1/wallets/{customerId}", 1)
+                .with(httpBasic("1", "customer123"));
+    }
+
+    private MockHttpServletRequestBuilder transactionList(long walletId) {
+        return MockMvcRequestBuilders.get("/api/v1/transactions/list")
+                .with(httpBasic("1", "customer123"))
+                .header("walletId", walletId)
+                .header("customerId", 1);
+    }
+
+    private String eTagOf(MockHttpServletRequestBuilder request) throws Exception {
+        String eTag = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+        return eTag;
+    }
+
+    private void assertNotModified(MockHttpServletRequestBuilder request) throws Exception {
+        byte[] body = mockMvc.perform(request)
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(body).isEmpty();
+    }
+}
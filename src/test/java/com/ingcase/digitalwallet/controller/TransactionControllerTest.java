@@ -3,13 +3,21 @@ package com.ingcase.digitalwallet.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ingcase.digitalwallet.exception.GlobalExceptionHandler;
 import com.ingcase.digitalwallet.exception.TransactionNotFoundException;
+import com.ingcase.digitalwallet.exception.VelocityLimitExceededException;
 import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.PendingTransactionResponse;
 import com.ingcase.digitalwallet.model.dto.TransactionResponse;
 import com.ingcase.digitalwallet.model.dto.TransactionUpdateRequest;
 import com.ingcase.digitalwallet.model.dto.WithdrawRequest;
 import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Role;
 import com.ingcase.digitalwallet.model.enums.Status;
 import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.VersionStamp;
+import com.ingcase.digitalwallet.ratelimit.RateLimitInterceptor;
+import com.ingcase.digitalwallet.ratelimit.RateLimitProperties;
+import com.ingcase.digitalwallet.ratelimit.RateLimiter;
 import com.ingcase.digitalwallet.service.TransactionService;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
@@ -20,6 +28,10 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -35,6 +47,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -60,6 +73,7 @@ public class TransactionControllerTest {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
         validator = factory.getValidator();
         objectMapper = new ObjectMapper();
+        when(transactionService.getWalletTransactionsVersion(any(Long.class), any(Long.class))).thenReturn(new VersionStamp(3L, 7L));
     }
 
     @Test
@@ -68,7 +82,7 @@ public class TransactionControllerTest {
         DepositRequest depositRequest = new DepositRequest(BigDecimal.valueOf(2000),1L,1L, OppositePartyType.IBAN,"TR123123");
 
         TransactionResponse transactionResponse = TransactionResponse.builder()
-                .amount(BigDecimal.valueOf(2000))
+                .amount(Money.of(2000))
                 .type(Type.DEPOSIT)
                 .oppositePartyType(OppositePartyType.IBAN)
                 .oppositeParty("TR123123")
@@ -81,7 +95,7 @@ public class TransactionControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(depositRequest)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.amount").value(BigDecimal.valueOf(2000)))
+                .andExpect(jsonPath("$.amount").value(2000.0))
                 .andExpect(jsonPath("$.type").value(Type.DEPOSIT.toString()))
                 .andExpect(jsonPath("$.oppositePartyType").value(OppositePartyType.IBAN.toString()))
                 .andExpect(jsonPath("$.oppositeParty").value("TR123123"))
@@ -128,7 +142,7 @@ public class TransactionControllerTest {
         WithdrawRequest withdrawRequest = new WithdrawRequest(BigDecimal.valueOf(2000),1L,1L, OppositePartyType.IBAN,"TR123123");
 
         TransactionResponse transactionResponse = TransactionResponse.builder()
-                .amount(BigDecimal.valueOf(2000))
+                .amount(Money.of(2000))
                 .type(Type.WITHDRAW)
                 .oppositePartyType(OppositePartyType.IBAN)
                 .oppositeParty("TR123123")
@@ -141,7 +155,7 @@ public class TransactionControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(withdrawRequest)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.amount").value(BigDecimal.valueOf(2000)))
+                .andExpect(jsonPath("$.amount").value(2000.0))
                 .andExpect(jsonPath("$.type").value(Type.WITHDRAW.toString()))
                 .andExpect(jsonPath("$.oppositePartyType").value(OppositePartyType.IBAN.toString()))
                 .andExpect(jsonPath("$.oppositeParty").value("TR123123"))
@@ -165,22 +179,74 @@ public class TransactionControllerTest {
     void givenValidCustomerIdAndWalletId_whenGetWalletTransactions_thenListedTransactions() throws Exception {
 
         List<TransactionResponse> transactionResponseList = List.of(TransactionResponse.builder()
-                .amount(BigDecimal.valueOf(2000))
+                .amount(Money.of(2000))
                 .type(Type.WITHDRAW)
                 .oppositePartyType(OppositePartyType.IBAN)
                 .oppositeParty("TR123123")
                 .status(Status.PENDING)
                 .build());
 
-        when(transactionService.getWalletTransactions(any(Long.class), any(Long.class))).thenReturn(transactionResponseList);
+        when(transactionService.getWalletTransactions(any(Long.class), any(Long.class), any(Pageable.class))).thenReturn(transactionResponseList);
 
         mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/transactions/list")
                         .header("walletId", 1L)
                         .header("customerId", 1L))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"wallet-1-3-7\""))
                 .andExpect(jsonPath("$", hasSize(1)));
 
-        verify(transactionService, times(1)).getWalletTransactions(any(Long.class), any(Long.class));
+        verify(transactionService, times(1)).getWalletTransactions(any(Long.class), any(Long.class), any(Pageable.class));
+    }
+
+    @Test
+    void givenMatchingETag_whenGetWalletTransactions_thenNotModifiedWithoutQuery() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/transactions/list")
+                        .header("walletId", 1L)
+                        .header("customerId", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"wallet-1-3-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(result -> assertThat(result.getResponse().getContentAsByteArray()).isEmpty());
+
+        verify(transactionService, never()).getWalletTransactions(any(Long.class), any(Long.class), any(Pageable.class));
+    }
+
+    @Test
+    void givenPageParameters_whenGetWalletTransactions_thenRequestedPageSortedById() throws Exception {
+
+        when(transactionService.getWalletTransactions(any(Long.class), any(Long.class), any(Pageable.class))).thenReturn(List.of());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/transactions/list")
+                        .header("walletId", 1L)
+                        .header("customerId", 1L)
+                        .param("page", "2")
+                        .param("size", "10"))
+                .andExpect(status().isOk());
+
+        verify(transactionService, times(1)).getWalletTransactions(1L, 1L, PageRequest.of(2, 10, Sort.by("id")));
+    }
+
+    @Test
+    void givenSize_whenGetPendingTransactions_thenListedPendingTransactions() throws Exception {
+        List<PendingTransactionResponse> pending = List.of(PendingTransactionResponse.builder()
+                .id(4L)
+                .walletId(1L)
+                .amount(Money.of(2000))
+                .type(Type.DEPOSIT)
+                .oppositePartyType(OppositePartyType.IBAN)
+                .oppositeParty("TR123123")
+                .build());
+
+        when(transactionService.getPendingTransactions(10)).thenReturn(pending);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/transactions/pending")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(4))
+                .andExpect(jsonPath("$[0].walletId").value(1));
+
+        verify(transactionService, times(1)).getPendingTransactions(10);
     }
 
     @Test
@@ -188,7 +254,7 @@ public class TransactionControllerTest {
         TransactionUpdateRequest transactionUpdateRequest = new TransactionUpdateRequest(Status.APPROVED);
 
         TransactionResponse transactionResponse = TransactionResponse.builder()
-                .amount(BigDecimal.valueOf(2000))
+                .amount(Money.of(2000))
                 .type(Type.WITHDRAW)
                 .oppositePartyType(OppositePartyType.IBAN)
                 .oppositeParty("TR123123")
@@ -201,7 +267,7 @@ public class TransactionControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(transactionUpdateRequest)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.amount").value(BigDecimal.valueOf(2000)))
+                .andExpect(jsonPath("$.amount").value(2000.0))
                 .andExpect(jsonPath("$.type").value("WITHDRAW"))
                 .andExpect(jsonPath("$.oppositePartyType").value(OppositePartyType.IBAN.toString()))
                 .andExpect(jsonPath("$.oppositeParty").value("TR123123"))
@@ -226,4 +292,46 @@ public class TransactionControllerTest {
 
         verify(transactionService, times(1)).updateTransaction(any(Long.class), any(TransactionUpdateRequest.class));
     }
+
+    @Test
+    void givenWithdrawOverVelocityLimit_whenWithdraw_thenBadRequestWithMessage() throws Exception {
+
+        WithdrawRequest withdrawRequest = new WithdrawRequest(BigDecimal.valueOf(2000),1L,1L, OppositePartyType.PAYMENT,"shop");
+
+        when(transactionService.withdraw(any(WithdrawRequest.class)))
+                .thenThrow(new VelocityLimitExceededException("Hourly payment limit of 5000 exceeded for this wallet"));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/v1/transactions/withdraw")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(withdrawRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Hourly payment limit of 5000 exceeded for this wallet"));
+    }
+
+    @Test
+    void givenCustomerOverRateLimit_whenDeposit_thenTooManyRequestsWithRetryAfter() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getLimits().put(Role.CUSTOMER, new RateLimitProperties.Limit(0.5, 1));
+        MockMvc limitedMockMvc = MockMvcBuilders.standaloneSetup(transactionController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addInterceptors(new RateLimitInterceptor(new RateLimiter(100), properties))
+                .build();
+        DepositRequest depositRequest = new DepositRequest(BigDecimal.valueOf(100), 1L, 1L, OppositePartyType.IBAN, "TR123123");
+        when(transactionService.deposit(any(DepositRequest.class))).thenReturn(TransactionResponse.builder().build());
+
+        for (int i = 0; i < 2; i++) {
+            limitedMockMvc.perform(MockMvcRequestBuilders.post("/api/v1/transactions/deposit")
+                            .principal(() -> "1")
+                            .with(request -> {
+                                request.addUserRole(Role.CUSTOMER.name());
+                                return request;
+                            })
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(depositRequest)))
+                    .andExpect(i == 0 ? status().isOk() : status().isTooManyRequests())
+                    .andExpect(i == 0 ? header().doesNotExist(HttpHeaders.RETRY_AFTER) : header().string(HttpHeaders.RETRY_AFTER, "2"));
+        }
+
+        verify(transactionService, times(1)).deposit(any(DepositRequest.class));
+    }
 }
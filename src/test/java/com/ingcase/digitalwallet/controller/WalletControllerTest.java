@@ -5,6 +5,8 @@ import com.ingcase.digitalwallet.exception.GlobalExceptionHandler;
 import com.ingcase.digitalwallet.model.dto.WalletCreateRequest;
 import com.ingcase.digitalwallet.model.dto.WalletResponse;
 import com.ingcase.digitalwallet.model.enums.Currency;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.VersionStamp;
 import com.ingcase.digitalwallet.service.WalletService;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
@@ -15,13 +17,13 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Set;
 
@@ -30,6 +32,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -55,6 +58,7 @@ public class WalletControllerTest {
         ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
         validator = factory.getValidator();
         objectMapper = new ObjectMapper();
+        when(walletService.getCustomerWalletsVersion(any(Long.class))).thenReturn(new VersionStamp(5L, 2L));
     }
 
     @Test
@@ -67,8 +71,8 @@ public class WalletControllerTest {
                 .currency(Currency.EUR)
                 .activeForShopping(true)
                 .activeForWithdraw(true)
-                .balance(BigDecimal.ZERO)
-                .usableBalance(BigDecimal.ZERO)
+                .balance(Money.ZERO)
+                .usableBalance(Money.ZERO)
                 .build();
 
         when(walletService.createWallet(any(WalletCreateRequest.class))).thenReturn(walletResponse);
@@ -81,8 +85,8 @@ public class WalletControllerTest {
                 .andExpect(jsonPath("$.currency").value("EUR"))
                 .andExpect(jsonPath("$.activeForShopping").value(true))
                 .andExpect(jsonPath("$.activeForWithdraw").value(true))
-                .andExpect(jsonPath("$.balance").value(BigDecimal.ZERO))
-                .andExpect(jsonPath("$.usableBalance").value(BigDecimal.ZERO));
+                .andExpect(jsonPath("$.balance").value(0.0))
+                .andExpect(jsonPath("$.usableBalance").value(0.0));
 
         verify(walletService, times(1)).createWallet(any(WalletCreateRequest.class));
     }
@@ -129,8 +133,8 @@ public class WalletControllerTest {
                 .currency(Currency.EUR)
                 .activeForShopping(true)
                 .activeForWithdraw(true)
-                .balance(BigDecimal.ZERO)
-                .usableBalance(BigDecimal.ZERO)
+                .balance(Money.ZERO)
+                .usableBalance(Money.ZERO)
                 .build());
 
         when(walletService.getCustomerWallets(any(Long.class))).thenReturn(walletResponseList);
@@ -138,9 +142,21 @@ public class WalletControllerTest {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/wallets/{customerId}", 1L)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"wallets-5-2\""))
                 .andExpect(jsonPath("$", hasSize(1)));
 
         verify(walletService, times(1)).getCustomerWallets(any(Long.class));
     }
+
+    @Test
+    void givenMatchingETag_whenGetCustomerWallets_thenNotModifiedWithoutQuery() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/wallets/{customerId}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "W/\"wallets-5-2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(result -> assertThat(result.getResponse().getContentAsByteArray()).isEmpty());
+
+        verify(walletService, never()).getCustomerWallets(any(Long.class));
+    }
 }
 
@@ -0,0 +1,59 @@
+package com.ingcase.digitalwallet.decision;
+
+import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.WithdrawRequest;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.auto-decision.enabled=true",
+        "app.auto-decision.interval=1h",
+        "app.auto-decision.chunk-size=1",
+        "app.auto-decision.parallelism=2",
+        "app.auto-decision.approve[0].type=DEPOSIT",
+        "app.auto-decision.approve[0].max-amount=5000",
+        "app.auto-decision.deny[0].type=WITHDRAW",
+        "app.auto-decision.deny[0].opposite-party-type=PAYMENT",
+        "app.auto-decision.deny[0].min-amount=1200"
+})
+@ActiveProfiles("test")
+class AutoDecisionJobTest {
+
+    @Autowired
+    private AutoDecisionJob autoDecisionJob;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenPendingTransactions_whenDecided_thenMatchingOnesSettledOnceWithNetBalanceChange() {
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(2500), 1L, 1L, OppositePartyType.IBAN, "TR123123"));
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(8000), 1L, 1L, OppositePartyType.IBAN, "TR123123"));
+        transactionService.withdraw(new WithdrawRequest(BigDecimal.valueOf(1500), 1L, 1L, OppositePartyType.PAYMENT, "shop"));
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(3000), 4L, 3L, OppositePartyType.IBAN, "TR123123"));
+
+        assertThat(autoDecisionJob.decide()).isEqualTo(3);
+        assertThat(autoDecisionJob.decide()).isZero();
+
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM transactions ORDER BY id", String.class))
+                .containsExactly("APPROVED", "PENDING", "DENIED", "APPROVED");
+        Map<String, Object> wallet = jdbcTemplate.queryForMap("SELECT balance, usable_balance FROM wallets WHERE id = 1");
+        assertThat(wallet.get("BALANCE")).isEqualTo(new BigDecimal("15500.00"));
+        assertThat(wallet.get("USABLE_BALANCE")).isEqualTo(new BigDecimal("7500.00"));
+        assertThat(jdbcTemplate.queryForObject("SELECT usable_balance FROM wallets WHERE id = 4", BigDecimal.class))
+                .isEqualByComparingTo("5000");
+    }
+}
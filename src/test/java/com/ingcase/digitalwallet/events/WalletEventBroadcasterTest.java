@@ -0,0 +1,83 @@
+package com.ingcase.digitalwallet.events;
+
+import com.ingcase.digitalwallet.controller.WalletController;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.service.WalletService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class WalletEventBroadcasterTest {
+
+    private final WalletEventProperties properties = new WalletEventProperties();
+    private WalletEventBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Test
+    void givenOpenStream_whenBalanceChangesCommitted_thenOnlyOwnCustomersEventsAreStreamed() throws Exception {
+        MvcResult stream = openStream(1L);
+
+        broadcaster.onBalanceChanged(event(2L, 9L, 100, Status.APPROVED));
+        broadcaster.onBalanceChanged(event(1L, 1L, 2500, Status.PENDING));
+
+        MockHttpServletResponse response = stream.getResponse();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> response.getContentAsString().contains("\"transactionId\":1"));
+        assertThat(response.getContentAsString())
+                .contains("event:balance")
+                .contains("\"balance\":2500.00")
+                .contains("\"transactionStatus\":\"PENDING\"")
+                .doesNotContain("\"walletId\":9");
+    }
+
+    @Test
+    void givenHeartbeatInterval_whenStreamIdle_thenHeartbeatCommentsAreSent() throws Exception {
+        properties.setHeartbeatInterval(Duration.ofMillis(50));
+        MvcResult stream = openStream(1L);
+
+        MockHttpServletResponse response = stream.getResponse();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> response.getContentAsString().contains(":heartbeat"));
+    }
+
+    @Test
+    void givenMoreWalletsBufferedThanCapacity_whenOffered_thenStreamIsClosed() throws Exception {
+        properties.setBufferCapacity(0);
+        MvcResult stream = openStream(1L);
+
+        broadcaster.onBalanceChanged(event(1L, 1L, 100, Status.APPROVED));
+
+        assertThat(broadcaster.subscriberCount(1L)).isZero();
+        assertThat(stream.getResponse().getContentAsString()).doesNotContain("event:balance");
+    }
+
+    private MvcResult openStream(Long customerId) throws Exception {
+        broadcaster = new WalletEventBroadcaster(properties);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new WalletController(mock(WalletService.class), broadcaster)).build();
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/wallets/{customerId}/events", customerId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(broadcaster.subscriberCount(customerId)).isEqualTo(1);
+        return result;
+    }
+
+    private static WalletBalanceChangedEvent event(Long customerId, Long walletId, long balance, Status status) {
+        return new WalletBalanceChangedEvent(customerId, walletId, Money.of(balance), Money.of(balance), 1L, Type.DEPOSIT, status, null, null);
+    }
+}
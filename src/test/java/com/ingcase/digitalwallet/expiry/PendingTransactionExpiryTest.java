@@ -0,0 +1,55 @@
+package com.ingcase.digitalwallet.expiry;
+
+import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.WithdrawRequest;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.pending-expiry.ttl=1h",
+        "app.pending-expiry.tick=1h",
+        "app.pending-expiry.batch-size=1"
+})
+@ActiveProfiles("test")
+class PendingTransactionExpiryTest {
+
+    @Autowired
+    private PendingTransactionExpiry pendingTransactionExpiry;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenPendingTransactions_whenOverdue_thenDeniedOnceAndBalancesRestored() {
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(2500), 1L, 1L, OppositePartyType.IBAN, "TR123123"));
+        transactionService.withdraw(new WithdrawRequest(BigDecimal.valueOf(1500), 1L, 1L, OppositePartyType.PAYMENT, "shop"));
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(500), 1L, 1L, OppositePartyType.IBAN, "TR123123"));
+
+        long now = System.currentTimeMillis();
+        assertThat(pendingTransactionExpiry.expire(now)).isZero();
+        assertThat(pendingTransactionExpiry.expire(now + Duration.ofHours(2).toMillis())).isEqualTo(2);
+        assertThat(pendingTransactionExpiry.expire(now + Duration.ofHours(4).toMillis())).isZero();
+
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM transactions ORDER BY id", String.class))
+                .containsExactly("DENIED", "DENIED", "APPROVED");
+        Map<String, Object> wallet = jdbcTemplate.queryForMap("SELECT balance, usable_balance FROM wallets WHERE id = 1");
+        assertThat(wallet.get("BALANCE")).isEqualTo(new BigDecimal("5500.00"));
+        assertThat(wallet.get("USABLE_BALANCE")).isEqualTo(new BigDecimal("5500.00"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE event_type = 'TRANSACTION_DENIED'", Integer.class))
+                .isEqualTo(2);
+    }
+}
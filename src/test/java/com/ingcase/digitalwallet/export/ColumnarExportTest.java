@@ -0,0 +1,77 @@
+package com.ingcase.digitalwallet.export;
+
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarExportTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void givenRowsInSeveralGroups_whenWrittenAndRead_thenRowsAndSingleColumnsRoundTrip() throws IOException {
+        List<ArchivedTransactionView> rows = List.of(
+                row(5L, 1L, Money.ofMinor(12_345), Type.DEPOSIT, Status.APPROVED, "IBAN", "TR123123", "2025-01-01 10:00:00.123456"),
+                row(9L, 1L, Money.ofMinor(-1), Type.WITHDRAW, Status.DENIED, "PAYMENT", null, "2024-12-31 23:59:59"),
+                row(2L, 4L, Money.of(2500), Type.DEPOSIT, Status.PENDING, "IBAN", "TR123123", "2025-02-01 00:00:00"));
+        Path file = directory.resolve("transactions.dwc");
+
+        RowGroupEncoder encoder = new RowGroupEncoder(2);
+        try (ColumnarExportWriter writer = ColumnarExportWriter.create(file)) {
+            for (ArchivedTransactionView row : rows) {
+                if (encoder.add(row)) {
+                    writer.append(encoder.encode());
+                }
+            }
+            writer.append(encoder.encode());
+            assertThat(writer.finish()).isEqualTo(Files.size(file));
+        }
+
+        try (ColumnarExportReader reader = ColumnarExportReader.open(file)) {
+            assertThat(reader.getRowCount()).isEqualTo(3);
+            assertThat(reader.getRowGroups()).extracting(ColumnarExportReader.RowGroup::minWalletId).containsExactly(1L, 4L);
+
+            List<ArchivedTransactionView> read = new ArrayList<>();
+            for (ColumnarExportReader.RowGroup group : reader.getRowGroups()) {
+                read.addAll(reader.readRows(group));
+            }
+            assertThat(read).containsExactlyElementsOf(rows);
+
+            ColumnarExportReader.RowGroup first = reader.getRowGroups().get(0);
+            assertThat(reader.readLongs(first, TransactionColumn.AMOUNT)).containsExactly(12_345L, -1L);
+            assertThat(reader.readStrings(first, TransactionColumn.STATUS)).containsExactly("APPROVED", "DENIED");
+            assertThatThrownBy(() -> reader.readLongs(first, TransactionColumn.TYPE)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void givenWriterClosedWithoutFinish_whenClosed_thenNoFileLeftBehind() throws IOException {
+        Path file = directory.resolve("transactions.dwc");
+
+        ColumnarExportWriter.create(file).close();
+
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private static ArchivedTransactionView row(Long id, Long walletId, Money amount, Type type, Status status,
+                                               String oppositePartyType, String oppositeParty, String createDate) {
+        return new ArchivedTransactionView(id, walletId, amount, type, oppositePartyType, oppositeParty, status,
+                Timestamp.valueOf(createDate));
+    }
+}
@@ -0,0 +1,79 @@
+package com.ingcase.digitalwallet.export;
+
+import com.ingcase.digitalwallet.archive.TransactionArchiver;
+import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.ExportResponse;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.ArchivedTransactionView;
+import com.ingcase.digitalwallet.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports with small row groups and two workers, so rows of one wallet span several groups.
+ */
+@SpringBootTest(properties = {
+        "app.export.parallelism=2",
+        "app.export.row-group-size=2"
+})
+@ActiveProfiles("test")
+class TransactionExporterTest {
+
+    @Autowired
+    private TransactionExporter transactionExporter;
+
+    @Autowired
+    private TransactionArchiver transactionArchiver;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ExportProperties exportProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenHotAndArchivedTransactions_whenExported_thenEveryRowOnceInWalletAndIdOrder() throws IOException {
+        deposit(1L, 1L, 100);
+        deposit(1L, 1L, 200);
+        deposit(3L, 3L, 300);
+        jdbcTemplate.update("UPDATE transactions SET create_date = DATEADD('DAY', -200, create_date) WHERE wallet_id = 1");
+        assertThat(transactionArchiver.archive()).isEqualTo(2);
+        deposit(1L, 1L, 400);
+        deposit(3L, 5L, 500);
+
+        ExportResponse response = transactionExporter.export();
+
+        assertThat(response.getRows()).isEqualTo(5);
+        List<ArchivedTransactionView> rows = new ArrayList<>();
+        try (ColumnarExportReader reader = ColumnarExportReader.open(exportProperties.getDirectory().resolve(response.getFile()))) {
+            assertThat(reader.getRowGroups()).hasSizeGreaterThan(1);
+            for (ColumnarExportReader.RowGroup group : reader.getRowGroups()) {
+                rows.addAll(reader.readRows(group));
+            }
+        }
+        rows.sort((first, second) -> first.walletId().equals(second.walletId())
+                ? first.id().compareTo(second.id())
+                : first.walletId().compareTo(second.walletId()));
+        assertThat(rows).extracting(ArchivedTransactionView::amount)
+                .containsExactly(Money.of(100), Money.of(200), Money.of(400), Money.of(300), Money.of(500));
+    }
+
+    private void deposit(Long customerId, Long walletId, long amount) {
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(amount), walletId, customerId, OppositePartyType.IBAN, "TR123123"));
+    }
+}
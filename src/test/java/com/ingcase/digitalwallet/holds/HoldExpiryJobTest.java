@@ -0,0 +1,93 @@
+package com.ingcase.digitalwallet.holds;
+
+import com.ingcase.digitalwallet.events.WalletBalanceChangedEvent;
+import com.ingcase.digitalwallet.exception.InsufficientBalanceException;
+import com.ingcase.digitalwallet.exception.PaymentNotAllowedException;
+import com.ingcase.digitalwallet.model.dto.HoldRequest;
+import com.ingcase.digitalwallet.model.dto.HoldResponse;
+import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.enums.HoldStatus;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.service.HoldService;
+import com.ingcase.digitalwallet.service.WalletService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "app.holds.tick=1h"
+})
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class HoldExpiryJobTest {
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private HoldExpiryJob holdExpiryJob;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void givenHolds_whenCapturedReleasedAndExpired_thenUsableBalanceFollows() {
+        HoldResponse captured = holdService.placeHold(new HoldRequest(BigDecimal.valueOf(1000), 1L, 1L, "shop", null));
+        HoldResponse released = holdService.placeHold(new HoldRequest(BigDecimal.valueOf(500), 1L, 1L, "shop", 60L));
+        holdService.placeHold(new HoldRequest(BigDecimal.valueOf(250), 1L, 1L, "shop", 60L));
+        assertThat(jdbcTemplate.queryForObject("SELECT usable_balance FROM wallets WHERE id = 1", BigDecimal.class))
+                .isEqualByComparingTo("3250");
+
+        assertThatThrownBy(() -> holdService.placeHold(new HoldRequest(BigDecimal.valueOf(4000), 1L, 1L, "shop", null)))
+                .isInstanceOf(InsufficientBalanceException.class);
+        assertThatThrownBy(() -> holdService.placeHold(new HoldRequest(BigDecimal.valueOf(10), 4L, 3L, "shop", null)))
+                .isInstanceOf(PaymentNotAllowedException.class);
+
+        assertThat(holdService.captureHold(captured.getId(), 1L, BigDecimal.valueOf(600)).getStatus()).isEqualTo(HoldStatus.CAPTURED);
+        assertThat(holdService.releaseHold(released.getId(), 1L).getStatus()).isEqualTo(HoldStatus.RELEASED);
+        assertThatThrownBy(() -> holdService.releaseHold(released.getId(), 1L)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(holdExpiryJob.expire(System.currentTimeMillis() + Duration.ofHours(2).toMillis())).isEqualTo(1);
+        assertThat(holdExpiryJob.expire(System.currentTimeMillis() + Duration.ofDays(8).toMillis())).isZero();
+
+        assertThat(jdbcTemplate.queryForList("SELECT status FROM holds WHERE wallet_id = 1 ORDER BY id", String.class))
+                .containsExactly("CAPTURED", "RELEASED", "EXPIRED");
+        Map<String, Object> wallet = jdbcTemplate.queryForMap("SELECT balance, usable_balance FROM wallets WHERE id = 1");
+        assertThat(wallet.get("BALANCE")).isEqualTo(new BigDecimal("4400.00"));
+        assertThat(wallet.get("USABLE_BALANCE")).isEqualTo(new BigDecimal("4400.00"));
+        assertThat(events.stream(WalletBalanceChangedEvent.class).map(WalletBalanceChangedEvent::holdStatus))
+                .containsExactly(HoldStatus.ACTIVE, HoldStatus.ACTIVE, HoldStatus.ACTIVE,
+                        HoldStatus.CAPTURED, HoldStatus.RELEASED, HoldStatus.EXPIRED);
+    }
+
+    @Test
+    void givenWalletReadBefore_whenHoldPlaced_thenNextReadSeesReducedUsableBalance() {
+        Money usable = walletService.findByCustomerIdAndId(3L, 5L).getUsableBalance();
+
+        holdService.placeHold(new HoldRequest(BigDecimal.TEN, 5L, 3L, "shop", null));
+
+        assertThat(entityManagerFactory.getCache().contains(Wallet.class, 5L)).isFalse();
+        assertThat(walletService.findByCustomerIdAndId(3L, 5L).getUsableBalance()).isEqualTo(usable.subtract(Money.of(10)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.ingcase.digitalwallet.model.dto;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.ingcase.digitalwallet.model.enums.Currency;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseSerializerTest {
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    private interface Reflective {
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ObjectMapper reflectiveMapper = new ObjectMapper()
+            .addMixIn(TransactionResponse.class, Reflective.class)
+            .addMixIn(WalletResponse.class, Reflective.class);
+
+    @Test
+    void givenWalletResponse_whenSerialized_thenSameJsonAsBeanSerializer() throws Exception {
+        WalletResponse wallet = new WalletResponse(7L, "Main \"wallet\"", Currency.EUR, true, false, Money.of(5000),
+                Money.ofMinor(-5), Timestamp.valueOf(LocalDateTime.of(2026, 3, 1, 23, 59, 58, 123_000_000)));
+        WalletResponse empty = WalletResponse.builder().build();
+
+        assertThat(objectMapper.writeValueAsString(wallet)).isEqualTo(reflectiveMapper.writeValueAsString(wallet));
+        assertThat(objectMapper.writeValueAsString(wallet)).doesNotContain("\"id\"");
+        assertThat(objectMapper.writeValueAsString(empty)).isEqualTo(reflectiveMapper.writeValueAsString(empty));
+    }
+
+    @Test
+    void givenTransactionResponse_whenSerialized_thenSameJsonAsBeanSerializer() throws Exception {
+        TransactionResponse transaction = new TransactionResponse(Money.of(100), Type.WITHDRAW, OppositePartyType.IBAN,
+                "TR123123", Status.PENDING);
+        TransactionResponse empty = TransactionResponse.builder().build();
+
+        assertThat(objectMapper.writeValueAsString(transaction)).isEqualTo(reflectiveMapper.writeValueAsString(transaction));
+        assertThat(objectMapper.writeValueAsString(empty)).isEqualTo(reflectiveMapper.writeValueAsString(empty));
+    }
+}
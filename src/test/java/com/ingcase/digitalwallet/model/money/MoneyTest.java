@@ -0,0 +1,44 @@
+package com.ingcase.digitalwallet.model.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void givenDecimalAmount_whenConverted_thenMinorUnitsKeepScaleTwo() {
+        assertThat(Money.of(new BigDecimal("12.5")).getMinorUnits()).isEqualTo(1250L);
+        assertThat(Money.of(new BigDecimal("5000.00"))).isEqualTo(Money.of(5000));
+        assertThat(Money.of(new BigDecimal("-0.05")).toString()).isEqualTo("-0.05");
+        assertThat(Money.ofMinor(123456).toBigDecimal()).isEqualTo(new BigDecimal("1234.56"));
+    }
+
+    @Test
+    void givenTooManyFractionDigits_whenConverted_thenThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1.005")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void givenArithmeticOverflow_whenAdd_thenThrowArithmeticException() {
+        Money max = Money.ofMinor(Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> max.add(Money.ofMinor(1)))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofMinor(Long.MIN_VALUE).subtract(Money.ofMinor(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void givenMoney_whenSerialized_thenWrittenAsDecimalNumber() throws Exception {
+        assertThat(objectMapper.writeValueAsString(Money.of(2000))).isEqualTo("2000.00");
+        assertThat(objectMapper.readValue("2000.5", Money.class)).isEqualTo(Money.ofMinor(200050));
+    }
+}
@@ -0,0 +1,94 @@
+package com.ingcase.digitalwallet.onboarding;
+
+import com.ingcase.digitalwallet.model.dto.ImportResponse;
+import com.ingcase.digitalwallet.model.dto.WalletResponse;
+import com.ingcase.digitalwallet.service.WalletService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "app.import.chunk-size=2"
+})
+@ActiveProfiles("test")
+class WalletImporterTest {
+
+    @Autowired
+    private WalletImporter walletImporter;
+
+    @Autowired
+    private ImportProperties properties;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenMixedRows_whenImported_thenValidRowsWrittenAndOthersRejected() throws Exception {
+        String csv = """
+                tckn,name,surname,wallet_name,currency,active_for_shopping,active_for_withdraw
+                12345678901,Ayse,Yilmaz,Main wallet,TRY,true,true
+                12345678901,Ayse,Yilmaz,Savings,EUR,false,false
+                11111111111,Atilla,Han,Extra,USD,true,false
+                98765432109,"Can, Jr",Demir,Daily,TRY,TRUE,FALSE
+                123,Bad,Tckn,Wallet,TRY,true,true
+                12345678901,Ayse,Yilmaz,ab,TRY,true,true
+                55555555555,Ali,Veli,Wallet,GBP,true,true
+                55555555555,Ali,Veli,Wallet,TRY,yes,true
+                12345678901,Ayse,Yilmaz,Later,TRY,true,true
+                """;
+
+        ImportResponse response = walletImporter.importWallets(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(response.getRows()).isEqualTo(9);
+        assertThat(response.getWalletsCreated()).isEqualTo(5);
+        assertThat(response.getCustomersCreated()).isEqualTo(2);
+        assertThat(response.getRejected()).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForList("""
+                SELECT w.wallet_name FROM wallets w JOIN customers c ON c.id = w.customer_id
+                WHERE c.tckn = '12345678901' ORDER BY w.id""", String.class))
+                .containsExactly("Main wallet", "Savings", "Later");
+        assertThat(jdbcTemplate.queryForList("SELECT wallet_name FROM wallets WHERE customer_id = 1", String.class)).contains("Extra");
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM customers WHERE tckn = '98765432109'", String.class))
+                .isEqualTo("Can, Jr");
+
+        List<String> errors = Files.readAllLines(properties.getDirectory().resolve(response.getErrorFile()));
+        assertThat(errors).hasSize(5);
+        assertThat(errors.get(1)).startsWith("6,\"tckn must be 11 digits\"");
+        assertThat(errors.get(2)).startsWith("7,\"wallet name must be between 3 and 32 characters long\"");
+        assertThat(errors.get(3)).startsWith("8,\"unknown currency GBP\"");
+        assertThat(errors.get(4)).startsWith("9,\"not a boolean: yes\"");
+    }
+
+    @Test
+    void givenCachedWalletList_whenWalletImportedForExistingCustomer_thenListedAfterImport() {
+        assertThat(walletService.getCustomerWallets(1L)).extracting(WalletResponse::walletName).doesNotContain("Imported");
+        String csv = """
+                tckn,name,surname,wallet_name,currency,active_for_shopping,active_for_withdraw
+                11111111111,Atilla,Han,Imported,EUR,true,true
+                """;
+
+        walletImporter.importWallets(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(walletService.getCustomerWallets(1L)).extracting(WalletResponse::walletName).contains("Imported");
+    }
+
+    @Test
+    void givenMissingHeader_whenImported_thenRejected() {
+        ByteArrayInputStream input = new ByteArrayInputStream("12345678901,Ayse,Yilmaz,Main,TRY,true,true\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> walletImporter.importWallets(input)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
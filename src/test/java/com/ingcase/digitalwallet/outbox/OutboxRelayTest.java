@@ -0,0 +1,82 @@
+package com.ingcase.digitalwallet.outbox;
+
+import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.TransactionUpdateRequest;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.OutboxEventType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * The relay also runs on its schedule here, so the assertions wait for delivery instead of calling it once.
+ */
+@SpringBootTest(properties = {
+        "app.outbox.batch-size=2",
+        "app.outbox.poll-interval=100ms"
+})
+@ActiveProfiles("test")
+class OutboxRelayTest {
+
+    @TestConfiguration
+    static class CollectingListenerConfig {
+
+        @Bean
+        CollectingListener collectingListener() {
+            return new CollectingListener();
+        }
+    }
+
+    static class CollectingListener implements OutboxListener {
+
+        final List<OutboxMessage> messages = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onMessage(OutboxMessage message) {
+            messages.add(message);
+        }
+    }
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CollectingListener listener;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenCommittedTransactions_whenRelayed_thenEventsDeliveredInOrderAndMarkedProcessed() {
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(2500), 1L, 1L, OppositePartyType.IBAN, "TR123123"));
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(100), 1L, 1L, OppositePartyType.IBAN, "TR123123"));
+        Long pendingId = jdbcTemplate.queryForObject("SELECT id FROM transactions WHERE status = 'PENDING'", Long.class);
+        transactionService.updateTransaction(pendingId, new TransactionUpdateRequest(Status.APPROVED));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> listener.messages.size() == 3);
+
+        List<OutboxMessage> pendingEvents = listener.messages.stream()
+                .filter(message -> message.aggregateId().equals(pendingId))
+                .toList();
+        assertThat(pendingEvents).extracting(OutboxMessage::type)
+                .containsExactly(OutboxEventType.TRANSACTION_CREATED, OutboxEventType.TRANSACTION_APPROVED);
+        assertThat(pendingEvents.get(0).payload()).contains("\"amount\":2500.00", "\"status\":\"PENDING\"");
+        assertThat(pendingEvents.get(1).payload()).contains("\"status\":\"APPROVED\"");
+        await().atMost(5, TimeUnit.SECONDS).until(() -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_events WHERE processed_at IS NULL", Integer.class) == 0);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ingcase.digitalwallet.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final RateLimitProperties.Limit TWO_PER_SECOND_BURST_THREE = new RateLimitProperties.Limit(2, 3);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final RateLimiter rateLimiter = new RateLimiter(2, clock::get);
+
+    @Test
+    void givenBurstUsedUp_whenAcquired_thenRejectedUntilOneIntervalPassed() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.acquire("1", TWO_PER_SECOND_BURST_THREE).allowed()).isTrue();
+        }
+
+        RateLimiter.Decision rejected = rateLimiter.acquire("1", TWO_PER_SECOND_BURST_THREE);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfter()).isEqualTo(Duration.ofMillis(500));
+        assertThat(rateLimiter.acquire("2", TWO_PER_SECOND_BURST_THREE).allowed()).isTrue();
+
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        assertThat(rateLimiter.acquire("1", TWO_PER_SECOND_BURST_THREE).allowed()).isTrue();
+        assertThat(rateLimiter.acquire("1", TWO_PER_SECOND_BURST_THREE).allowed()).isFalse();
+    }
+
+    @Test
+    void givenBucketsRefilled_whenTableFull_thenIdleBucketsEvicted() {
+        rateLimiter.acquire("1", TWO_PER_SECOND_BURST_THREE);
+        rateLimiter.acquire("2", TWO_PER_SECOND_BURST_THREE);
+        assertThat(rateLimiter.evictIdle()).isZero();
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        rateLimiter.acquire("3", TWO_PER_SECOND_BURST_THREE);
+
+        assertThat(rateLimiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void givenTableFullOfActiveBuckets_whenNewKeysAcquire_thenRejectedWithoutGrowingUntilNextScan() {
+        rateLimiter.acquire("1", TWO_PER_SECOND_BURST_THREE);
+        rateLimiter.acquire("2", TWO_PER_SECOND_BURST_THREE);
+
+        assertThat(rateLimiter.acquire("3", TWO_PER_SECOND_BURST_THREE).allowed()).isFalse();
+        clock.addAndGet(Duration.ofMillis(100).toNanos());
+        RateLimiter.Decision rejected = rateLimiter.acquire("4", TWO_PER_SECOND_BURST_THREE);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfter()).isEqualTo(RateLimiter.EVICTION_BACKOFF.minusMillis(100));
+        assertThat(rateLimiter.acquire("1", TWO_PER_SECOND_BURST_THREE).allowed()).isTrue();
+        assertThat(rateLimiter.size()).isEqualTo(2);
+
+        clock.addAndGet(RateLimiter.EVICTION_BACKOFF.toNanos());
+        assertThat(rateLimiter.acquire("3", TWO_PER_SECOND_BURST_THREE).allowed()).isTrue();
+    }
+}
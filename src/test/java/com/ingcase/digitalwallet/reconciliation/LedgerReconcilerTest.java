@@ -0,0 +1,72 @@
+package com.ingcase.digitalwallet.reconciliation;
+
+import com.ingcase.digitalwallet.archive.TransactionArchiver;
+import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.HoldRequest;
+import com.ingcase.digitalwallet.model.dto.WithdrawRequest;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.service.HoldService;
+import com.ingcase.digitalwallet.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.reconciliation.range-size=2",
+        "app.reconciliation.parallelism=2"
+})
+@ActiveProfiles("test")
+class LedgerReconcilerTest {
+
+    @Autowired
+    private LedgerReconciler ledgerReconciler;
+
+    @Autowired
+    private ReconciliationProperties properties;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private TransactionArchiver transactionArchiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenArchivedPendingAndHeldAmounts_whenReconciled_thenOnlyTamperedWalletReported() throws Exception {
+        jdbcTemplate.update("UPDATE wallets SET balance = 0, usable_balance = 0");
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(800), 1L, 1L, OppositePartyType.IBAN, "TR123123"));
+        transactionService.withdraw(new WithdrawRequest(BigDecimal.valueOf(300), 1L, 1L, OppositePartyType.PAYMENT, "shop"));
+        jdbcTemplate.update("UPDATE transactions SET create_date = DATEADD('DAY', -200, create_date)");
+        assertThat(transactionArchiver.archive()).isEqualTo(2);
+
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(2500), 1L, 1L, OppositePartyType.IBAN, "TR123123"));
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(900), 4L, 3L, OppositePartyType.IBAN, "TR123123"));
+        transactionService.withdraw(new WithdrawRequest(BigDecimal.valueOf(100), 4L, 3L, OppositePartyType.IBAN, "TR123123"));
+        holdService.placeHold(new HoldRequest(BigDecimal.valueOf(200), 1L, 1L, "shop", null));
+        jdbcTemplate.update("UPDATE wallets SET usable_balance = usable_balance + 1 WHERE id = 5");
+
+        ReconciliationStatus status = ledgerReconciler.reconcile();
+
+        assertThat(status.running()).isFalse();
+        assertThat(status.walletsTotal()).isEqualTo(5);
+        assertThat(status.walletsChecked()).isEqualTo(5);
+        assertThat(status.rowsScanned()).isEqualTo(5);
+        assertThat(status.mismatches()).isEqualTo(1);
+        assertThat(Files.readAllLines(properties.getDirectory().resolve(status.report())))
+                .containsExactly("wallet_id,balance,expected_balance,usable_balance,expected_usable_balance",
+                        "5,0.00,0.00,1.00,0.00");
+    }
+}
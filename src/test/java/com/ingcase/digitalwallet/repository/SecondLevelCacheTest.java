@@ -0,0 +1,105 @@
+package com.ingcase.digitalwallet.repository;
+
+import com.ingcase.digitalwallet.exception.WalletNotFoundException;
+import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.WalletResponse;
+import com.ingcase.digitalwallet.model.entity.Customer;
+import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.entity.WalletProfile;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.service.CustomerService;
+import com.ingcase.digitalwallet.service.TransactionService;
+import com.ingcase.digitalwallet.service.WalletService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void givenCustomerLoadedOnce_whenLoadedAgain_thenServedFromSecondLevelCache() {
+        customerService.findById(2L);
+        long hits = statistics.getDomainDataRegionStatistics(Customer.class.getName()).getHitCount();
+
+        customerService.findById(2L);
+
+        assertThat(statistics.getDomainDataRegionStatistics(Customer.class.getName()).getHitCount())
+                .isEqualTo(hits + 1);
+    }
+
+    @Test
+    void givenCachedWallet_whenBalanceUpdated_thenNextReadSeesNewBalance() {
+        Wallet before = walletService.findByCustomerIdAndId(3L, 3L);
+        walletService.getCustomerWallets(3L);
+
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(10), 3L, 3L, OppositePartyType.IBAN, "TR123123"));
+
+        Wallet after = walletService.findByCustomerIdAndId(3L, 3L);
+        List<WalletResponse> wallets = walletService.getCustomerWallets(3L);
+        WalletResponse listed = wallets.stream().filter(wallet -> wallet.id().equals(3L)).findFirst().orElseThrow();
+
+        assertThat(after.getBalance()).isEqualTo(before.getBalance().add(Money.of(10)));
+        assertThat(listed.balance()).isEqualTo(after.getBalance());
+        assertThat(listed.usableBalance()).isEqualTo(after.getUsableBalance());
+    }
+
+    @Test
+    void givenWalletOwnershipChecked_whenCheckedAgain_thenProfileServedFromCacheAndBalancesNotCached() {
+        walletService.validateWalletExists(3L, 4L);
+        long hits = statistics.getDomainDataRegionStatistics(WalletProfile.class.getName()).getHitCount();
+
+        walletService.validateWalletExists(3L, 4L);
+        walletService.findByCustomerIdAndId(3L, 4L);
+
+        assertThat(statistics.getDomainDataRegionStatistics(WalletProfile.class.getName()).getHitCount())
+                .isEqualTo(hits + 1);
+        assertThat(entityManagerFactory.getCache().contains(Wallet.class, 4L)).isFalse();
+        assertThatThrownBy(() -> walletService.validateWalletExists(1L, 4L)).isInstanceOf(WalletNotFoundException.class);
+    }
+
+    @Test
+    void givenStatisticsEnabled_thenCacheRegionMetricsArePublished() {
+        customerService.findById(1L);
+
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("region", Customer.class.getName())
+                .meters()).isNotEmpty();
+    }
+}
@@ -0,0 +1,80 @@
+package com.ingcase.digitalwallet.rules;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingcase.digitalwallet.model.enums.Currency;
+import com.ingcase.digitalwallet.model.enums.CustomerTier;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.money.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StatusDecisionTableTest {
+
+    @Test
+    void givenOverlappingRules_whenEvaluated_thenMostSpecificRuleWins() {
+        StatusDecisionTable table = StatusDecisionTable.compile(BigDecimal.valueOf(1000), List.of(
+                rule(Currency.EUR, null, null, null, 500),
+                rule(Currency.EUR, OppositePartyType.PAYMENT, null, null, 300),
+                rule(null, null, CustomerTier.PLATINUM, null, 20_000),
+                rule(null, null, null, 7L, 50),
+                rule(null, OppositePartyType.IBAN, null, 7L, 80)));
+
+        assertThat(table.threshold(1L, Currency.TRY, OppositePartyType.IBAN, CustomerTier.STANDARD)).isEqualTo(100_000);
+        assertThat(table.threshold(1L, Currency.EUR, OppositePartyType.IBAN, CustomerTier.STANDARD)).isEqualTo(50_000);
+        assertThat(table.threshold(1L, Currency.EUR, OppositePartyType.PAYMENT, CustomerTier.STANDARD)).isEqualTo(30_000);
+        assertThat(table.threshold(1L, Currency.TRY, OppositePartyType.IBAN, CustomerTier.PLATINUM)).isEqualTo(2_000_000);
+        // equally specific currency and tier rules, the lower threshold wins
+        assertThat(table.threshold(1L, Currency.EUR, OppositePartyType.IBAN, CustomerTier.PLATINUM)).isEqualTo(50_000);
+        assertThat(table.threshold(7L, Currency.TRY, OppositePartyType.PAYMENT, CustomerTier.PLATINUM)).isEqualTo(5_000);
+        assertThat(table.threshold(7L, Currency.TRY, OppositePartyType.IBAN, CustomerTier.PLATINUM)).isEqualTo(8_000);
+
+        assertThat(table.evaluate(7L, Currency.TRY, OppositePartyType.PAYMENT, CustomerTier.STANDARD, Money.of(50)))
+                .isEqualTo(Status.APPROVED);
+        assertThat(table.evaluate(7L, Currency.TRY, OppositePartyType.PAYMENT, CustomerTier.STANDARD, Money.ofMinor(5_001)))
+                .isEqualTo(Status.PENDING);
+    }
+
+    @Test
+    void givenRuleFile_whenChanged_thenNewTableSwappedInAndBrokenFileIgnored(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("status-rules.json");
+        Files.writeString(file, "[{\"currency\":\"USD\",\"threshold\":200}]");
+        StatusRuleProperties properties = new StatusRuleProperties();
+        properties.setFile(file);
+        StatusRules statusRules = new StatusRules(properties, new ObjectMapper());
+        StatusDecisionTable loaded = statusRules.getTable();
+        assertThat(loaded.threshold(1L, Currency.USD, OppositePartyType.IBAN, CustomerTier.STANDARD)).isEqualTo(20_000);
+
+        Files.writeString(file, "[{\"currency\":\"USD\",\"threshold\":400},{\"walletId\":3,\"threshold\":10}]");
+        touch(file, 1);
+        statusRules.reloadIfChanged();
+        assertThat(statusRules.getTable().getRuleCount()).isEqualTo(2);
+        assertThat(statusRules.getTable().threshold(1L, Currency.USD, OppositePartyType.IBAN, CustomerTier.STANDARD))
+                .isEqualTo(40_000);
+        assertThat(loaded.threshold(1L, Currency.USD, OppositePartyType.IBAN, CustomerTier.STANDARD)).isEqualTo(20_000);
+
+        Files.writeString(file, "[{\"currency\":\"USD\"}]");
+        touch(file, 2);
+        statusRules.reloadIfChanged();
+        assertThat(statusRules.getTable().getRuleCount()).isEqualTo(2);
+    }
+
+    private static void touch(Path file, long seconds) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(seconds)));
+    }
+
+    private static StatusRuleProperties.Rule rule(Currency currency, OppositePartyType oppositePartyType, CustomerTier tier,
+                                                  Long walletId, long threshold) {
+        return new StatusRuleProperties.Rule(currency, oppositePartyType, tier, walletId, BigDecimal.valueOf(threshold));
+    }
+}
@@ -0,0 +1,114 @@
+package com.ingcase.digitalwallet.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.HoldRequest;
+import com.ingcase.digitalwallet.model.dto.HoldResponse;
+import com.ingcase.digitalwallet.model.dto.TransactionResponse;
+import com.ingcase.digitalwallet.model.dto.TransactionUpdateRequest;
+import com.ingcase.digitalwallet.model.dto.TransferRequest;
+import com.ingcase.digitalwallet.model.dto.WalletResponse;
+import com.ingcase.digitalwallet.model.entity.Transaction;
+import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.repository.TransactionRepository;
+import org.hibernate.Hibernate;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Calls the services the way the controllers do, outside of any transaction, and serializes the results.
+ * With open-session-in-view disabled any lazy association touched after the service method returns
+ * throws {@link LazyInitializationException}, so every association the response needs has to be part
+ * of the method's fetch plan.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LazyLoadingOutsideTransactionTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void givenApplicationProperties_thenOpenSessionInViewIsDisabled() {
+        assertThat(environment.getProperty("spring.jpa.open-in-view", Boolean.class)).isFalse();
+    }
+
+    @Test
+    void givenReadEndpoints_whenSerializedOutsideTransaction_thenNoLazyLoading() throws Exception {
+        List<WalletResponse> wallets = walletService.getCustomerWallets(1L);
+        List<TransactionResponse> transactions = transactionService.getWalletTransactions(1L, 1L, PageRequest.of(0, 100));
+
+        assertThat(wallets).isNotEmpty();
+        assertThat(objectMapper.writeValueAsString(wallets)).contains("Atilla hesap");
+        assertThat(objectMapper.writeValueAsString(transactions)).isNotNull();
+    }
+
+    @Test
+    void givenWriteEndpoints_whenSerializedOutsideTransaction_thenNoLazyLoading() throws Exception {
+        TransactionResponse deposit = transactionService.deposit(
+                new DepositRequest(BigDecimal.valueOf(2500), 1L, 1L, OppositePartyType.IBAN, "TR123123"));
+        assertThat(objectMapper.writeValueAsString(deposit)).contains("PENDING");
+
+        Transaction pending = transactionRepository.findAll().stream()
+                .filter(transaction -> transaction.getStatus() == Status.PENDING)
+                .max(Comparator.comparing(Transaction::getId))
+                .orElseThrow();
+
+        TransactionResponse approved = transactionService.updateTransaction(pending.getId(),
+                new TransactionUpdateRequest(Status.APPROVED));
+
+        assertThat(objectMapper.writeValueAsString(approved)).contains("APPROVED");
+    }
+
+    @Test
+    void givenTransferAndHoldEndpoints_whenSerializedOutsideTransaction_thenNoLazyLoading() throws Exception {
+        List<TransactionResponse> transfer = transactionService.transfer(new TransferRequest(BigDecimal.TEN, 3L, 4L, 5L));
+        HoldResponse placed = holdService.placeHold(new HoldRequest(BigDecimal.valueOf(30), 5L, 3L, "shop", null));
+        HoldResponse captured = holdService.captureHold(placed.getId(), 3L, BigDecimal.TEN);
+        HoldResponse released = holdService.releaseHold(
+                holdService.placeHold(new HoldRequest(BigDecimal.TEN, 5L, 3L, "shop", null)).getId(), 3L);
+
+        assertThat(objectMapper.writeValueAsString(transfer)).contains("APPROVED");
+        assertThat(objectMapper.writeValueAsString(captured)).contains("CAPTURED");
+        assertThat(objectMapper.writeValueAsString(released)).contains("RELEASED");
+        assertThat(released.getWalletId()).isEqualTo(5L);
+    }
+
+    @Test
+    void givenEntityOutsideTransaction_whenUnplannedAssociationTouched_thenLazyInitializationFails() {
+        Wallet wallet = walletService.findByCustomerIdAndId(1L, 1L);
+
+        assertThat(Hibernate.isInitialized(wallet.getCustomer())).isFalse();
+        assertThatThrownBy(() -> wallet.getCustomer().getName())
+                .isInstanceOf(LazyInitializationException.class);
+    }
+}
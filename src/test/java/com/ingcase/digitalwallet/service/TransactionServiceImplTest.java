@@ -1,31 +1,55 @@
 package com.ingcase.digitalwallet.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ingcase.digitalwallet.archive.TransactionHistory;
+import com.ingcase.digitalwallet.events.WalletBalanceChangedEvent;
 import com.ingcase.digitalwallet.exception.InsufficientBalanceException;
 import com.ingcase.digitalwallet.exception.PaymentNotAllowedException;
 import com.ingcase.digitalwallet.exception.TransferNotAllowedException;
+import com.ingcase.digitalwallet.exception.WalletNotFoundException;
+import com.ingcase.digitalwallet.expiry.PendingTransactionExpiry;
 import com.ingcase.digitalwallet.mapper.TransactionMapper;
+import com.ingcase.digitalwallet.model.dto.PendingTransactionResponse;
 import com.ingcase.digitalwallet.model.dto.TransactionResponse;
 import com.ingcase.digitalwallet.model.dto.TransactionUpdateRequest;
+import com.ingcase.digitalwallet.model.dto.TransferRequest;
 import com.ingcase.digitalwallet.model.dto.WithdrawRequest;
 import com.ingcase.digitalwallet.model.entity.Customer;
 import com.ingcase.digitalwallet.model.entity.Transaction;
 import com.ingcase.digitalwallet.model.entity.Wallet;
 import com.ingcase.digitalwallet.model.enums.*;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.PendingTransactionView;
+import com.ingcase.digitalwallet.model.projection.TransactionView;
+import com.ingcase.digitalwallet.outbox.TransactionOutbox;
 import com.ingcase.digitalwallet.repository.TransactionRepository;
+import com.ingcase.digitalwallet.rules.StatusRuleProperties;
+import com.ingcase.digitalwallet.rules.StatusRules;
 import com.ingcase.digitalwallet.service.impl.TransactionServiceImpl;
+import com.ingcase.digitalwallet.sharding.ShardFanOut;
+import com.ingcase.digitalwallet.velocity.VelocityLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,12 +58,33 @@ class TransactionServiceImplTest {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private TransactionHistory transactionHistory;
+
     @Mock
     private WalletService walletService;
 
     @Mock
     private TransactionMapper transactionMapper;
 
+    @Mock
+    private ShardFanOut shardFanOut;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionOutbox transactionOutbox;
+
+    @Mock
+    private VelocityLimiter velocityLimiter;
+
+    @Mock
+    private PendingTransactionExpiry pendingTransactionExpiry;
+
+    @Spy
+    private StatusRules statusRules = new StatusRules(new StatusRuleProperties(), new ObjectMapper());
+
     @InjectMocks
     private TransactionServiceImpl transactionService;
 
@@ -49,7 +94,7 @@ class TransactionServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        expectedCustomer = new Customer(1L,"Atakan","Karaman","TR123", Role.CUSTOMER, null);
+        expectedCustomer = new Customer(1L,"Atakan","Karaman","TR123", Role.CUSTOMER, CustomerTier.STANDARD, null);
 
         expectedWallet = Wallet.builder()
                 .id(1L)
@@ -57,15 +102,15 @@ class TransactionServiceImplTest {
                 .currency(Currency.TRY)
                 .activeForShopping(true)
                 .activeForWithdraw(true)
-                .balance(BigDecimal.valueOf(5000))
-                .usableBalance(BigDecimal.valueOf(5000))
+                .balance(Money.of(5000))
+                .usableBalance(Money.of(5000))
                 .customer(expectedCustomer)
                 .build();
 
         expectedTransaction = Transaction.builder()
                 .id(1L)
                 .wallet(expectedWallet)
-                .amount(BigDecimal.valueOf(100))
+                .amount(Money.of(100))
                 .type(Type.WITHDRAW)
                 .oppositePartyType("IBAN")
                 .oppositeParty("TR123123")
@@ -83,25 +128,30 @@ class TransactionServiceImplTest {
                 "TR123123"
         );
 
+        Instant reservedAt = Instant.parse("2026-01-01T10:04:59.999Z");
         when(walletService.findByCustomerIdAndId(anyLong(), anyLong())).thenReturn(expectedWallet);
-        when(transactionMapper.toEntity(any(TransactionResponse.class))).thenReturn(expectedTransaction);
+        when(velocityLimiter.reserve(any(Wallet.class), any(OppositePartyType.class), any(Money.class))).thenReturn(reservedAt);
+        when(transactionMapper.toEntity(any(TransactionResponse.class), any(Wallet.class), any(Timestamp.class)))
+                .thenReturn(expectedTransaction);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(expectedTransaction);
 
         TransactionResponse result = transactionService.withdraw(withdrawRequest);
 
         assertThat(result).isNotNull();
-        assertThat(result.getAmount()).isEqualTo(BigDecimal.valueOf(100));
-        assertThat(result.getType()).isEqualTo(Type.WITHDRAW);
-        assertThat(result.getStatus()).isEqualTo(Status.APPROVED);
-        assertThat(result.getOppositePartyType()).isEqualTo(OppositePartyType.IBAN);
-        assertThat(result.getOppositeParty()).isEqualTo("TR123123");
+        assertThat(result.amount()).isEqualTo(Money.of(100));
+        assertThat(result.type()).isEqualTo(Type.WITHDRAW);
+        assertThat(result.status()).isEqualTo(Status.APPROVED);
+        assertThat(result.oppositePartyType()).isEqualTo(OppositePartyType.IBAN);
+        assertThat(result.oppositeParty()).isEqualTo("TR123123");
 
         verify(walletService).findByCustomerIdAndId(1L, 1L);
+        // created at the reservation instant, so a later denial releases the same velocity buckets
+        verify(transactionMapper).toEntity(any(TransactionResponse.class), eq(expectedWallet), eq(Timestamp.from(reservedAt)));
         verify(walletService).save(any(Wallet.class));
         verify(transactionRepository).save(any(Transaction.class));
         verify(walletService).save(argThat(wallet ->
-                wallet.getBalance().equals(BigDecimal.valueOf(4900)) &&
-                        wallet.getUsableBalance().equals(BigDecimal.valueOf(4900))
+                wallet.getBalance().equals(Money.of(4900)) &&
+                        wallet.getUsableBalance().equals(Money.of(4900))
         ));
     }
 
@@ -116,23 +166,25 @@ class TransactionServiceImplTest {
         );
 
         when(walletService.findByCustomerIdAndId(1L, 1L)).thenReturn(expectedWallet);
-        when(transactionMapper.toEntity(any(TransactionResponse.class))).thenReturn(expectedTransaction);
+        when(velocityLimiter.reserve(any(Wallet.class), any(OppositePartyType.class), any(Money.class))).thenReturn(Instant.now());
+        when(transactionMapper.toEntity(any(TransactionResponse.class), any(Wallet.class), any(Timestamp.class)))
+                .thenReturn(expectedTransaction);
         when(transactionRepository.save(any(Transaction.class))).thenReturn(expectedTransaction);
 
         TransactionResponse result = transactionService.withdraw(withdrawRequest);
 
         assertThat(result).isNotNull();
-        assertThat(result.getStatus()).isEqualTo(Status.PENDING);
+        assertThat(result.status()).isEqualTo(Status.PENDING);
 
         verify(walletService).save(argThat(wallet ->
-                wallet.getBalance().equals(BigDecimal.valueOf(5000)) &&
-                        wallet.getUsableBalance().equals(BigDecimal.valueOf(3000))
+                wallet.getBalance().equals(Money.of(5000)) &&
+                        wallet.getUsableBalance().equals(Money.of(3000))
         ));
     }
 
     @Test
     void givenInsufficientBalance_whenWithdraw_thenThrowInsufficientBalanceException() {
-        expectedWallet.setUsableBalance(BigDecimal.valueOf(50));
+        expectedWallet.setUsableBalance(Money.of(50));
         WithdrawRequest withdrawRequest = new WithdrawRequest(
                 BigDecimal.valueOf(100),
                 1L,
@@ -193,6 +245,55 @@ class TransactionServiceImplTest {
         verify(transactionRepository, never()).save(any(Transaction.class));
     }
 
+    @Test
+    void givenExistingWallet_whenGetWalletTransactions_thenReturnProjectedTransactions() {
+        TransactionView transactionView = new TransactionView(1L, Money.of(100), Type.WITHDRAW,
+                OppositePartyType.IBAN.toString(), "TR123123", Status.APPROVED);
+        TransactionResponse transactionResponse = TransactionResponse.builder()
+                .amount(Money.of(100))
+                .type(Type.WITHDRAW)
+                .oppositePartyType(OppositePartyType.IBAN)
+                .oppositeParty("TR123123")
+                .status(Status.APPROVED)
+                .build();
+
+        PageRequest pageRequest = PageRequest.of(0, 100);
+        when(transactionHistory.findByWalletId(1L, pageRequest)).thenReturn(List.of(transactionView));
+        when(transactionMapper.toDto(transactionView)).thenReturn(transactionResponse);
+
+        List<TransactionResponse> result = transactionService.getWalletTransactions(1L, 1L, pageRequest);
+
+        assertThat(result).containsExactly(transactionResponse);
+        verify(walletService).validateWalletExists(1L, 1L);
+        verify(walletService, never()).findByCustomerIdAndId(anyLong(), anyLong());
+    }
+
+    @Test
+    void givenUnknownWallet_whenGetWalletTransactions_thenThrowWalletNotFoundException() {
+        doThrow(new WalletNotFoundException("Wallet not found")).when(walletService).validateWalletExists(1L, 2L);
+
+        assertThatThrownBy(() -> transactionService.getWalletTransactions(2L, 1L, PageRequest.of(0, 100)))
+                .isInstanceOf(WalletNotFoundException.class);
+
+        verify(transactionHistory, never()).findByWalletId(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void givenPendingRowsFromSeveralShards_whenGetPendingTransactions_thenOldestFirstUpToLimit() {
+        PendingTransactionView newest = pendingView(7L, "2025-01-03 10:00:00");
+        PendingTransactionView oldest = pendingView(3L, "2025-01-01 10:00:00");
+        PendingTransactionView middle = pendingView(5L, "2025-01-02 10:00:00");
+        when(shardFanOut.<PendingTransactionView>collect(any())).thenReturn(List.of(newest, oldest, middle));
+        when(transactionMapper.toDto(any(PendingTransactionView.class)))
+                .thenAnswer(invocation -> PendingTransactionResponse.builder()
+                        .id(invocation.<PendingTransactionView>getArgument(0).id())
+                        .build());
+
+        List<PendingTransactionResponse> result = transactionService.getPendingTransactions(2);
+
+        assertThat(result).extracting(PendingTransactionResponse::getId).containsExactly(3L, 5L);
+    }
+
     @Test
     void givenPendingStatus_whenUpdateTransactionApproved_thenUpdateTransactionAndWallet() {
         TransactionUpdateRequest transactionUpdateRequest = new TransactionUpdateRequest(Status.APPROVED);
@@ -201,43 +302,43 @@ class TransactionServiceImplTest {
                 .currency(Currency.TRY)
                 .activeForShopping(true)
                 .activeForWithdraw(true)
-                .balance(BigDecimal.valueOf(5000))
-                .usableBalance(BigDecimal.valueOf(3000))
+                .balance(Money.of(5000))
+                .usableBalance(Money.of(3000))
                 .customer(expectedCustomer)
                 .build();
         Transaction pendingTransaction = Transaction.builder()
                 .wallet(walletWithPendingTransaction)
-                .amount(BigDecimal.valueOf(2000))
+                .amount(Money.of(2000))
                 .type(Type.WITHDRAW)
                 .oppositePartyType(OppositePartyType.IBAN.toString())
                 .oppositeParty("TR123123")
                 .status(Status.PENDING)
                 .build();
         TransactionResponse expectedTransaction = TransactionResponse.builder()
-                .amount(BigDecimal.valueOf(2000))
+                .amount(Money.of(2000))
                 .type(Type.WITHDRAW)
                 .oppositePartyType(OppositePartyType.IBAN)
                 .oppositeParty("TR123123")
                 .status(Status.APPROVED)
-                .wallet(walletWithPendingTransaction)
                 .build();
 
         when(transactionRepository.findByIdAndStatusPending(1L)).thenReturn(Optional.of(pendingTransaction));
-        when(walletService.findByTransactionId(1L)).thenReturn(walletWithPendingTransaction);
         when(transactionMapper.toDto(pendingTransaction)).thenReturn(expectedTransaction);
 
         TransactionResponse result = transactionService.updateTransaction(1L, transactionUpdateRequest);
 
         assertThat(result).isNotNull();
-        assertThat(result.getStatus()).isEqualTo(Status.APPROVED);
+        assertThat(result.status()).isEqualTo(Status.APPROVED);
         verify(transactionRepository).findByIdAndStatusPending(1L);
-        verify(walletService).findByTransactionId(1L);
         verify(transactionRepository).updateStatusById(1L, Status.APPROVED);
         verify(walletService).save(any(Wallet.class));
         verify(walletService).save(argThat(wallet ->
-                    wallet.getBalance().equals(BigDecimal.valueOf(3000)) &&
-                    wallet.getUsableBalance().equals(BigDecimal.valueOf(3000))
+                    wallet.getBalance().equals(Money.of(3000)) &&
+                    wallet.getUsableBalance().equals(Money.of(3000))
             ));
+        verify(eventPublisher).publishEvent(new WalletBalanceChangedEvent(1L, null, Money.of(3000), Money.of(3000),
+                null, Type.WITHDRAW, Status.APPROVED, null, null));
+        verify(transactionOutbox).record(OutboxEventType.TRANSACTION_APPROVED, pendingTransaction);
     }
     @Test
     void givenPendingStatus_whenUpdateTransactionDenied_thenUpdateTransactionAndWallet() {
@@ -247,42 +348,77 @@ class TransactionServiceImplTest {
                 .currency(Currency.TRY)
                 .activeForShopping(true)
                 .activeForWithdraw(true)
-                .balance(BigDecimal.valueOf(5000))
-                .usableBalance(BigDecimal.valueOf(3000))
+                .balance(Money.of(5000))
+                .usableBalance(Money.of(3000))
                 .customer(expectedCustomer)
                 .build();
         Transaction pendingTransaction = Transaction.builder()
                 .wallet(walletWithPendingTransaction)
-                .amount(BigDecimal.valueOf(2000))
+                .amount(Money.of(2000))
                 .type(Type.WITHDRAW)
                 .oppositePartyType(OppositePartyType.IBAN.toString())
                 .oppositeParty("TR123123")
                 .status(Status.PENDING)
                 .build();
         TransactionResponse expectedTransaction = TransactionResponse.builder()
-                .amount(BigDecimal.valueOf(2000))
+                .amount(Money.of(2000))
                 .type(Type.WITHDRAW)
                 .oppositePartyType(OppositePartyType.IBAN)
                 .oppositeParty("TR123123")
                 .status(Status.DENIED)
-                .wallet(walletWithPendingTransaction)
                 .build();
 
         when(transactionRepository.findByIdAndStatusPending(1L)).thenReturn(Optional.of(pendingTransaction));
-        when(walletService.findByTransactionId(1L)).thenReturn(walletWithPendingTransaction);
         when(transactionMapper.toDto(pendingTransaction)).thenReturn(expectedTransaction);
 
         TransactionResponse result = transactionService.updateTransaction(1L, transactionUpdateRequest);
 
         assertThat(result).isNotNull();
-        assertThat(result.getStatus()).isEqualTo(Status.DENIED);
+        assertThat(result.status()).isEqualTo(Status.DENIED);
         verify(transactionRepository).findByIdAndStatusPending(1L);
-        verify(walletService).findByTransactionId(1L);
         verify(transactionRepository).updateStatusById(1L, Status.DENIED);
         verify(walletService).save(any(Wallet.class));
         verify(walletService).save(argThat(wallet ->
-                wallet.getBalance().equals(BigDecimal.valueOf(5000)) &&
-                        wallet.getUsableBalance().equals(BigDecimal.valueOf(5000))
+                wallet.getBalance().equals(Money.of(5000)) &&
+                        wallet.getUsableBalance().equals(Money.of(5000))
         ));
+        verify(velocityLimiter).release(pendingTransaction);
+    }
+
+    @Test
+    void givenTransferToLowerWalletId_whenTransfer_thenWalletsLockedInIdOrderAndBothLegsSavedTogether() {
+        Wallet target = Wallet.builder()
+                .id(7L)
+                .currency(Currency.TRY)
+                .activeForShopping(false)
+                .activeForWithdraw(false)
+                .balance(Money.of(100))
+                .usableBalance(Money.of(100))
+                .customer(expectedCustomer)
+                .build();
+        expectedWallet.setId(9L);
+
+        when(walletService.findByCustomerIdAndIdForUpdate(1L, 7L)).thenReturn(target);
+        when(walletService.findByCustomerIdAndIdForUpdate(1L, 9L)).thenReturn(expectedWallet);
+        when(transactionRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        transactionService.transfer(new TransferRequest(BigDecimal.valueOf(1500), 1L, 9L, 7L));
+
+        InOrder lockOrder = inOrder(walletService);
+        lockOrder.verify(walletService).findByCustomerIdAndIdForUpdate(1L, 7L);
+        lockOrder.verify(walletService).findByCustomerIdAndIdForUpdate(1L, 9L);
+        assertThat(expectedWallet.getBalance()).isEqualTo(Money.of(3500));
+        assertThat(expectedWallet.getUsableBalance()).isEqualTo(Money.of(3500));
+        assertThat(target.getBalance()).isEqualTo(Money.of(1600));
+        assertThat(target.getUsableBalance()).isEqualTo(Money.of(1600));
+        verify(transactionRepository).saveAll(argThat(legs -> legs instanceof List<Transaction> list && list.size() == 2
+                && list.get(0).getType() == Type.WITHDRAW && list.get(0).getWallet() == expectedWallet
+                && list.get(1).getType() == Type.DEPOSIT && list.get(1).getWallet() == target
+                && list.stream().allMatch(leg -> leg.getStatus() == Status.APPROVED)));
+        verify(velocityLimiter, never()).reserve(any(), any(), any());
+    }
+
+    private static PendingTransactionView pendingView(Long id, String createDate) {
+        return new PendingTransactionView(id, 1L, Money.of(2000), Type.DEPOSIT, "IBAN", "TR123123", Timestamp.valueOf(createDate));
     }
 }
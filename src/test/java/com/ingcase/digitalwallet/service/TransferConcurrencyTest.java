@@ -0,0 +1,84 @@
+package com.ingcase.digitalwallet.service;
+
+import com.ingcase.digitalwallet.exception.InsufficientBalanceException;
+import com.ingcase.digitalwallet.model.dto.TransferRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+@SpringBootTest(properties = {
+        "app.outbox.enabled=false"
+})
+@ActiveProfiles("test")
+class TransferConcurrencyTest {
+
+    private static final long[] WALLETS = {3L, 4L, 5L};
+    private static final int THREADS = 8;
+    private static final int TRANSFERS_PER_THREAD = 100;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void givenManyConcurrentRandomTransfers_whenCompleted_thenMoneyIsConservedAndNoneDeadlock() throws Exception {
+        jdbcTemplate.update("UPDATE wallets SET active_for_withdraw = TRUE WHERE customer_id = 3");
+        BigDecimal totalBefore = jdbcTemplate.queryForObject("SELECT SUM(balance) FROM wallets WHERE customer_id = 3", BigDecimal.class);
+
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int thread = 0; thread < THREADS; thread++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    int from = random.nextInt(WALLETS.length);
+                    int to = (from + 1 + random.nextInt(WALLETS.length - 1)) % WALLETS.length;
+                    try {
+                        transactionService.transfer(new TransferRequest(BigDecimal.valueOf(1 + random.nextInt(500)), 3L,
+                                WALLETS[from], WALLETS[to]));
+                        completed.incrementAndGet();
+                    } catch (InsufficientBalanceException e) {
+                        refused.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedNanos = System.nanoTime() - started;
+        executor.shutdown();
+        log.info("{} transfers ({} refused) in {} ms, {} transfers/s", completed.get(), refused.get(),
+                elapsedNanos / 1_000_000, completed.get() * 1_000_000_000L / elapsedNanos);
+
+        assertThat(completed.get() + refused.get()).isEqualTo(THREADS * TRANSFERS_PER_THREAD);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(balance) FROM wallets WHERE customer_id = 3", BigDecimal.class))
+                .isEqualByComparingTo(totalBefore);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM wallets WHERE customer_id = 3 AND (balance <> usable_balance OR balance < 0)", Integer.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions WHERE opposite_party_type = 'WALLET'", Integer.class))
+                .isEqualTo(2 * completed.get());
+    }
+}
@@ -6,7 +6,10 @@ import com.ingcase.digitalwallet.model.dto.WalletResponse;
 import com.ingcase.digitalwallet.model.entity.Customer;
 import com.ingcase.digitalwallet.model.entity.Wallet;
 import com.ingcase.digitalwallet.model.enums.Currency;
+import com.ingcase.digitalwallet.model.enums.CustomerTier;
 import com.ingcase.digitalwallet.model.enums.Role;
+import com.ingcase.digitalwallet.model.money.Money;
+import com.ingcase.digitalwallet.model.projection.WalletView;
 import com.ingcase.digitalwallet.repository.WalletRepository;
 import com.ingcase.digitalwallet.service.impl.WalletServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,7 +18,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,15 +47,15 @@ public class WalletServiceImplTest {
     void givenValidWalletCreateRequest_whenCreateWallet_thenWalletIsCreated() {
         WalletCreateRequest walletCreateRequest = new WalletCreateRequest("Test Wallet", Currency.EUR, true, true, 1L);
 
-        Customer customer = new Customer(1L,"Atakan","Karaman","TR123", Role.CUSTOMER, null);
+        Customer customer = new Customer(1L,"Atakan","Karaman","TR123", Role.CUSTOMER, CustomerTier.STANDARD, null);
 
         Wallet actualWallet = Wallet.builder()
                 .walletName(walletCreateRequest.getWalletName())
                 .currency(walletCreateRequest.getCurrency())
                 .activeForShopping(true)
                 .activeForWithdraw(true)
-                .balance(BigDecimal.ZERO)
-                .usableBalance(BigDecimal.ZERO)
+                .balance(Money.ZERO)
+                .usableBalance(Money.ZERO)
                 .build();
 
         WalletResponse expectedWallet = WalletResponse.builder()
@@ -61,8 +63,8 @@ public class WalletServiceImplTest {
                 .currency(Currency.EUR)
                 .activeForShopping(true)
                 .activeForWithdraw(true)
-                .balance(BigDecimal.ZERO)
-                .usableBalance(BigDecimal.ZERO)
+                .balance(Money.ZERO)
+                .usableBalance(Money.ZERO)
                 .build();
 
         when(customerService.findById(1L)).thenReturn(customer);
@@ -79,22 +81,17 @@ public class WalletServiceImplTest {
 
     @Test
     void givenValidCustomerId_whenGetCustomerWallets_thenReturnWalletList() {
-        Wallet wallet = Wallet.builder()
-                .id(1L)
-                .walletName("Test Wallet")
-                .currency(Currency.EUR)
-                .balance(BigDecimal.ZERO)
-                .usableBalance(BigDecimal.ZERO)
-                .build();
+        WalletView wallet = new WalletView(1L, "Test Wallet", Currency.EUR, true, true,
+                Money.ZERO, Money.ZERO, null);
 
-        List<Wallet> walletList = List.of(wallet);
+        List<WalletView> walletList = List.of(wallet);
 
         WalletResponse walletResponse = WalletResponse.builder()
                 .id(1L)
                 .walletName("Test Wallet")
                 .currency(Currency.EUR)
-                .balance(BigDecimal.ZERO)
-                .usableBalance(BigDecimal.ZERO)
+                .balance(Money.ZERO)
+                .usableBalance(Money.ZERO)
                 .build();
 
         when(walletRepository.findByCustomerId(1l)).thenReturn(walletList);
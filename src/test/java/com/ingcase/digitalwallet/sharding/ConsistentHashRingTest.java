@@ -0,0 +1,44 @@
+package com.ingcase.digitalwallet.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int CUSTOMERS = 100_000;
+
+    @Test
+    void givenSequentialCustomerIds_whenPlaced_thenSpreadEvenlyAcrossShards() {
+        ConsistentHashRing ring = new ConsistentHashRing(4, 128);
+        int[] perShard = new int[4];
+
+        LongStream.rangeClosed(1, CUSTOMERS).forEach(customerId -> perShard[ring.shardFor(customerId)]++);
+
+        for (int count : perShard) {
+            assertThat(count).isBetween(CUSTOMERS / 4 * 8 / 10, CUSTOMERS / 4 * 12 / 10);
+        }
+    }
+
+    @Test
+    void givenShardAdded_whenPlaced_thenOnlyCustomersOfNewShardMove() {
+        ConsistentHashRing before = new ConsistentHashRing(4, 128);
+        ConsistentHashRing after = new ConsistentHashRing(5, 128);
+
+        long moved = LongStream.rangeClosed(1, CUSTOMERS)
+                .filter(customerId -> before.shardFor(customerId) != after.shardFor(customerId))
+                .peek(customerId -> assertThat(after.shardFor(customerId)).isEqualTo(4))
+                .count();
+
+        assertThat(moved).isBetween(CUSTOMERS / 5 * 8 / 10L, CUSTOMERS / 5 * 12 / 10L);
+    }
+
+    @Test
+    void givenNoShards_whenCreated_thenThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> new ConsistentHashRing(0, 128))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
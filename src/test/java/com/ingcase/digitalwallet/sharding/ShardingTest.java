@@ -0,0 +1,235 @@
+package com.ingcase.digitalwallet.sharding;
+
+import com.ingcase.digitalwallet.config.ShardingConfig;
+import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.PendingTransactionResponse;
+import com.ingcase.digitalwallet.model.dto.TransactionUpdateRequest;
+import com.ingcase.digitalwallet.model.dto.WalletResponse;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.onboarding.ImportProperties;
+import com.ingcase.digitalwallet.onboarding.WalletImporter;
+import com.ingcase.digitalwallet.service.TransactionService;
+import com.ingcase.digitalwallet.service.WalletService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the services against three in-memory H2 shards. The seed scripts load everything into shard 0 and the
+ * startup placement spreads it over the ring. The second-level cache is switched off because it is keyed by
+ * id alone, and the shards reuse the same ids.
+ */
+@SpringBootTest(properties = {
+        "app.sharding.enabled=true",
+        "app.sharding.shards[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[0].username=test",
+        "app.sharding.shards[0].password=test",
+        "app.sharding.shards[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[1].username=test",
+        "app.sharding.shards[1].password=test",
+        "app.sharding.shards[2].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1",
+        "app.sharding.shards[2].username=test",
+        "app.sharding.shards[2].password=test",
+        // the shards reuse the same wallet and customer ids
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@ActiveProfiles("test")
+class ShardingTest {
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ShardDirectory shardDirectory;
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    @Autowired
+    private ShardRoutingDataSource shards;
+
+    @Autowired
+    private ShardFanOut shardFanOut;
+
+    @Autowired
+    private WalletImporter walletImporter;
+
+    @Autowired
+    private ImportProperties importProperties;
+
+    @Test
+    void givenSeedData_whenStarted_thenEveryCustomerLivesOnlyOnItsRingShard() {
+        LongStream.rangeClosed(1, 3).forEach(customerId -> {
+            int owner = shardDirectory.getRing().shardFor(customerId);
+            assertThat(shardDirectory.shardFor(customerId)).isEqualTo(owner);
+            for (int shard = 0; shard < shards.getShardCount(); shard++) {
+                assertThat(count(shard, "SELECT COUNT(*) FROM customers WHERE id = ?", customerId))
+                        .isEqualTo(shard == owner ? 1 : 0);
+                assertThat(count(shard, "SELECT COUNT(*) FROM wallets WHERE customer_id = ?", customerId))
+                        .isEqualTo(shard == owner ? walletCount(customerId) : 0);
+            }
+        });
+    }
+
+    @Test
+    void givenDeposit_whenCommitted_thenRowIsWrittenToCustomerShardWithItsIdRange() {
+        int owner = shardDirectory.shardFor(3L);
+
+        transactionService.deposit(deposit(3L, 3L, 100));
+
+        Long id = jdbc(owner).queryForObject("SELECT MAX(id) FROM transactions WHERE wallet_id = 3", Long.class);
+        assertThat(id / ShardingConfig.SHARD_ID_RANGE).isEqualTo(owner);
+    }
+
+    @Test
+    void givenPendingTransactionsOnSeveralShards_whenListedAndApproved_thenFannedOutAndRouted() {
+        transactionService.deposit(deposit(1L, 1L, 2500));
+        transactionService.deposit(deposit(3L, 4L, 2500));
+
+        List<PendingTransactionResponse> pending = transactionService.getPendingTransactions(100);
+
+        assertThat(pending).extracting(PendingTransactionResponse::getWalletId).contains(1L, 4L);
+        PendingTransactionResponse walletFour = pending.stream()
+                .filter(transaction -> transaction.getWalletId() == 4L)
+                .findFirst()
+                .orElseThrow();
+
+        transactionService.updateTransaction(walletFour.getId(), new TransactionUpdateRequest(Status.APPROVED));
+
+        assertThat(transactionService.getPendingTransactions(100))
+                .extracting(PendingTransactionResponse::getId)
+                .doesNotContain(walletFour.getId());
+    }
+
+    @Test
+    void givenCustomerMoved_whenQueried_thenServedFromNewShardUntilRebalanced() {
+        int ringShard = shardDirectory.getRing().shardFor(1L);
+        int otherShard = (ringShard + 1) % shards.getShardCount();
+
+        shardRebalancer.move(1L, otherShard);
+
+        assertThat(shardDirectory.shardFor(1L)).isEqualTo(otherShard);
+        assertThat(count(ringShard, "SELECT COUNT(*) FROM wallets WHERE customer_id = ?", 1L)).isZero();
+        assertThat(walletService.getCustomerWallets(1L))
+                .extracting(WalletResponse::walletName)
+                .containsExactly("Atilla hesap");
+
+        assertThat(shardRebalancer.rebalance()).isEqualTo(1);
+        assertThat(shardDirectory.shardFor(1L)).isEqualTo(ringShard);
+        assertThat(walletService.getCustomerWallets(1L)).hasSize(1);
+    }
+
+    @Test
+    void givenJobWritingOnSourceShard_whenCustomerMovedMeanwhile_thenMoveWaitsAndKeepsTheUpdate() throws Exception {
+        int ringShard = shardDirectory.getRing().shardFor(1L);
+        int otherShard = (ringShard + 1) % shards.getShardCount();
+        BigDecimal before = jdbc(ringShard).queryForObject("SELECT balance FROM wallets WHERE id = 1", BigDecimal.class);
+        CountDownLatch jobStarted = new CountDownLatch(1);
+        CountDownLatch finishJob = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> job = executor.submit(() -> shardFanOut.forEachShardWithoutMoves(() -> {
+                if (ShardContext.current() != ringShard) {
+                    return;
+                }
+                jobStarted.countDown();
+                awaitQuietly(finishJob);
+                jdbc(ringShard).update("UPDATE wallets SET balance = balance + 1 WHERE id = 1");
+            }));
+            assertThat(jobStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            Future<?> move = executor.submit(() -> shardRebalancer.move(1L, otherShard));
+            Thread.sleep(200);
+            assertThat(move.isDone()).isFalse();
+
+            finishJob.countDown();
+            job.get(5, TimeUnit.SECONDS);
+            move.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(jdbc(otherShard).queryForObject("SELECT balance FROM wallets WHERE id = 1", BigDecimal.class))
+                .isEqualByComparingTo(before.add(BigDecimal.ONE));
+        shardRebalancer.rebalance();
+    }
+
+    @Test
+    void givenImportFailingAfterFirstChunk_whenAborted_thenCommittedCustomersArePlacedOnTheirRingShard() {
+        String csv = WalletImporter.HEADER + "\n12345678901,Ayse,Yilmaz,Main wallet,TRY,true,true\n";
+        InputStream failing = new SequenceInputStream(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("connection reset");
+                    }
+                });
+        int chunkSize = importProperties.getChunkSize();
+        importProperties.setChunkSize(1);
+        try {
+            assertThatThrownBy(() -> walletImporter.importWallets(failing)).isInstanceOf(UncheckedIOException.class);
+        } finally {
+            importProperties.setChunkSize(chunkSize);
+        }
+
+        long customerId = IntStream.range(0, shards.getShardCount())
+                .mapToObj(shard -> jdbc(shard).queryForList("SELECT id FROM customers WHERE tckn = '12345678901'", Long.class))
+                .flatMap(List::stream)
+                .findFirst()
+                .orElseThrow();
+        int ringShard = shardDirectory.getRing().shardFor(customerId);
+        assertThat(shardDirectory.isPlaced(customerId)).isTrue();
+        assertThat(shardDirectory.shardFor(customerId)).isEqualTo(ringShard);
+        assertThat(count(ringShard, "SELECT COUNT(*) FROM wallets WHERE customer_id = ?", customerId)).isOne();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static DepositRequest deposit(Long customerId, Long walletId, long amount) {
+        return new DepositRequest(BigDecimal.valueOf(amount), walletId, customerId, OppositePartyType.IBAN, "TR123123");
+    }
+
+    private static int walletCount(long customerId) {
+        return customerId == 3L ? 3 : 1;
+    }
+
+    private int count(int shard, String sql, long customerId) {
+        return jdbc(shard).queryForObject(sql, Integer.class, customerId);
+    }
+
+    private JdbcTemplate jdbc(int shard) {
+        return new JdbcTemplate(shards.getShard(shard));
+    }
+}
@@ -0,0 +1,95 @@
+package com.ingcase.digitalwallet.statement;
+
+import com.ingcase.digitalwallet.model.dto.DepositRequest;
+import com.ingcase.digitalwallet.model.dto.StatementRunResponse;
+import com.ingcase.digitalwallet.model.dto.WithdrawRequest;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.service.TransactionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest(properties = {
+        "app.statements.partitions=3",
+        "app.statements.renderers=2",
+        "app.statements.queue-capacity=2",
+        "app.statements.checkpoint-interval=1"
+})
+@ActiveProfiles("test")
+class StatementGeneratorTest {
+
+    @Autowired
+    private StatementGenerator statementGenerator;
+
+    @Autowired
+    private StatementProperties properties;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Test
+    void givenTransactionsThisMonth_whenGeneratedTwice_thenEveryWalletWrittenOnce() throws Exception {
+        YearMonth month = YearMonth.now();
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(500), 1L, 1L, OppositePartyType.IBAN, "TR12,3"));
+        transactionService.deposit(new DepositRequest(BigDecimal.valueOf(2000), 1L, 1L, OppositePartyType.IBAN, "TR123123"));
+        transactionService.withdraw(new WithdrawRequest(BigDecimal.valueOf(100), 4L, 3L, OppositePartyType.IBAN, "TR123123"));
+
+        StatementRunResponse first = statementGenerator.generate(month);
+        StatementRunResponse second = statementGenerator.generate(month);
+
+        assertThat(first.getStatements()).isEqualTo(5);
+        assertThat(second.getStatements()).isZero();
+        Path directory = properties.getDirectory().resolve(month.toString());
+        List<String> wallet1 = Files.readAllLines(directory.resolve("wallet-1.csv"));
+        assertThat(wallet1).hasSize(8);
+        assertThat(wallet1.subList(0, 4)).containsExactly("wallet_id,1", "currency,TRY", "period," + month,
+                "id,date,type,status,opposite_party_type,opposite_party,amount");
+        assertThat(wallet1.get(4)).endsWith(",DEPOSIT,APPROVED,IBAN,\"TR12,3\",500.00");
+        assertThat(wallet1.get(5)).endsWith(",DEPOSIT,PENDING,IBAN,TR123123,2000.00");
+        assertThat(wallet1.subList(6, 8)).containsExactly("total_deposits,500.00", "total_withdrawals,0.00");
+        assertThat(Files.readAllLines(directory.resolve("wallet-4.csv"))).contains("total_withdrawals,100.00");
+        assertThat(Files.readAllLines(directory.resolve("wallet-2.csv"))).hasSize(6);
+    }
+
+    @Test
+    void givenCheckpointedWallet_whenGenerated_thenRunResumesAfterIt() throws Exception {
+        YearMonth month = YearMonth.now().minusMonths(1);
+        Path directory = properties.getDirectory().resolve(month.toString());
+        Files.createDirectories(directory.resolve("checkpoints"));
+        Files.writeString(directory.resolve("checkpoints").resolve("shard-0-partition-1-of-3"), "1");
+
+        StatementRunResponse response = statementGenerator.generate(month);
+
+        assertThat(response.getStatements()).isEqualTo(4);
+        assertThat(directory.resolve("wallet-1.csv")).doesNotExist();
+        assertThat(directory.resolve("wallet-4.csv")).exists();
+        assertThat(Files.readString(directory.resolve("checkpoints").resolve("shard-0-partition-1-of-3"))).isEqualTo("4");
+    }
+
+    @Test
+    void givenMonth_whenStarted_thenRunsInBackgroundAndReportsProgress() {
+        YearMonth month = YearMonth.now().minusMonths(2);
+
+        statementGenerator.start(month);
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> {
+            StatementRunResponse status = statementGenerator.status();
+            return month.toString().equals(status.getMonth()) && !status.getRunning();
+        });
+        StatementRunResponse status = statementGenerator.status();
+        assertThat(status.getStatements()).isEqualTo(5);
+        assertThat(status.getError()).isNull();
+        assertThat(properties.getDirectory().resolve(month.toString()).resolve("wallet-5.csv")).exists();
+    }
+}
@@ -0,0 +1,42 @@
+package com.ingcase.digitalwallet.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void givenTimersOnEveryLevel_whenAdvanced_thenEachFiresOnItsOwnTick() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 8, 3, 1_000);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            deadlines.add(1_001L + random.nextInt(2_000));
+        }
+        deadlines.forEach(deadline -> wheel.schedule(deadline, deadline));
+        assertThat(wheel.size()).isEqualTo(2_000);
+
+        for (long now = 1_001; now <= 3_000; now++) {
+            long tick = now;
+            assertThat(wheel.advance(now)).allMatch(deadline -> deadline == tick);
+        }
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void givenPastAndFarDeadlines_whenAdvanced_thenPastFiresNextTickAndFarOnlyAfterItsDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4, 2, 0);
+        wheel.schedule("past", -50);
+        wheel.schedule("far", 10_000);
+
+        assertThat(wheel.advance(10)).containsExactly("past");
+        assertThat(wheel.advance(9_990)).isEmpty();
+        assertThat(wheel.advance(10_000)).containsExactly("far");
+        assertThat(wheel.size()).isZero();
+    }
+}
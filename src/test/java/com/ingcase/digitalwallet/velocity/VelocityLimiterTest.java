@@ -0,0 +1,115 @@
+package com.ingcase.digitalwallet.velocity;
+
+import com.ingcase.digitalwallet.exception.VelocityLimitExceededException;
+import com.ingcase.digitalwallet.model.entity.Customer;
+import com.ingcase.digitalwallet.model.entity.Transaction;
+import com.ingcase.digitalwallet.model.entity.Wallet;
+import com.ingcase.digitalwallet.model.enums.OppositePartyType;
+import com.ingcase.digitalwallet.model.enums.Status;
+import com.ingcase.digitalwallet.model.enums.Type;
+import com.ingcase.digitalwallet.model.money.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VelocityLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(Instant.parse("2026-01-01T10:00:00Z").toEpochMilli());
+    private final VelocityProperties properties = new VelocityProperties();
+    private final VelocityLimiter velocityLimiter = new VelocityLimiter(properties, clock::get);
+
+    @Test
+    void givenHourlyLimitReached_whenHourPasses_thenWithdrawAllowedUntilDailyLimit() {
+        properties.getWallet().put(OppositePartyType.PAYMENT,
+                new VelocityProperties.Limit(BigDecimal.valueOf(1000), BigDecimal.valueOf(2500)));
+        Wallet wallet = wallet(1L, 1L);
+
+        velocityLimiter.reserve(wallet, OppositePartyType.PAYMENT, Money.of(600));
+        velocityLimiter.reserve(wallet, OppositePartyType.PAYMENT, Money.of(400));
+        assertThatThrownBy(() -> velocityLimiter.reserve(wallet, OppositePartyType.PAYMENT, Money.of(1)))
+                .isInstanceOf(VelocityLimitExceededException.class)
+                .hasMessage("Hourly payment limit of 1000 exceeded for this wallet");
+        assertThatCode(() -> velocityLimiter.reserve(wallet, OppositePartyType.IBAN, Money.of(900))).doesNotThrowAnyException();
+
+        advance(Duration.ofMinutes(65));
+        velocityLimiter.reserve(wallet, OppositePartyType.PAYMENT, Money.of(1000));
+        advance(Duration.ofMinutes(65));
+        assertThatThrownBy(() -> velocityLimiter.reserve(wallet, OppositePartyType.PAYMENT, Money.of(600)))
+                .hasMessage("Daily payment limit of 2500 exceeded for this wallet");
+
+        advance(Duration.ofHours(23));
+        assertThatCode(() -> velocityLimiter.reserve(wallet, OppositePartyType.PAYMENT, Money.of(1000))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void givenCustomerLimitSpreadOverWallets_whenDeniedWithdrawReleased_thenRoomFreedAgain() {
+        properties.getCustomer().put(OppositePartyType.IBAN,
+                new VelocityProperties.Limit(BigDecimal.valueOf(3000), null));
+        Wallet first = wallet(1L, 7L);
+        Wallet second = wallet(2L, 7L);
+
+        velocityLimiter.record(1L, 7L, OppositePartyType.IBAN, Money.of(2000), Instant.ofEpochMilli(clock.get()).minusSeconds(600));
+        assertThatThrownBy(() -> velocityLimiter.reserve(second, OppositePartyType.IBAN, Money.of(1500)))
+                .hasMessage("Hourly withdraw limit of 3000 exceeded for this customer");
+
+        velocityLimiter.release(Transaction.builder()
+                .wallet(first)
+                .amount(Money.of(2000))
+                .type(Type.WITHDRAW)
+                .oppositePartyType(OppositePartyType.IBAN.name())
+                .status(Status.DENIED)
+                .createDate(Timestamp.from(Instant.ofEpochMilli(clock.get()).minusSeconds(600)))
+                .build());
+        assertThatCode(() -> velocityLimiter.reserve(second, OppositePartyType.IBAN, Money.of(1500))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void givenWithdrawReservedAtEndOfBucket_whenDeniedInNextBucket_thenReleasedFromBucketItWasCountedIn() {
+        properties.getWallet().put(OppositePartyType.IBAN, new VelocityProperties.Limit(BigDecimal.valueOf(1000), null));
+        clock.set(Instant.parse("2026-01-01T10:04:59.999Z").toEpochMilli());
+        Wallet wallet = wallet(1L, 1L);
+
+        Instant reservedAt = velocityLimiter.reserve(wallet, OppositePartyType.IBAN, Money.of(1000));
+        advance(Duration.ofMillis(1));
+        velocityLimiter.release(Transaction.builder()
+                .wallet(wallet)
+                .amount(Money.of(1000))
+                .type(Type.WITHDRAW)
+                .oppositePartyType(OppositePartyType.IBAN.name())
+                .status(Status.DENIED)
+                .createDate(Timestamp.from(reservedAt))
+                .build());
+
+        assertThat(reservedAt).isEqualTo(Instant.parse("2026-01-01T10:04:59.999Z"));
+        assertThatCode(() -> velocityLimiter.reserve(wallet, OppositePartyType.IBAN, Money.of(1000))).doesNotThrowAnyException();
+    }
+
+    @Test
+    void givenAmountAboveCounterCapacity_whenReserved_thenBucketSaturatesInsteadOfWrapping() {
+        properties.getWallet().put(OppositePartyType.IBAN,
+                new VelocityProperties.Limit(BigDecimal.valueOf(10_000_000_000L), null));
+        Wallet wallet = wallet(1L, 1L);
+
+        // 2^40 minor units is about 10,995,116,277 in major units
+        assertThatThrownBy(() -> velocityLimiter.reserve(wallet, OppositePartyType.IBAN, Money.of(12_000_000_000L)))
+                .hasMessage("Hourly withdraw limit of 10000000000 exceeded for this wallet");
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toMillis());
+    }
+
+    private static Wallet wallet(Long walletId, Long customerId) {
+        Customer customer = new Customer();
+        customer.setId(customerId);
+        return Wallet.builder().id(walletId).customer(customer).build();
+    }
+}
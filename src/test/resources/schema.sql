@@ -1,6 +1,8 @@
 DROP TABLE IF EXISTS customers;
 DROP TABLE IF EXISTS wallets;
 DROP TABLE IF EXISTS transactions;
+DROP TABLE IF EXISTS outbox_events;
+DROP TABLE IF EXISTS holds;
 
 create table customers
 (
@@ -8,7 +10,8 @@ create table customers
     name    VARCHAR(32) NOT NULL,
     surname VARCHAR(32) NOT NULL,
     tckn    VARCHAR(32) NOT NULL UNIQUE,
-    role    VARCHAR(32) NOT NULL
+    role    VARCHAR(32) NOT NULL,
+    tier    VARCHAR(32) DEFAULT 'STANDARD' NOT NULL
 );
 
 create table wallets
@@ -28,6 +31,7 @@ create table wallets
 
 create table transactions
 (
+    id                  BIGINT AUTO_INCREMENT  PRIMARY KEY,
     wallet_id           BIGINT NOT NULL,
     amount              DECIMAL(15, 2) NOT NULL,
     type                VARCHAR(32) NOT NULL,
@@ -37,3 +41,34 @@ create table transactions
     create_date         TIMESTAMP NOT NULL,
     version             INT NOT NULL
 );
+
+CREATE INDEX idx_transactions_create_date ON transactions (create_date);
+CREATE INDEX idx_transactions_wallet_id ON transactions (wallet_id, id);
+CREATE INDEX idx_transactions_status ON transactions (status, id);
+
+create table holds
+(
+    id              BIGINT AUTO_INCREMENT  PRIMARY KEY,
+    wallet_id       BIGINT NOT NULL,
+    amount          DECIMAL(15, 2) NOT NULL,
+    captured_amount DECIMAL(15, 2),
+    merchant        VARCHAR(32) NOT NULL,
+    status          VARCHAR(32) NOT NULL,
+    create_date     TIMESTAMP NOT NULL,
+    expires_at      TIMESTAMP NOT NULL,
+    version         INT NOT NULL
+);
+
+CREATE INDEX idx_holds_status ON holds (status, id);
+
+create table outbox_events
+(
+    id           BIGINT AUTO_INCREMENT  PRIMARY KEY,
+    aggregate_id BIGINT NOT NULL,
+    event_type   VARCHAR(32) NOT NULL,
+    payload      VARCHAR(1024) NOT NULL,
+    created_at   TIMESTAMP NOT NULL,
+    processed_at TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_events_pending ON outbox_events (processed_at, id);